@@ -0,0 +1,62 @@
+package com.onlyspans.eventlogs.benchmark;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.repository.EventCursor;
+import com.onlyspans.eventlogs.repository.EventSqlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a search request into SQL on the native path. Run with {@code ./gradlew jmh}; the end-to-end
+ * comparison with the Criteria path needs a database and lives in {@code EventSearchBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSqlBuilderBenchmark {
+
+    private QueryDto filtered;
+    private String encodedCursor;
+
+    @Setup
+    public void setUp() {
+        filtered = new QueryDto();
+        filtered.setTenant("tenant-a");
+        filtered.setCategory("login");
+        filtered.setStartDate(Instant.parse("2026-01-01T00:00:00Z"));
+        EventCursor cursor = new EventCursor("timestamp", Sort.Direction.DESC, "2026-01-15T10:30:00Z", UUID.randomUUID());
+        encodedCursor = cursor.encode();
+    }
+
+    @Benchmark
+    public EventSqlBuilder.SqlQuery firstPage() {
+        return EventSqlBuilder.select(filtered, "timestamp", Sort.Direction.DESC, null, 0, 21);
+    }
+
+    @Benchmark
+    public EventSqlBuilder.SqlQuery cursorPage() {
+        return EventSqlBuilder.select(filtered, "timestamp", Sort.Direction.DESC, EventCursor.decode(encodedCursor),
+            0, 21);
+    }
+
+    @Benchmark
+    public EventSqlBuilder.SqlQuery count() {
+        return EventSqlBuilder.count(filtered);
+    }
+}
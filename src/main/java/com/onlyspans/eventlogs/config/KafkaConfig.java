@@ -1,8 +1,13 @@
 package com.onlyspans.eventlogs.config;
 
+import com.onlyspans.eventlogs.consumer.IngestPipeline;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,13 +18,18 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
 public class KafkaConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaConfig.class);
+    private static final Duration PARTITION_LOOKUP_TIMEOUT = Duration.ofSeconds(5);
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
@@ -35,6 +45,15 @@ public class KafkaConfig {
     @Value("${kafka.consumer.fetch-max-wait-ms:500}")
     private int fetchMaxWaitMs;
 
+    @Value("${kafka.topic.events:event-logs}")
+    private String topic;
+
+    @Value("${kafka.consumer.concurrency:0}")
+    private int concurrency;
+
+    @Value("${kafka.consumer.max-concurrency:16}")
+    private int maxConcurrency;
+
     @Value("${kafka.username:}")
     private String kafkaUsername;
 
@@ -74,14 +93,53 @@ public class KafkaConfig {
     }
 
     @Bean
-    public @NotNull ConcurrentKafkaListenerContainerFactory<@NotNull String, @NotNull String> kafkaListenerContainerFactory() {
+    public @NotNull ConcurrentKafkaListenerContainerFactory<@NotNull String, @NotNull String> kafkaListenerContainerFactory(
+            IngestPipeline ingestPipeline) {
         ConcurrentKafkaListenerContainerFactory<@NotNull String, @NotNull String> factory =
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
-        factory.setConcurrency(1);
+        factory.getContainerProperties().setConsumerRebalanceListener(ingestPipeline);
+        factory.setConcurrency(resolveConcurrency());
         factory.setBatchListener(true);
         return factory;
     }
+
+    /**
+     * Each container thread owns a disjoint set of partitions, so per-partition ordering holds for any value.
+     * When {@code kafka.consumer.concurrency} is not set, the thread count is sized from the topic's partition
+     * count and the CPUs available to the pod, since threads beyond either limit would only sit idle.
+     */
+    private int resolveConcurrency() {
+        if (concurrency > 0) {
+            logger.info("Using configured Kafka consumer concurrency: {}", concurrency);
+            return concurrency;
+        }
+
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int partitions = countPartitions();
+        int resolved = autoSizeConcurrency(partitions, cpus, maxConcurrency);
+        logger.info("Auto-sized Kafka consumer concurrency to {} (partitions: {}, cpus: {}, max: {})",
+            resolved, partitions, cpus, maxConcurrency);
+        return resolved;
+    }
+
+    static int autoSizeConcurrency(int partitions, int cpus, int maxConcurrency) {
+        int resolved = partitions > 0 ? Math.min(partitions, cpus) : cpus;
+        if (maxConcurrency > 0) {
+            resolved = Math.min(resolved, maxConcurrency);
+        }
+        return Math.max(1, resolved);
+    }
+
+    private int countPartitions() {
+        try (Consumer<@NotNull String, @NotNull String> consumer = consumerFactory().createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic, PARTITION_LOOKUP_TIMEOUT);
+            return partitions != null ? partitions.size() : 0;
+        } catch (Exception e) {
+            logger.warn("Could not determine partition count for topic {}, sizing concurrency from CPUs", topic, e);
+            return 0;
+        }
+    }
 }
 
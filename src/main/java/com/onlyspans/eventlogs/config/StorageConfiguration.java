@@ -1,18 +1,112 @@
 package com.onlyspans.eventlogs.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.repository.DocumentStateRepository;
 import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.repository.ParallelEventQueryRepository;
 import com.onlyspans.eventlogs.repository.SettingsRepository;
+import com.onlyspans.eventlogs.storage.CachingEventStorage;
+import com.onlyspans.eventlogs.storage.CopyEventWriter;
+import com.onlyspans.eventlogs.storage.DerivedStateEventWriter;
 import com.onlyspans.eventlogs.storage.EventStorage;
+import com.onlyspans.eventlogs.storage.EventWriteMode;
+import com.onlyspans.eventlogs.storage.FacetSearch;
+import com.onlyspans.eventlogs.storage.IEventStorage;
+import com.onlyspans.eventlogs.storage.IEventWriter;
+import com.onlyspans.eventlogs.storage.JdbcBatchEventWriter;
+import com.onlyspans.eventlogs.storage.JpaEventWriter;
+import com.onlyspans.eventlogs.storage.SearchEngine;
 import com.onlyspans.eventlogs.storage.SettingsStorage;
+import com.onlyspans.eventlogs.storage.TimelineCachingEventStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
 
 @Configuration
 public class StorageConfiguration {
 
+    @Value("${event-logs.storage.write-mode:jpa}")
+    private EventWriteMode writeMode;
+
+    @Value("${event-logs.storage.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${event-logs.search.engine:jpa}")
+    private SearchEngine searchEngine;
+
+    @Value("${event-logs.search.cache.max-entries:1000}")
+    private int cacheMaxEntries;
+
+    @Value("${event-logs.search.cache.max-rows:50000}")
+    private int cacheMaxRows;
+
+    @Value("${event-logs.search.cache.closed-after:PT5M}")
+    private Duration cacheClosedAfter;
+
+    @Value("${event-logs.search.cache.open-ttl:PT15S}")
+    private Duration cacheOpenTtl;
+
+    @Value("${event-logs.search.cache.closed-ttl:PT1H}")
+    private Duration cacheClosedTtl;
+
+    @Value("${event-logs.search.facets.row-budget:100000}")
+    private int facetRowBudget;
+
+    @Value("${event-logs.rollups.minute-retention:P7D}")
+    private Duration rollupMinuteRetention;
+
+    @Value("${event-logs.timeline.cache.max-entries:500}")
+    private int timelineCacheMaxEntries;
+
+    @Value("${event-logs.timeline.cache.quiet-after:PT10M}")
+    private Duration timelineCacheQuietAfter;
+
+    @Value("${event-logs.timeline.cache.ttl:PT1H}")
+    private Duration timelineCacheTtl;
+
+    /**
+     * The writer for {@code write-mode}, wrapped so every write also updates the document states and the rollup
+     * tables in its transaction.
+     */
+    @Bean
+    public IEventWriter eventWriter(EventRepository eventRepository, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                    EventRollupRepository rollupRepository,
+                                    DocumentStateRepository documentStateRepository) {
+        IEventWriter writer = switch (writeMode) {
+            case JPA -> new JpaEventWriter(eventRepository);
+            case JDBC -> new JdbcBatchEventWriter(jdbcTemplate, transactionTemplate, objectMapper, batchSize);
+            case COPY -> new CopyEventWriter(dataSource, transactionTemplate, objectMapper);
+        };
+        return new DerivedStateEventWriter(writer, rollupRepository, documentStateRepository, transactionTemplate);
+    }
+
     @Bean
-    public EventStorage eventStorage(EventRepository eventRepository) {
-        return new EventStorage(eventRepository);
+    public IEventStorage eventStorage(EventRepository eventRepository, IEventWriter eventWriter,
+                                      NativeEventQueryRepository nativeQueryRepository,
+                                      ParallelEventQueryRepository parallelQueryRepository,
+                                      EventRollupRepository rollupRepository, MeterRegistry meterRegistry) {
+        FacetSearch facetSearch = new FacetSearch(nativeQueryRepository, rollupRepository, eventRepository,
+            facetRowBudget, rollupMinuteRetention);
+        IEventStorage storage = new EventStorage(eventRepository, eventWriter, nativeQueryRepository, searchEngine,
+            parallelQueryRepository, facetSearch);
+        if (cacheMaxEntries > 0) {
+            storage = new CachingEventStorage(storage, meterRegistry, cacheMaxEntries, cacheMaxRows,
+                cacheClosedAfter, cacheOpenTtl, cacheClosedTtl);
+        }
+        if (timelineCacheMaxEntries > 0) {
+            storage = new TimelineCachingEventStorage(storage, meterRegistry, timelineCacheMaxEntries,
+                timelineCacheQuietAfter, timelineCacheTtl);
+        }
+        return storage;
     }
 
     @Bean
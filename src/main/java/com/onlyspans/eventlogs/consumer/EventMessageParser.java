@@ -0,0 +1,45 @@
+package com.onlyspans.eventlogs.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.dto.EventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventMessageParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMessageParser.class);
+
+    private final ObjectMapper objectMapper;
+    private final Counter eventsFailedCounter;
+
+    @Autowired
+    public EventMessageParser(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.eventsFailedCounter = Counter.builder("event_logs_failed")
+                .description("Total number of events that failed to process")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the parsed event, or {@code null} when the message is not a valid event
+     */
+    public EventDto parse(String message) {
+        try {
+            logger.debug("Attempting to parse message: {}", message);
+            EventDto eventDto = objectMapper.readValue(message, EventDto.class);
+            logger.debug("Successfully parsed event with user: {}, category: {}",
+                eventDto.getUser(), eventDto.getCategory());
+            return eventDto;
+        } catch (Exception e) {
+            logger.error("Failed to parse Kafka message. Message content: {}", message);
+            logger.error("Parse error details:", e);
+            eventsFailedCounter.increment();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.onlyspans.eventlogs.consumer;
+
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.service.IEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Staged ingestion: the listener thread only hands batches over, parse workers turn raw messages into entities,
+ * and writer threads persist them. At most {@code queue-capacity} batches are in flight; when that bound is
+ * reached the listener container is paused, so the consumer keeps polling (and heartbeating) without fetching
+ * more records, and it is resumed once the backlog drains to half. Each stage queues up to {@code queue-capacity}
+ * batches; should batches fetched before the pause took effect overflow a queue, the submitting thread waits for
+ * room rather than running the stage itself, so the listener thread never parses or writes.
+ * <p>
+ * Batches from one consumer thread are acknowledged strictly in submission order, and only after the writer has
+ * persisted them, so a committed offset never runs ahead of durable data. Writes failing for transient reasons
+ * (lost connections, deadlocks, timeouts) are retried; events the database rejects outright are logged, counted
+ * in {@code event_logs_pipeline_dropped_events} and skipped, so one bad event cannot stall its partition.
+ */
+@Component
+public class IngestPipeline implements ConsumerAwareRebalanceListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestPipeline.class);
+
+    private final IEventService eventService;
+    private final EventMessageParser parser;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ThreadPoolExecutor parseExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final int queueCapacity;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean paused = new AtomicBoolean();
+    private final Map<String, CompletableFuture<Void>> ackChains = new ConcurrentHashMap<>();
+    private final Counter pausesCounter;
+    private final Counter writeRetriesCounter;
+    private final Counter droppedEventsCounter;
+    private volatile boolean running = true;
+
+    @Value("${kafka.consumer.pipeline.retry-backoff-ms:500}")
+    private long retryBackoffMs = 500;
+
+    @Value("${kafka.consumer.pipeline.max-retry-backoff-ms:30000}")
+    private long maxRetryBackoffMs = 30000;
+
+    @Value("${kafka.consumer.pipeline.drain-timeout-ms:30000}")
+    private long drainTimeoutMs = 30000;
+
+    @Autowired
+    public IngestPipeline(
+            IEventService eventService,
+            EventMessageParser parser,
+            KafkaListenerEndpointRegistry listenerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.consumer.pipeline.parse-workers:0}") int parseWorkers,
+            @Value("${kafka.consumer.pipeline.writer-threads:2}") int writerThreads,
+            @Value("${kafka.consumer.pipeline.queue-capacity:16}") int queueCapacity
+    ) {
+        this.eventService = eventService;
+        this.parser = parser;
+        this.listenerRegistry = listenerRegistry;
+        this.queueCapacity = Math.max(1, queueCapacity);
+
+        int parsers = parseWorkers > 0 ? parseWorkers : Runtime.getRuntime().availableProcessors();
+        this.parseExecutor = boundedExecutor(parsers, "event-logs-parse-");
+        this.writeExecutor = boundedExecutor(Math.max(1, writerThreads), "event-logs-write-");
+
+        Gauge.builder("event_logs_pipeline_in_flight_batches", inFlight, AtomicInteger::get)
+            .description("Number of batches buffered in the ingest pipeline")
+            .register(meterRegistry);
+        this.pausesCounter = Counter.builder("event_logs_pipeline_pauses")
+            .description("Number of times the consumer was paused because the ingest pipeline was full")
+            .register(meterRegistry);
+        this.writeRetriesCounter = Counter.builder("event_logs_pipeline_write_retries")
+            .description("Number of retried batch writes in the ingest pipeline")
+            .register(meterRegistry);
+        this.droppedEventsCounter = Counter.builder("event_logs_pipeline_dropped_events")
+            .description("Number of events skipped by the ingest pipeline because they cannot be persisted")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Hands a poll batch over to the pipeline. Must be called on the consumer thread that received the batch.
+     */
+    public void submit(List<String> messages, Acknowledgment acknowledgment) {
+        int buffered = inFlight.incrementAndGet();
+
+        CompletableFuture<Void> written = CompletableFuture
+            .supplyAsync(() -> parseAndConvert(messages), parseExecutor)
+            .thenAcceptAsync(this::writeDurably, writeExecutor)
+            .whenComplete((result, error) -> onBatchCompleted(messages.size(), error));
+
+        // A failed batch must not wedge the chain: while running it has been dropped and later batches are still
+        // acknowledged; once stopped nothing more is, and the unacknowledged batches are redelivered
+        CompletableFuture<Boolean> persisted = written.handle((result, error) -> error == null);
+        ackChains.compute(Thread.currentThread().getName(), (owner, previous) ->
+            (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenCombine(persisted, (a, ok) -> ok)
+                .thenAccept(ok -> {
+                    if (acknowledgment != null && (ok || running)) {
+                        acknowledgment.acknowledge();
+                    }
+                })
+                .exceptionally(error -> {
+                    logger.error("Failed to acknowledge batch", error);
+                    return null;
+                }));
+
+        if (buffered >= queueCapacity) {
+            pause();
+        }
+    }
+
+    /**
+     * Before offsets are committed on a rebalance, waits for the revoking consumer's batches to be persisted and
+     * acknowledged so their commits are not lost to the next owner of the partitions.
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        CompletableFuture<Void> chain = ackChains.get(Thread.currentThread().getName());
+        if (chain == null) {
+            return;
+        }
+        try {
+            chain.get(drainTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("Ingest pipeline did not drain before partitions {} were revoked; " +
+                "unacknowledged batches will be redelivered", partitions, e);
+        }
+    }
+
+    private List<EventEntity> parseAndConvert(List<String> messages) {
+        List<EventDto> eventDtos = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            EventDto eventDto = parser.parse(message);
+            if (eventDto != null) {
+                eventDtos.add(eventDto);
+            }
+        }
+
+        if (eventDtos.isEmpty()) {
+            logger.error("All {} messages in batch failed to parse, skipping batch", messages.size());
+            return List.of();
+        }
+        if (eventDtos.size() < messages.size()) {
+            logger.warn("Batch contained {} failed messages out of {} total",
+                messages.size() - eventDtos.size(), messages.size());
+        }
+        return eventService.convertEvents(eventDtos);
+    }
+
+    /**
+     * Retries transient failures until the batch is persisted: acknowledging past a failed batch would lose it,
+     * and while the writer is stuck the pipeline fills up and pauses consumption. A batch the database rejects
+     * is written again event by event so that only the events it cannot take are dropped.
+     */
+    private void writeDurably(List<EventEntity> entities) {
+        if (entities.isEmpty() || writeWithRetries(entities)) {
+            return;
+        }
+        if (entities.size() == 1) {
+            drop(entities);
+            return;
+        }
+
+        logger.warn("Batch of {} events was rejected, writing its events one by one", entities.size());
+        for (EventEntity entity : entities) {
+            if (!writeWithRetries(List.of(entity))) {
+                drop(List.of(entity));
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} when the write failed for a reason retrying cannot fix
+     */
+    private boolean writeWithRetries(List<EventEntity> entities) {
+        long backoff = retryBackoffMs;
+        while (true) {
+            try {
+                eventService.storeEvents(entities);
+                return true;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    logger.error("Failed to write batch of {} events, not retrying", entities.size(), e);
+                    return false;
+                }
+                if (!running) {
+                    throw new IllegalStateException("Ingest pipeline stopped before batch was persisted", e);
+                }
+                writeRetriesCounter.increment();
+                logger.error("Failed to write batch of {} events, retrying in {} ms", entities.size(), backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while retrying batch write", interrupted);
+                }
+                backoff = Math.min(backoff * 2, maxRetryBackoffMs);
+            }
+        }
+    }
+
+    private void drop(List<EventEntity> entities) {
+        droppedEventsCounter.increment(entities.size());
+        logger.error("Dropping {} events that cannot be persisted: {}", entities.size(),
+            entities.stream().map(EventEntity::getId).toList());
+    }
+
+    /**
+     * Whether {@code error} (or one of its causes) may go away on its own: connection and resource failures,
+     * deadlocks, serialization failures and timeouts. Anything else, such as constraint violations or values
+     * the database cannot store, fails the same way on every attempt.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                || cause instanceof RecoverableDataAccessException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof SQLTransientException
+                || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String state = sqlException.getSQLState();
+                // connection exception, transaction rollback, insufficient resources, operator intervention
+                if (state.startsWith("08") || state.startsWith("40") || state.startsWith("53")
+                    || state.startsWith("57P")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void onBatchCompleted(int messages, Throwable error) {
+        if (error != null && running) {
+            droppedEventsCounter.increment(messages);
+            logger.error("Dropping batch of {} messages that failed in the ingest pipeline", messages, error);
+        } else if (error != null) {
+            logger.warn("Batch left the stopped ingest pipeline without being persisted and will be redelivered",
+                error);
+        }
+        int buffered = inFlight.decrementAndGet();
+        if (buffered <= queueCapacity / 2) {
+            resume();
+        }
+    }
+
+    private void pause() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(KafkaEventConsumer.LISTENER_ID);
+        if (container != null && paused.compareAndSet(false, true)) {
+            logger.info("Ingest pipeline is full ({} batches), pausing consumer", inFlight.get());
+            pausesCounter.increment();
+            container.pause();
+            if (inFlight.get() <= queueCapacity / 2) {
+                resume();
+            }
+        }
+    }
+
+    private void resume() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(KafkaEventConsumer.LISTENER_ID);
+        if (container != null && paused.compareAndSet(true, false)) {
+            logger.info("Ingest pipeline drained to {} batches, resuming consumer", inFlight.get());
+            container.resume();
+        }
+    }
+
+    private ThreadPoolExecutor boundedExecutor(int threads, String threadNamePrefix) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory(threadNamePrefix),
+            IngestPipeline::waitForRoom);
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Ingest pipeline is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in the ingest pipeline", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        parseExecutor.shutdown();
+        parseExecutor.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS);
+        writeExecutor.shutdown();
+        writeExecutor.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
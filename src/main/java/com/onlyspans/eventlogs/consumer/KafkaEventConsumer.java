@@ -1,13 +1,14 @@
 package com.onlyspans.eventlogs.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onlyspans.eventlogs.dto.EventDto;
 import com.onlyspans.eventlogs.service.IEventService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -15,28 +16,51 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public final class KafkaEventConsumer {
 
+    public static final String LISTENER_ID = "event-logs-consumer";
+
     private static final Logger logger = LoggerFactory.getLogger(KafkaEventConsumer.class);
 
     private final IEventService eventService;
-    private final ObjectMapper objectMapper;
+    private final EventMessageParser parser;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final IngestPipeline ingestPipeline;
     private final Counter eventsReceivedCounter;
     private final Counter batchesProcessedCounter;
-    private final Counter eventsFailedCounter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> threadRecordCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> threadBatchTimers = new ConcurrentHashMap<>();
+
+    @Value("${kafka.consumer.processing-mode:sequential}")
+    private ProcessingMode processingMode = ProcessingMode.SEQUENTIAL;
+
+    @Value("${kafka.consumer.ordering-key:record-key}")
+    private OrderingKey orderingKey = OrderingKey.RECORD_KEY;
+
+    @Value("${kafka.consumer.key-ordered.nack-sleep-ms:1000}")
+    private long nackSleepMs = 1000;
 
     @Autowired
     public KafkaEventConsumer(
             IEventService eventService,
-            ObjectMapper objectMapper,
-            MeterRegistry meterRegistry
+            EventMessageParser parser,
+            MeterRegistry meterRegistry,
+            KeyOrderedDispatcher keyOrderedDispatcher,
+            IngestPipeline ingestPipeline
     ) {
         this.eventService = eventService;
-        this.objectMapper = objectMapper;
+        this.parser = parser;
+        this.meterRegistry = meterRegistry;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
+        this.ingestPipeline = ingestPipeline;
 
         this.eventsReceivedCounter = Counter.builder("event_logs_received")
                 .description("Total number of events received from Kafka")
@@ -45,13 +69,10 @@ public final class KafkaEventConsumer {
         this.batchesProcessedCounter = Counter.builder("event_logs_batches_processed")
                 .description("Total number of batches processed")
                 .register(meterRegistry);
-
-        this.eventsFailedCounter = Counter.builder("event_logs_failed")
-                .description("Total number of events that failed to process")
-                .register(meterRegistry);
     }
 
     @KafkaListener(
+        id = LISTENER_ID,
         topics = "${kafka.topic.events:event-logs}",
         groupId = "${kafka.consumer.group-id:event-logs-consumer-group}",
         containerFactory = "kafkaListenerContainerFactory"
@@ -59,6 +80,7 @@ public final class KafkaEventConsumer {
     public void consumeEvents(
         @Payload List<String> messages,
         @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+        @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) List<String> keys,
         Acknowledgment acknowledgment
     ) {
         if (messages == null || messages.isEmpty()) {
@@ -72,21 +94,27 @@ public final class KafkaEventConsumer {
         logger.info("Received batch of {} messages from topic {}", messages.size(), topic);
         eventsReceivedCounter.increment(messages.size());
 
+        String thread = Thread.currentThread().getName();
+        threadRecordCounter(thread).increment(messages.size());
+        threadBatchTimer(thread).record(() -> {
+            switch (processingMode) {
+                case KEY_ORDERED -> processKeyOrdered(messages, keys, acknowledgment);
+                case PIPELINED -> ingestPipeline.submit(messages, acknowledgment);
+                default -> processBatch(messages, acknowledgment);
+            }
+        });
+    }
+
+    private void processBatch(List<String> messages, Acknowledgment acknowledgment) {
         List<EventDto> eventDtos = new ArrayList<>();
         List<String> failedMessages = new ArrayList<>();
 
         for (String message : messages) {
-            try {
-                logger.debug("Attempting to parse message: {}", message);
-                EventDto eventDto = objectMapper.readValue(message, EventDto.class);
+            EventDto eventDto = parser.parse(message);
+            if (eventDto != null) {
                 eventDtos.add(eventDto);
-                logger.debug("Successfully parsed event with user: {}, category: {}",
-                    eventDto.getUser(), eventDto.getCategory());
-            } catch (Exception e) {
-                logger.error("Failed to parse Kafka message. Message content: {}", message);
-                logger.error("Parse error details:", e);
+            } else {
                 failedMessages.add(message);
-                eventsFailedCounter.increment();
             }
         }
 
@@ -116,4 +144,73 @@ public final class KafkaEventConsumer {
             throw new RuntimeException("Failed to write events to storage", e);
         }
     }
+
+    /**
+     * Writes the batch in parallel lanes keyed by {@link OrderingKey}. When a lane fails, only the offsets below the
+     * lowest record that was not persisted are committed; that record and everything after it is redelivered, so
+     * records from other lanes past that point may be written twice.
+     */
+    private void processKeyOrdered(List<String> messages, List<String> keys, Acknowledgment acknowledgment) {
+        List<ParsedMessage> parsed = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            EventDto eventDto = parser.parse(messages.get(i));
+            if (eventDto != null) {
+                String recordKey = keys != null && i < keys.size() ? keys.get(i) : null;
+                parsed.add(new ParsedMessage(i, orderingKeyOf(recordKey, eventDto), eventDto));
+            }
+        }
+
+        if (parsed.isEmpty()) {
+            logger.error("All {} messages in batch failed to parse", messages.size());
+            throw new RuntimeException("Failed to parse entire batch");
+        }
+
+        int firstUnhandled = keyOrderedDispatcher.dispatch(parsed, ParsedMessage::key,
+            lane -> eventService.ingestEvents(lane.stream().map(ParsedMessage::event).toList()));
+
+        if (firstUnhandled < 0) {
+            logger.info("Successfully processed {} events in key-ordered lanes", parsed.size());
+            batchesProcessedCounter.increment();
+            if (acknowledgment != null) {
+                acknowledgment.acknowledge();
+            }
+            return;
+        }
+
+        int failedIndex = parsed.get(firstUnhandled).index();
+        if (failedIndex == 0 || acknowledgment == null) {
+            throw new RuntimeException("Failed to write events to storage");
+        }
+
+        logger.warn("Committing {} of {} messages; redelivering from batch index {}",
+            failedIndex, messages.size(), failedIndex);
+        acknowledgment.nack(failedIndex, Duration.ofMillis(nackSleepMs));
+    }
+
+    private String orderingKeyOf(String recordKey, EventDto eventDto) {
+        return switch (orderingKey) {
+            case RECORD_KEY -> recordKey;
+            case CORRELATION_ID -> eventDto.getCorrelationId();
+            case TENANT -> eventDto.getTenant();
+        };
+    }
+
+    private Counter threadRecordCounter(String thread) {
+        return threadRecordCounters.computeIfAbsent(thread, name ->
+            Counter.builder("event_logs_consumer_thread_records")
+                .description("Number of records received by each consumer thread")
+                .tag("thread", name)
+                .register(meterRegistry));
+    }
+
+    private Timer threadBatchTimer(String thread) {
+        return threadBatchTimers.computeIfAbsent(thread, name ->
+            Timer.builder("event_logs_consumer_thread_batch_duration")
+                .description("Time spent processing a batch on each consumer thread")
+                .tag("thread", name)
+                .register(meterRegistry));
+    }
+
+    private record ParsedMessage(int index, String key, EventDto event) {
+    }
 }
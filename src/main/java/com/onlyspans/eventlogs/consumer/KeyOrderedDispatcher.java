@@ -0,0 +1,89 @@
+package com.onlyspans.eventlogs.consumer;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits a batch into lanes by ordering key and runs the lanes concurrently. Items sharing a key always land in
+ * the same lane and are handed to the lane handler in their original order.
+ */
+@Component
+public class KeyOrderedDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedDispatcher.class);
+
+    private final int workers;
+    private final ExecutorService executor;
+
+    public KeyOrderedDispatcher(@Value("${kafka.consumer.key-ordered.workers:0}") int workers) {
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(this.workers,
+            new CustomizableThreadFactory("event-logs-key-ordered-"));
+    }
+
+    /**
+     * Dispatches {@code items} to lanes and waits for every lane to finish.
+     *
+     * @return the position of the first item that was not handled, or {@code -1} when every lane succeeded.
+     *         Items with a {@code null} key carry no ordering requirement and are spread by position.
+     */
+    public <T> int dispatch(List<T> items, Function<T, String> keyExtractor, Consumer<List<T>> laneHandler) {
+        if (items.isEmpty()) {
+            return -1;
+        }
+
+        int laneCount = Math.min(workers, items.size());
+        List<List<T>> lanes = new ArrayList<>(laneCount);
+        List<List<Integer>> lanePositions = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayList<>());
+            lanePositions.add(new ArrayList<>());
+        }
+
+        for (int position = 0; position < items.size(); position++) {
+            T item = items.get(position);
+            String key = keyExtractor.apply(item);
+            int lane = key != null ? Math.floorMod(key.hashCode(), laneCount) : position % laneCount;
+            lanes.get(lane).add(item);
+            lanePositions.get(lane).add(position);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(laneCount);
+        for (List<T> lane : lanes) {
+            futures.add(lane.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> laneHandler.accept(lane), executor));
+        }
+
+        int firstUnhandled = -1;
+        for (int lane = 0; lane < laneCount; lane++) {
+            try {
+                futures.get(lane).join();
+            } catch (Exception e) {
+                int lanePosition = lanePositions.get(lane).getFirst();
+                logger.error("Lane {} failed starting at batch position {}", lane, lanePosition, e);
+                if (firstUnhandled < 0 || lanePosition < firstUnhandled) {
+                    firstUnhandled = lanePosition;
+                }
+            }
+        }
+        return firstUnhandled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
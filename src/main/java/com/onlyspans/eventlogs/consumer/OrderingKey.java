@@ -0,0 +1,7 @@
+package com.onlyspans.eventlogs.consumer;
+
+public enum OrderingKey {
+    RECORD_KEY,
+    CORRELATION_ID,
+    TENANT
+}
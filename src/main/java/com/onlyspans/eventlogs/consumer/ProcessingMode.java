@@ -0,0 +1,18 @@
+package com.onlyspans.eventlogs.consumer;
+
+public enum ProcessingMode {
+    /**
+     * Parse and write the whole poll batch on the listener thread.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Fan the batch out to a worker pool by ordering key; events sharing a key keep their order.
+     */
+    KEY_ORDERED,
+
+    /**
+     * Hand the batch to the staged {@link IngestPipeline} and acknowledge once the writer stage has persisted it.
+     */
+    PIPELINED
+}
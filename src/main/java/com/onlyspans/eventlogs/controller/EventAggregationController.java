@@ -0,0 +1,33 @@
+package com.onlyspans.eventlogs.controller;
+
+import com.onlyspans.eventlogs.dto.AggregateEventsRequest;
+import com.onlyspans.eventlogs.dto.AggregateResult;
+import com.onlyspans.eventlogs.service.IAggregationService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Event counts over time and the most frequent attribute values, answered from the rollup tables.
+ */
+@RestController
+@RequestMapping("/events/aggregate")
+public class EventAggregationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventAggregationController.class);
+
+    private final IAggregationService aggregationService;
+
+    @Autowired
+    public EventAggregationController(IAggregationService aggregationService) {
+        this.aggregationService = aggregationService;
+    }
+
+    @PostMapping
+    public AggregateResult aggregateEvents(@Valid @RequestBody AggregateEventsRequest request) {
+        logger.debug("Aggregating events with request: {}", request);
+        return aggregationService.aggregate(request);
+    }
+}
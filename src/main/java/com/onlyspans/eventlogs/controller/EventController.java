@@ -4,6 +4,9 @@ import com.onlyspans.eventlogs.dto.ExportEventsRequest;
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.dto.QueryResult;
 import com.onlyspans.eventlogs.dto.SearchEventsRequest;
+import com.onlyspans.eventlogs.dto.TimelineResult;
+import com.onlyspans.eventlogs.exception.UnsupportedExportFormatException;
+import com.onlyspans.eventlogs.export.ExportFormat;
 import com.onlyspans.eventlogs.mapper.EventMapper;
 import com.onlyspans.eventlogs.service.IEventService;
 
@@ -14,12 +17,13 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/events")
@@ -43,20 +47,59 @@ public final class EventController {
         return eventService.searchEvents(query);
     }
 
+    /**
+     * All events of one correlation or trace id, oldest first.
+     */
+    @GetMapping("/timeline/{id}")
+    public TimelineResult getTimeline(@PathVariable String id) {
+        logger.debug("Reading timeline of {}", id);
+        return eventService.getTimeline(id);
+    }
+
+    /**
+     * Streams the export in the format from {@code request.format} or the {@code Accept} header (CSV by default),
+     * gzip-compressed on the fly when the client sends {@code Accept-Encoding: gzip}.
+     */
     @PostMapping("/export")
-    public void exportEvents(@Valid @RequestBody ExportEventsRequest request, HttpServletResponse response) throws Exception {
+    public void exportEvents(@Valid @RequestBody ExportEventsRequest request,
+                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                             HttpServletResponse response) throws Exception {
         QueryDto query = eventMapper.toQueryDto(request);
+        ExportFormat format = request.getFormat() != null
+                ? request.getFormat()
+                : ExportFormat.negotiate(accept).orElseThrow(() ->
+                    new UnsupportedExportFormatException("No supported export format in Accept: " + accept));
 
         String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
                 .withZone(ZoneOffset.UTC)
                 .format(Instant.now());
-        String filename = String.format("events-export_%s_utc.csv", timestamp);
+        String filename = String.format("events-export_%s_utc%s", timestamp, format.extension());
 
-        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setContentType(format.mediaType().toString());
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
             "attachment; filename=\"" + filename + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
 
-        eventService.exportCsv(query, response.getOutputStream());
+        OutputStream out = response.getOutputStream();
+        if (acceptsGzip(acceptEncoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            // syncFlush: every flush of the export writer pushes the compressed bytes so far to the client
+            out = new GZIPOutputStream(out, 64 * 1024, true);
+        }
+        eventService.export(query, format, out);
     }
-}
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.onlyspans.eventlogs.controller;
+
+import com.onlyspans.eventlogs.dto.DocumentHistoryResult;
+import com.onlyspans.eventlogs.dto.DocumentState;
+import com.onlyspans.eventlogs.service.IDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Current state and change history of single documents, as recorded by the {@code details.changes} of events.
+ */
+@RestController
+@RequestMapping("/events/documents")
+public class EventDocumentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDocumentController.class);
+
+    private final IDocumentService documentService;
+
+    @Autowired
+    public EventDocumentController(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @GetMapping("/{name}")
+    public DocumentState getDocument(@PathVariable String name,
+                                     @RequestParam(required = false) String tenant) {
+        logger.debug("Reading state of document {} in tenant {}", name, tenant);
+        return documentService.getState(tenant, name);
+    }
+
+    @GetMapping("/{name}/history")
+    public DocumentHistoryResult getDocumentHistory(@PathVariable String name,
+                                                    @RequestParam(required = false) String tenant) {
+        logger.debug("Reading history of document {} in tenant {}", name, tenant);
+        return documentService.getHistory(tenant, name);
+    }
+}
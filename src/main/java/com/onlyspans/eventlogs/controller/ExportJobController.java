@@ -0,0 +1,80 @@
+package com.onlyspans.eventlogs.controller;
+
+import com.onlyspans.eventlogs.dto.ExportEventsRequest;
+import com.onlyspans.eventlogs.dto.ExportJobDto;
+import com.onlyspans.eventlogs.export.ExportFormat;
+import com.onlyspans.eventlogs.mapper.EventMapper;
+import com.onlyspans.eventlogs.service.IExportJobService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Asynchronous exports: submit a job, poll its status, download the gzip-compressed result. Downloads honour
+ * {@code Range} requests, so an interrupted transfer resumes where it stopped.
+ */
+@RestController
+@RequestMapping("/events/export/jobs")
+public class ExportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobController.class);
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final IExportJobService exportJobService;
+    private final EventMapper eventMapper;
+
+    @Autowired
+    public ExportJobController(IExportJobService exportJobService, EventMapper eventMapper) {
+        this.exportJobService = exportJobService;
+        this.eventMapper = eventMapper;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ExportJobDto submitExport(@Valid @RequestBody ExportEventsRequest request) {
+        logger.info("Submitting export job");
+        ExportFormat format = request.getFormat() != null ? request.getFormat() : ExportFormat.CSV;
+        return exportJobService.submit(eventMapper.toQueryDto(request), format);
+    }
+
+    @GetMapping("/{id}")
+    public ExportJobDto getExport(@PathVariable UUID id) {
+        return exportJobService.getJob(id);
+    }
+
+    /**
+     * Returns the file as a {@link Resource}; Spring MVC answers {@code Range} requests for resource bodies with
+     * {@code 206 Partial Content}.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable UUID id) {
+        Path result = exportJobService.getResult(id);
+        ExportJobDto job = exportJobService.getJob(id);
+        String filename = String.format("events-export_%s_utc%s.gz",
+            DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").withZone(ZoneOffset.UTC).format(job.getCreatedAt()),
+            job.getFormat().extension());
+
+        return ResponseEntity.ok()
+            .contentType(GZIP)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build()
+                .toString())
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .eTag(id.toString())
+            .lastModified(job.getCompletedAt())
+            .body(new FileSystemResource(result));
+    }
+}
@@ -0,0 +1,59 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class AggregateEventsRequest {
+    @JsonProperty("tenant")
+    private String tenant;
+
+    @JsonProperty("project")
+    private String project;
+
+    @JsonProperty("environment")
+    private String environment;
+
+    @JsonProperty("category")
+    private String category;
+
+    @JsonProperty("action")
+    private String action;
+
+    /**
+     * Inclusive; rollups count whole minutes, so the range is widened to minute boundaries.
+     */
+    @NotNull(message = "startDate is required")
+    @JsonProperty("startDate")
+    private Instant startDate;
+
+    /**
+     * Exclusive.
+     */
+    @NotNull(message = "endDate is required")
+    @JsonProperty("endDate")
+    private Instant endDate;
+
+    @JsonProperty("interval")
+    private AggregationInterval interval = AggregationInterval.HOUR;
+
+    /**
+     * Attributes to return the most frequent values of, {@code facetSize} each.
+     */
+    @JsonProperty("facets")
+    private List<RollupDimension> facets = new ArrayList<>();
+
+    @Min(value = 1, message = "Facet size must be >= 1")
+    @Max(value = 1000, message = "Facet size must be <= 1000")
+    @JsonProperty("facetSize")
+    private Integer facetSize = 10;
+}
@@ -0,0 +1,42 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateResult {
+    /**
+     * The range actually aggregated, after widening the requested one to rollup boundaries.
+     */
+    @JsonProperty("startDate")
+    private Instant startDate;
+
+    @JsonProperty("endDate")
+    private Instant endDate;
+
+    @JsonProperty("interval")
+    private AggregationInterval interval;
+
+    @JsonProperty("total")
+    private long total;
+
+    /**
+     * Non-empty buckets only, in time order.
+     */
+    @JsonProperty("histogram")
+    private List<HistogramBucket> histogram;
+
+    /**
+     * Most frequent values per requested facet (keyed by its name, e.g. {@code category}), by descending count.
+     */
+    @JsonProperty("facets")
+    private Map<String, List<FacetValue>> facets;
+}
@@ -0,0 +1,38 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of the histogram buckets of an aggregation; buckets start at UTC boundaries.
+ */
+public enum AggregationInterval {
+
+    /**
+     * Read from the minute rollups alone, so only available within their retention.
+     */
+    @JsonProperty("minute")
+    MINUTE(ChronoUnit.MINUTES),
+
+    @JsonProperty("hour")
+    HOUR(ChronoUnit.HOURS),
+
+    @JsonProperty("day")
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    AggregationInterval(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit unit() {
+        return unit;
+    }
+
+    public Duration duration() {
+        return unit.getDuration();
+    }
+}
@@ -0,0 +1,28 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentField {
+    /**
+     * The {@code newValue} of the latest change to the field.
+     */
+    @JsonProperty("value")
+    private String value;
+
+    @JsonProperty("changedAt")
+    private Instant changedAt;
+
+    /**
+     * Id of the event that made the change.
+     */
+    @JsonProperty("eventId")
+    private String eventId;
+}
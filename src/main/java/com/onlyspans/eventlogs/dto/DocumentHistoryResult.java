@@ -0,0 +1,31 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentHistoryResult {
+    @JsonProperty("tenant")
+    private String tenant;
+
+    @JsonProperty("documentName")
+    private String document;
+
+    /**
+     * Retained events of the document that changed fields, latest first.
+     */
+    @JsonProperty("revisions")
+    private List<DocumentRevision> revisions;
+
+    /**
+     * Whether older revisions exist than one history may return.
+     */
+    @JsonProperty("truncated")
+    private boolean truncated;
+}
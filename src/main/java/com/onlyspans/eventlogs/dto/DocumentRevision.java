@@ -0,0 +1,32 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One event of a document's history and the changes it made.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentRevision {
+    @JsonProperty("eventId")
+    private String eventId;
+
+    @JsonProperty("timestamp")
+    private Instant timestamp;
+
+    @JsonProperty("user")
+    private String user;
+
+    @JsonProperty("action")
+    private String action;
+
+    @JsonProperty("changes")
+    private List<EventDto.ChangeDto> changes;
+}
@@ -0,0 +1,44 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentState {
+    @JsonProperty("tenant")
+    private String tenant;
+
+    @JsonProperty("documentName")
+    private String document;
+
+    /**
+     * Every field ever changed on the document, with its latest value.
+     */
+    @JsonProperty("fields")
+    private Map<String, DocumentField> fields;
+
+    /**
+     * Number of events for the document, with or without changes, including ones past retention.
+     */
+    @JsonProperty("eventCount")
+    private long eventCount;
+
+    @JsonProperty("firstEventAt")
+    private Instant firstEventAt;
+
+    @JsonProperty("lastEventAt")
+    private Instant lastEventAt;
+
+    @JsonProperty("lastEventId")
+    private String lastEventId;
+
+    @JsonProperty("lastUser")
+    private String lastUser;
+}
@@ -0,0 +1,52 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Locale;
+
+/**
+ * Event attributes a search can return value counts for.
+ */
+public enum EventFacet {
+
+    @JsonProperty("user")
+    USER(null),
+
+    @JsonProperty("category")
+    CATEGORY(RollupDimension.CATEGORY),
+
+    @JsonProperty("action")
+    ACTION(RollupDimension.ACTION),
+
+    @JsonProperty("document")
+    DOCUMENT(null),
+
+    @JsonProperty("project")
+    PROJECT(RollupDimension.PROJECT),
+
+    @JsonProperty("environment")
+    ENVIRONMENT(RollupDimension.ENVIRONMENT),
+
+    @JsonProperty("tenant")
+    TENANT(RollupDimension.TENANT);
+
+    private final RollupDimension rollupDimension;
+
+    EventFacet(RollupDimension rollupDimension) {
+        this.rollupDimension = rollupDimension;
+    }
+
+    /**
+     * The rollup dimension with the same counts, {@code null} for attributes the rollups are not keyed by.
+     */
+    public RollupDimension rollupDimension() {
+        return rollupDimension;
+    }
+
+    /**
+     * The name used in requests and as the facet key of results.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.onlyspans.eventlogs.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.onlyspans.eventlogs.export.ExportFormat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -47,4 +48,11 @@ public class ExportEventsRequest {
 
     @JsonProperty("sortOrder")
     private String sortOrder = "desc";
+
+    /**
+     * Overrides the format negotiated from the {@code Accept} header. Export jobs have no such header and default
+     * to CSV.
+     */
+    @JsonProperty("format")
+    private ExportFormat format;
 }
@@ -0,0 +1,39 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.onlyspans.eventlogs.export.ExportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDto {
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("format")
+    private ExportFormat format;
+
+    @JsonProperty("status")
+    private ExportJobStatus status;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @JsonProperty("completedAt")
+    private Instant completedAt;
+
+    @JsonProperty("rows")
+    private long rows;
+
+    @JsonProperty("sizeBytes")
+    private long sizeBytes;
+
+    @JsonProperty("error")
+    private String error;
+}
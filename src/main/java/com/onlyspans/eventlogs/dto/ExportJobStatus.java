@@ -0,0 +1,24 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum ExportJobStatus {
+
+    /**
+     * Accepted, waiting for a free export worker.
+     */
+    @JsonProperty("queued")
+    QUEUED,
+
+    @JsonProperty("running")
+    RUNNING,
+
+    /**
+     * The result is in the spool directory and can be downloaded until the job expires.
+     */
+    @JsonProperty("completed")
+    COMPLETED,
+
+    @JsonProperty("failed")
+    FAILED
+}
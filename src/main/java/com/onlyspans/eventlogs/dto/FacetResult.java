@@ -0,0 +1,26 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetResult {
+    /**
+     * Most frequent values per requested facet (keyed by its name, e.g. {@code category}), by descending count.
+     */
+    @JsonProperty("facets")
+    private Map<String, List<FacetValue>> facets;
+
+    /**
+     * Whether the counts were extrapolated from a bounded number of matching events instead of counted exactly.
+     */
+    @JsonProperty("approximate")
+    private boolean approximate;
+}
@@ -0,0 +1,20 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of events with one value of a faceted attribute; {@code value} is {@code null} for events without it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValue {
+    @JsonProperty("value")
+    private String value;
+
+    @JsonProperty("count")
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBucket {
+    @JsonProperty("bucket")
+    private Instant bucket;
+
+    @JsonProperty("count")
+    private long count;
+}
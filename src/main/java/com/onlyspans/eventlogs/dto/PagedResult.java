@@ -27,6 +27,15 @@ public class PagedResult<T> {
     @JsonProperty("totalPages")
     private int totalPages;
 
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasNext")
+    private boolean hasNext;
+
+    @JsonProperty("totalMode")
+    private TotalMode totalMode;
+
     public PagedResult(List<T> items, long total, int page, int pageSize) {
         this.items = items;
         this.total = total;
@@ -1,11 +1,13 @@
 package com.onlyspans.eventlogs.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -49,6 +51,31 @@ public class QueryDto {
     @JsonProperty("sortOrder")
     private String sortOrder = "desc";
 
+    /**
+     * Continuation token from a previous result's {@code nextCursor}. When set, {@code page} is ignored and the
+     * search continues after the last event of that page.
+     */
+    @JsonProperty("cursor")
+    private String cursor;
+
+    /**
+     * How {@code total} is computed; defaults to {@code exact} for offset pages and {@code none} for cursor pages.
+     */
+    @JsonProperty("totalMode")
+    private TotalMode totalMode;
+
+    /**
+     * Attributes to return the most frequent values of, {@code facetSize} each, over all events matching the
+     * search (not just the page).
+     */
+    @JsonProperty("facets")
+    private List<EventFacet> facets;
+
+    @Min(value = 1, message = "Facet size must be >= 1")
+    @Max(value = 100, message = "Facet size must be <= 100")
+    @JsonProperty("facetSize")
+    private Integer facetSize = 10;
+
     @Min(value = 0, message = "Page must be >= 0")
     @JsonProperty("page")
     private Integer page = 0;
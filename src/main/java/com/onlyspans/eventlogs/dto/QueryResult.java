@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -26,6 +27,27 @@ public class QueryResult {
     @JsonProperty("totalPages")
     private int totalPages;
 
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasNext")
+    private boolean hasNext;
+
+    @JsonProperty("totalMode")
+    private TotalMode totalMode;
+
+    /**
+     * Value counts for the requested facets; {@code null} when none were requested.
+     */
+    @JsonProperty("facets")
+    private Map<String, List<FacetValue>> facets;
+
+    /**
+     * Whether {@code facets} were extrapolated from a bounded number of matching events.
+     */
+    @JsonProperty("facetsApproximate")
+    private boolean facetsApproximate;
+
     public QueryResult(List<EventDto> events, long total, int page, int size) {
         this.events = events;
         this.total = total;
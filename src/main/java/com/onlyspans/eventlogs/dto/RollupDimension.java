@@ -0,0 +1,33 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Locale;
+
+/**
+ * Event attributes the rollup tables are keyed by, and thus the ones aggregations can filter and facet on.
+ */
+public enum RollupDimension {
+
+    @JsonProperty("tenant")
+    TENANT,
+
+    @JsonProperty("project")
+    PROJECT,
+
+    @JsonProperty("environment")
+    ENVIRONMENT,
+
+    @JsonProperty("category")
+    CATEGORY,
+
+    @JsonProperty("action")
+    ACTION;
+
+    /**
+     * The name used in requests and as the facet key of results.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
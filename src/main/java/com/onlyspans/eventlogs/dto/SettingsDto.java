@@ -21,7 +21,7 @@ public class SettingsDto {
     private Integer retentionPeriodDays;
 
     @NotNull(message = "Max export size is required")
-    @Min(value = 1, message = "Max export size must be at least 1")
+    @Min(value = 0, message = "Max export size must be 0 (unlimited) or positive")
     @JsonProperty("maxExportSize")
     private Integer maxExportSize;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineResult {
+    /**
+     * The correlation or trace id the timeline was requested for.
+     */
+    @JsonProperty("id")
+    private String id;
+
+    /**
+     * Events carrying {@code id} as correlation or trace id, oldest first.
+     */
+    @JsonProperty("events")
+    private List<EventDto> events;
+
+    /**
+     * Whether more events carry {@code id} than one timeline may return; {@code events} are the oldest of them.
+     */
+    @JsonProperty("truncated")
+    private boolean truncated;
+}
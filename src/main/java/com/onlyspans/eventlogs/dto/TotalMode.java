@@ -0,0 +1,27 @@
+package com.onlyspans.eventlogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How the {@code total} of a search result is produced.
+ */
+public enum TotalMode {
+
+    /**
+     * {@code SELECT count(*)} with the search predicates.
+     */
+    @JsonProperty("exact")
+    EXACT,
+
+    /**
+     * The planner's row estimate for the search predicates; no rows are counted.
+     */
+    @JsonProperty("estimate")
+    ESTIMATE,
+
+    /**
+     * No total ({@code -1}); {@code hasNext} still tells whether another page exists.
+     */
+    @JsonProperty("none")
+    NONE
+}
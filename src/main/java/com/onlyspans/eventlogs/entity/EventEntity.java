@@ -1,10 +1,17 @@
 package com.onlyspans.eventlogs.entity;
 
+import com.onlyspans.eventlogs.util.UuidV7;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.List;
@@ -14,10 +21,14 @@ import java.util.UUID;
 @NoArgsConstructor
 @Entity
 @Table(name = "events")
-public class EventEntity {
+public class EventEntity implements Persistable<UUID> {
 
+    /**
+     * Ids are assigned by the application (or supplied by the producer), so Spring Data cannot tell new events
+     * from stored ones by a null id. Events are append-only: anything not loaded or persisted through this
+     * persistence context is new and goes straight to {@code persist}, never to a select-then-insert {@code merge}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false)
@@ -46,6 +57,31 @@ public class EventEntity {
     @Column(columnDefinition = "jsonb")
     private EventDetails details;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PrePersist
+    void assignId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
     @Data
     public static class EventDetails {
         private List<Change> changes;
@@ -0,0 +1,50 @@
+package com.onlyspans.eventlogs.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * State of the current (or last) retention run. A run that has no {@code completedAt} was interrupted and is
+ * resumed with the same cutoff.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "retention_progress")
+public class RetentionProgressEntity {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private Instant cutoff;
+
+    @Column(name = "rows_deleted", nullable = false)
+    private long rowsDeleted;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public RetentionProgressEntity(Instant cutoff) {
+        this.id = "events";
+        this.cutoff = cutoff;
+        this.rowsDeleted = 0;
+        this.startedAt = Instant.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.onlyspans.eventlogs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class DocumentNotFoundException extends RuntimeException {
+
+    public DocumentNotFoundException(String message) {
+        super(message);
+    }
+}
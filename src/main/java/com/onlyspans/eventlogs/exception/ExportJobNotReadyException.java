@@ -0,0 +1,12 @@
+package com.onlyspans.eventlogs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ExportJobNotReadyException extends RuntimeException {
+
+    public ExportJobNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.onlyspans.eventlogs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ExportJobRejectedException extends RuntimeException {
+
+    public ExportJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,138 @@
+package com.onlyspans.eventlogs.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Arrow IPC stream with one record batch per {@value #BATCH_ROWS} events. String columns are UTF-8, the
+ * timestamp is microseconds in UTC and details are a JSON string.
+ */
+public class ArrowEventExportWriter implements IEventExportWriter {
+
+    static final int BATCH_ROWS = 4096;
+
+    static final Schema SCHEMA = new Schema(List.of(
+        Field.notNullable("id", new ArrowType.Utf8()),
+        Field.notNullable("timestamp", new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC")),
+        Field.nullable("user", new ArrowType.Utf8()),
+        Field.nullable("category", new ArrowType.Utf8()),
+        Field.nullable("action", new ArrowType.Utf8()),
+        Field.nullable("document", new ArrowType.Utf8()),
+        Field.nullable("project", new ArrowType.Utf8()),
+        Field.nullable("environment", new ArrowType.Utf8()),
+        Field.nullable("tenant", new ArrowType.Utf8()),
+        Field.nullable("correlationId", new ArrowType.Utf8()),
+        Field.nullable("traceId", new ArrowType.Utf8()),
+        Field.nullable("details", new ArrowType.Utf8())));
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final OutputStream out;
+    private final BufferAllocator allocator;
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+    private final VarCharVector[] strings;
+    private final TimeStampMicroTZVector timestamps;
+    private int rows;
+
+    public ArrowEventExportWriter(OutputStream out) throws IOException {
+        this.out = out;
+        this.allocator = new RootAllocator();
+        this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+        this.writer = new ArrowStreamWriter(root, null, out);
+        this.timestamps = (TimeStampMicroTZVector) root.getVector("timestamp");
+        this.strings = new VarCharVector[SCHEMA.getFields().size() - 1];
+        int index = 0;
+        for (Field field : SCHEMA.getFields()) {
+            if (!"timestamp".equals(field.getName())) {
+                strings[index++] = (VarCharVector) root.getVector(field.getName());
+            }
+        }
+        root.allocateNew();
+        writer.start();
+    }
+
+    @Override
+    public void write(EventEntity event) throws IOException {
+        setString(0, event.getId() != null ? event.getId().toString() : "");
+        Instant timestamp = event.getTimestamp() != null ? event.getTimestamp() : Instant.EPOCH;
+        timestamps.setSafe(rows, timestamp.getEpochSecond() * 1_000_000 + timestamp.getNano() / 1_000);
+        setString(1, event.getUser());
+        setString(2, event.getCategory());
+        setString(3, event.getAction());
+        setString(4, event.getDocumentName());
+        setString(5, event.getProject());
+        setString(6, event.getEnvironment());
+        setString(7, event.getTenant());
+        setString(8, event.getCorrelationId());
+        setString(9, event.getTraceId());
+        setString(10, event.getDetails() != null ? detailsJson(event.getDetails()) : null);
+
+        if (++rows == BATCH_ROWS) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Flushes complete batches only; rows of the current batch stay buffered so batches keep their full size.
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                writeBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            allocator.close();
+        }
+    }
+
+    private void setString(int column, String value) {
+        if (value == null) {
+            strings[column].setNull(rows);
+        } else {
+            strings[column].setSafe(rows, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(rows);
+        writer.writeBatch();
+        rows = 0;
+        root.allocateNew();
+    }
+
+    private static String detailsJson(EventEntity.EventDetails details) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            EventJson.writeDetails(generator, details);
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.onlyspans.eventlogs.export;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class CsvEventExportWriter implements IEventExportWriter {
+
+    static final String[] HEADER = {
+        "ID", "Timestamp", "User", "Category", "Action", "Document",
+        "Project", "Environment", "Tenant", "Correlation ID", "Trace ID",
+        "IP Address", "User Agent", "Additional Info"
+    };
+
+    private final CsvRowEncoder encoder;
+
+    public CsvEventExportWriter(OutputStream out) throws IOException {
+        this.encoder = new CsvRowEncoder(out);
+        encoder.writeRow(HEADER);
+    }
+
+    @Override
+    public void write(EventEntity entity) throws IOException {
+        encoder.encode(entity);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encoder.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        encoder.close();
+    }
+}
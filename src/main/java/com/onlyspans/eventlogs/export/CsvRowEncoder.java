@@ -0,0 +1,262 @@
+package com.onlyspans.eventlogs.export;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Encodes events as UTF-8 CSV rows straight into one reusable byte buffer, without a per-row {@code String[]}:
+ * UUIDs and timestamps are formatted digit by digit, and a field is quoted only when it contains a comma, quote or
+ * line break (RFC 4180). Timestamps read exactly like {@link Instant#toString()}.
+ */
+public final class CsvRowEncoder {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    // Most bytes one char of a text field can take: a surrogate pair as a 4-byte UTF-8 sequence
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final byte[] HEX_DIGITS = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+    private static final long SECONDS_PER_DAY = 86_400;
+    // Days from 0000-03-01 to 1970-01-01, for the civil-from-days conversion in writeInstant
+    private static final long DAYS_0000_TO_1970 = 719_468;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public CsvRowEncoder(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Appends one row of plain text fields, e.g. a header.
+     */
+    public void writeRow(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                put(',');
+            }
+            writeText(fields[i]);
+        }
+        put('\n');
+    }
+
+    /**
+     * Appends one event in the column order of {@link CsvEventExportWriter#HEADER}; {@code null} values are
+     * empty fields.
+     */
+    public void encode(EventEntity entity) throws IOException {
+        writeUuid(entity.getId());
+        put(',');
+        writeInstant(entity.getTimestamp());
+        put(',');
+        writeText(entity.getUser());
+        put(',');
+        writeText(entity.getCategory());
+        put(',');
+        writeText(entity.getAction());
+        put(',');
+        writeText(entity.getDocumentName());
+        put(',');
+        writeText(entity.getProject());
+        put(',');
+        writeText(entity.getEnvironment());
+        put(',');
+        writeText(entity.getTenant());
+        put(',');
+        writeText(entity.getCorrelationId());
+        put(',');
+        writeText(entity.getTraceId());
+        put(',');
+        EventEntity.EventDetails details = entity.getDetails();
+        if (details != null) {
+            writeText(details.getIpAddress());
+            put(',');
+            writeText(details.getUserAgent());
+            put(',');
+            writeText(details.getAdditionalInfo());
+        } else {
+            put(',');
+            put(',');
+        }
+        put('\n');
+    }
+
+    /**
+     * Hands the buffered bytes to the underlying stream and flushes it.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeUuid(UUID id) throws IOException {
+        if (id == null) {
+            return;
+        }
+        ensure(36);
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        putHex(high >>> 32, 8);
+        buffer[position++] = '-';
+        putHex(high >>> 16, 4);
+        buffer[position++] = '-';
+        putHex(high, 4);
+        buffer[position++] = '-';
+        putHex(low >>> 48, 4);
+        buffer[position++] = '-';
+        putHex(low, 12);
+    }
+
+    private void putHex(long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        position += digits;
+    }
+
+    private void writeInstant(Instant instant) throws IOException {
+        if (instant == null) {
+            return;
+        }
+        long epochSecond = instant.getEpochSecond();
+        long days = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // Civil date from days since the epoch, proleptic Gregorian (H. Hinnant's days_from_civil inverse)
+        long shifted = days + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            // Signed or five-digit years; not worth a fast path
+            writeText(instant.toString());
+            return;
+        }
+
+        ensure(30);
+        putDigits((int) year, 4);
+        buffer[position++] = '-';
+        putDigits(month, 2);
+        buffer[position++] = '-';
+        putDigits(day, 2);
+        buffer[position++] = 'T';
+        putDigits(secondOfDay / 3600, 2);
+        buffer[position++] = ':';
+        putDigits(secondOfDay / 60 % 60, 2);
+        buffer[position++] = ':';
+        putDigits(secondOfDay % 60, 2);
+
+        int nanos = instant.getNano();
+        if (nanos != 0) {
+            buffer[position++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                putDigits(nanos / 1_000_000, 3);
+            } else if (nanos % 1_000 == 0) {
+                putDigits(nanos / 1_000, 6);
+            } else {
+                putDigits(nanos, 9);
+            }
+        }
+        buffer[position++] = 'Z';
+    }
+
+    private void putDigits(int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        int length = value.length();
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quoted = true;
+                break;
+            }
+        }
+
+        if (quoted) {
+            put('"');
+        }
+        for (int i = 0; i < length; i++) {
+            if (position + MAX_CHAR_BYTES > buffer.length) {
+                drain();
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer[position++] = '"';
+                }
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                char next = i + 1 < length ? value.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                    int codePoint = Character.toCodePoint(c, next);
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                    i++;
+                } else {
+                    // Unpaired surrogate, replaced like String.getBytes(UTF_8) does
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (quoted) {
+            put('"');
+        }
+    }
+
+    private void put(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.onlyspans.eventlogs.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.IOException;
+
+/**
+ * Streaming JSON encoding of events, field names as in {@code EventDto}.
+ */
+final class EventJson {
+
+    private EventJson() {
+    }
+
+    static void writeEvent(JsonGenerator generator, EventEntity event) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", event.getId() != null ? event.getId().toString() : null);
+        generator.writeStringField("timestamp", event.getTimestamp() != null ? event.getTimestamp().toString() : null);
+        generator.writeStringField("user", event.getUser());
+        generator.writeStringField("category", event.getCategory());
+        generator.writeStringField("action", event.getAction());
+        generator.writeStringField("document", event.getDocumentName());
+        generator.writeStringField("project", event.getProject());
+        generator.writeStringField("environment", event.getEnvironment());
+        generator.writeStringField("tenant", event.getTenant());
+        generator.writeStringField("correlationId", event.getCorrelationId());
+        generator.writeStringField("traceId", event.getTraceId());
+        if (event.getDetails() != null) {
+            generator.writeFieldName("details");
+            writeDetails(generator, event.getDetails());
+        }
+        generator.writeEndObject();
+    }
+
+    static void writeDetails(JsonGenerator generator, EventEntity.EventDetails details) throws IOException {
+        generator.writeStartObject();
+        if (details.getChanges() != null) {
+            generator.writeArrayFieldStart("changes");
+            for (EventEntity.Change change : details.getChanges()) {
+                generator.writeStartObject();
+                generator.writeStringField("field", change.getField());
+                generator.writeStringField("oldValue", change.getOldValue());
+                generator.writeStringField("newValue", change.getNewValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeStringField("ipAddress", details.getIpAddress());
+        generator.writeStringField("userAgent", details.getUserAgent());
+        generator.writeStringField("additionalInfo", details.getAdditionalInfo());
+        generator.writeEndObject();
+    }
+}
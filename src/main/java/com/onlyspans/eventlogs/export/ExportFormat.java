@@ -0,0 +1,83 @@
+package com.onlyspans.eventlogs.export;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public enum ExportFormat {
+
+    /**
+     * Flat CSV with the top-level details fields; {@code details.changes} is not included.
+     */
+    @JsonProperty("csv")
+    CSV(MediaType.parseMediaType("text/csv"), ".csv"),
+
+    /**
+     * One JSON object per line with the full nested details.
+     */
+    @JsonProperty("ndjson")
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), ".ndjson"),
+
+    /**
+     * Apache Arrow IPC stream: typed columns in record batches, details as a JSON string column.
+     */
+    @JsonProperty("arrow")
+    ARROW(MediaType.parseMediaType("application/vnd.apache.arrow.stream"), ".arrow");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public IEventExportWriter newWriter(OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvEventExportWriter(out);
+            case NDJSON -> new NdjsonEventExportWriter(out);
+            case ARROW -> new ArrowEventExportWriter(out);
+        };
+    }
+
+    private boolean isAcceptedBy(MediaType type) {
+        // text/plain was the only content type of CSV exports before negotiation
+        return type.includes(mediaType) || this == CSV && type.includes(MediaType.TEXT_PLAIN);
+    }
+
+    /**
+     * The format for an {@code Accept} header: the supported type with the highest quality, CSV when the header
+     * is missing or accepts anything, empty when nothing supported is acceptable.
+     */
+    public static Optional<ExportFormat> negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.of(CSV);
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        return accepted.stream()
+            .filter(type -> type.getQualityValue() > 0)
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+            .flatMap(type -> Stream.of(values()).filter(format -> format.isAcceptedBy(type)))
+            .findFirst();
+    }
+}
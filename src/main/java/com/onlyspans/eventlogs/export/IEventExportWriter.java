@@ -0,0 +1,15 @@
+package com.onlyspans.eventlogs.export;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Encodes a stream of events into one export format. {@link #close()} writes any trailer and closes the
+ * underlying stream.
+ */
+public interface IEventExportWriter extends Closeable {
+    void write(EventEntity event) throws IOException;
+    void flush() throws IOException;
+}
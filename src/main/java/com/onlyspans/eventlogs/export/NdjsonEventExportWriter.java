@@ -0,0 +1,43 @@
+package com.onlyspans.eventlogs.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonEventExportWriter implements IEventExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private boolean empty = true;
+
+    public NdjsonEventExportWriter(OutputStream out) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // root values separated by a newline instead of a space
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void write(EventEntity event) throws IOException {
+        EventJson.writeEvent(generator, event);
+        empty = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,211 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.onlyspans.eventlogs.dto.DocumentField;
+import com.onlyspans.eventlogs.dto.DocumentState;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Current state of every document in {@code document_states}, keyed by tenant ({@code ''} standing for an absent
+ * one) and document name: the latest {@code newValue} of each field changed through {@code details.changes},
+ * plus counts and the latest event. Changes are ordered by (timestamp, id), so late events only win the fields
+ * they really changed last.
+ */
+@Repository
+public class DocumentStateRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO document_states AS s (tenant, document_name, fields, event_count, first_event_at, last_event_at,
+                                          last_event_id, last_user)
+        VALUES (?, ?, ?::jsonb, ?, ?, ?, ?, ?)
+        ON CONFLICT (tenant, document_name) DO UPDATE SET
+            fields = s.fields || COALESCE((
+                SELECT jsonb_object_agg(n.key, n.value) FROM jsonb_each(EXCLUDED.fields) n
+                WHERE s.fields -> n.key IS NULL
+                   OR ((n.value ->> 'changedAt')::timestamptz, (n.value ->> 'eventId')::uuid)
+                      >= ((s.fields -> n.key ->> 'changedAt')::timestamptz, (s.fields -> n.key ->> 'eventId')::uuid)
+            ), '{}'::jsonb),
+            event_count = s.event_count + EXCLUDED.event_count,
+            first_event_at = LEAST(s.first_event_at, EXCLUDED.first_event_at),
+            last_event_at = GREATEST(s.last_event_at, EXCLUDED.last_event_at),
+            last_event_id = CASE
+                WHEN (EXCLUDED.last_event_at, EXCLUDED.last_event_id) >= (s.last_event_at, s.last_event_id)
+                THEN EXCLUDED.last_event_id ELSE s.last_event_id END,
+            last_user = CASE
+                WHEN (EXCLUDED.last_event_at, EXCLUDED.last_event_id) >= (s.last_event_at, s.last_event_id)
+                THEN EXCLUDED.last_user ELSE s.last_user END
+        """;
+
+    // Same order as the (timestamp, uuid) comparisons in UPSERT_SQL; UUID.compareTo would compare signed halves
+    private static final Comparator<EventEntity> EVENT_ORDER = Comparator.comparing(EventEntity::getTimestamp)
+        .thenComparing(EventEntity::getId, Comparator.nullsFirst(ParallelEventQueryRepository::compareUuids));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DocumentStateRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Folds {@code events} into the state of their documents; events without a document are skipped. Joins the
+     * caller's transaction, so the state commits or rolls back with the events. Events are folded per document
+     * in memory first, leaving one upsert per touched document, and documents are upserted in key order so
+     * concurrent writers cannot deadlock on them.
+     */
+    public void apply(List<EventEntity> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        Map<DocumentKey, Delta> deltas = new TreeMap<>(DocumentKey.ORDER);
+        for (EventEntity event : events) {
+            if (event.getDocumentName() != null) {
+                deltas.computeIfAbsent(DocumentKey.of(event), key -> new Delta()).add(event);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> args.add(new Object[]{
+            key.tenant(), key.documentName(), fieldsJson(delta.fields), delta.count,
+            toTimestamp(delta.first.getTimestamp()), toTimestamp(delta.last.getTimestamp()), delta.last.getId(),
+            delta.last.getUser()}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+    }
+
+    public Optional<DocumentState> find(String tenant, String documentName) {
+        List<DocumentState> states = jdbcTemplate.query(
+            "SELECT tenant, document_name, fields, event_count, first_event_at, last_event_at, last_event_id, "
+                + "last_user FROM document_states WHERE tenant = ? AND document_name = ?",
+            (rs, rowNum) -> mapState(rs), orEmpty(tenant), documentName);
+        return states.stream().findFirst();
+    }
+
+    private DocumentState mapState(ResultSet rs) throws SQLException {
+        String tenant = rs.getString("tenant");
+        return new DocumentState(
+            tenant.isEmpty() ? null : tenant,
+            rs.getString("document_name"),
+            readFields(rs.getString("fields")),
+            rs.getLong("event_count"),
+            rs.getObject("first_event_at", OffsetDateTime.class).toInstant(),
+            rs.getObject("last_event_at", OffsetDateTime.class).toInstant(),
+            rs.getObject("last_event_id", UUID.class).toString(),
+            rs.getString("last_user"));
+    }
+
+    private String fieldsJson(Map<String, Change> fields) {
+        ObjectNode node = objectMapper.createObjectNode();
+        fields.forEach((field, change) -> node.putObject(field)
+            .put("value", change.value())
+            .put("changedAt", change.event().getTimestamp().toString())
+            .put("eventId", change.event().getId() != null ? change.event().getId().toString() : null));
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize document fields", e);
+        }
+    }
+
+    private Map<String, DocumentField> readFields(String json) throws SQLException {
+        Map<String, DocumentField> fields = new LinkedHashMap<>();
+        try {
+            Iterator<Map.Entry<String, JsonNode>> entries = objectMapper.readTree(json).fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                JsonNode field = entry.getValue();
+                fields.put(entry.getKey(), new DocumentField(
+                    field.path("value").isNull() ? null : field.path("value").asText(),
+                    Instant.parse(field.path("changedAt").asText()),
+                    field.path("eventId").isNull() ? null : field.path("eventId").asText()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Failed to deserialize document fields", e);
+        }
+        return fields;
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Primary key of a state row; {@link #ORDER} is the column order of the key.
+     */
+    record DocumentKey(String tenant, String documentName) {
+
+        static final Comparator<DocumentKey> ORDER = Comparator.comparing(DocumentKey::tenant)
+            .thenComparing(DocumentKey::documentName);
+
+        static DocumentKey of(EventEntity event) {
+            return new DocumentKey(orEmpty(event.getTenant()), event.getDocumentName());
+        }
+    }
+
+    private record Change(String value, EventEntity event) {
+    }
+
+    /**
+     * What one batch contributes to a document's state, folded in (timestamp, id) order.
+     */
+    private static final class Delta {
+
+        private final Map<String, Change> fields = new HashMap<>();
+        private long count;
+        private EventEntity first;
+        private EventEntity last;
+
+        void add(EventEntity event) {
+            count++;
+            if (first == null || EVENT_ORDER.compare(event, first) < 0) {
+                first = event;
+            }
+            if (last == null || EVENT_ORDER.compare(event, last) >= 0) {
+                last = event;
+            }
+            if (event.getDetails() == null || event.getDetails().getChanges() == null) {
+                return;
+            }
+            for (EventEntity.Change change : event.getDetails().getChanges()) {
+                if (change.getField() == null) {
+                    continue;
+                }
+                Change current = fields.get(change.getField());
+                if (current == null || EVENT_ORDER.compare(event, current.event()) >= 0) {
+                    fields.put(change.getField(), new Change(change.getNewValue(), event));
+                }
+            }
+        }
+    }
+}
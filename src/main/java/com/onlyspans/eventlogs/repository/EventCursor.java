@@ -0,0 +1,59 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last event of a search page: the sort field, its direction, the last row's value of that
+ * field and its id as tie-breaker. Serialized as an opaque, URL-safe token.
+ */
+public record EventCursor(String sortField, Sort.Direction direction, String value, UUID id) {
+
+    private static final String NULL_VALUE = "~";
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    public static EventCursor after(EventEntity last, String sortField, Sort.Direction direction) {
+        Object value = new BeanWrapperImpl(last).getPropertyValue(sortField);
+        return new EventCursor(sortField, direction, value != null ? value.toString() : null, last.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(".",
+            encodePart(sortField),
+            direction.name(),
+            value != null ? encodePart(value) : NULL_VALUE,
+            id.toString());
+        return encodePart(raw);
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String[] parts = decodePart(token).split("\\.", -1);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new EventCursor(
+                decodePart(parts[0]),
+                Sort.Direction.valueOf(parts[1]),
+                NULL_VALUE.equals(parts[2]) ? null : decodePart(parts[2]),
+                UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+
+    private static String encodePart(String value) {
+        return encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String value) {
+        return new String(decoder.decode(value), StandardCharsets.UTF_8);
+    }
+}
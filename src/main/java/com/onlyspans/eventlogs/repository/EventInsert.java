@@ -0,0 +1,70 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Multi-row event INSERT shared by the JPA and JDBC write paths: one text array per column, expanded with
+ * {@code unnest}. Rows whose key is already stored are skipped ({@code ON CONFLICT DO NOTHING}) and
+ * {@code RETURNING} reports the ids inserted. Casts use {@code CAST} rather than {@code ::} so the statement also
+ * runs as a Hibernate native query.
+ */
+public final class EventInsert {
+
+    public static final String SQL = """
+        INSERT INTO events (id, timestamp, user_name, category, action, document_name, project, environment,
+                            tenant, correlation_id, trace_id, details)
+        SELECT CAST(id AS uuid), CAST(timestamp AS timestamptz), user_name, category, action, document_name,
+               project, environment, tenant, correlation_id, trace_id, CAST(details AS jsonb)
+        FROM unnest(CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]),
+                    CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]),
+                    CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]))
+            AS batch (id, timestamp, user_name, category, action, document_name, project, environment, tenant,
+                      correlation_id, trace_id, details)
+        ON CONFLICT (id, timestamp) DO NOTHING
+        RETURNING id
+        """;
+
+    public static final int COLUMNS = 12;
+
+    private EventInsert() {
+    }
+
+    /**
+     * The {@link #SQL} parameters for {@code events}, column by column. Every event must already have an id.
+     */
+    public static String[][] columns(List<EventEntity> events, ObjectMapper objectMapper) {
+        String[][] columns = new String[COLUMNS][events.size()];
+        for (int row = 0; row < events.size(); row++) {
+            EventEntity event = events.get(row);
+            columns[0][row] = event.getId().toString();
+            columns[1][row] = event.getTimestamp().toString();
+            columns[2][row] = event.getUser();
+            columns[3][row] = event.getCategory();
+            columns[4][row] = event.getAction();
+            columns[5][row] = event.getDocumentName();
+            columns[6][row] = event.getProject();
+            columns[7][row] = event.getEnvironment();
+            columns[8][row] = event.getTenant();
+            columns[9][row] = event.getCorrelationId();
+            columns[10][row] = event.getTraceId();
+            columns[11][row] = toJson(event.getDetails(), objectMapper);
+        }
+        return columns;
+    }
+
+    private static String toJson(EventEntity.EventDetails details, ObjectMapper objectMapper) {
+        if (details == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize event details", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.onlyspans.eventlogs.repository;
+
+import java.time.Instant;
+
+/**
+ * A partition of the {@code events} table. {@code from} and {@code to} are {@code null} for the default
+ * partition; {@code bytes} includes indexes and TOAST.
+ */
+public record EventPartition(String name, Instant from, Instant to, long bytes) {
+
+    public boolean isDefault() {
+        return from == null && to == null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.onlyspans.eventlogs.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Partition DDL for the {@code events} table, which Spring Data cannot express.
+ */
+@Repository
+public class EventPartitionRepository {
+
+    private static final String FIND_PARTITIONS_SQL = """
+        SELECT c.relname AS name,
+               (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz AS range_from,
+               (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz AS range_to,
+               pg_total_relation_size(c.oid) AS bytes
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'events'::regclass
+        ORDER BY range_from NULLS FIRST
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EventPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates and attaches the partition for {@code [from, to)}, first moving any rows for that range out of
+     * {@code events_default}. Returns {@code false} if a table with that name already exists.
+     */
+    public boolean createPartition(String name, Instant from, Instant to) {
+        Boolean created = jdbcTemplate.queryForObject("SELECT create_events_partition(?, ?, ?)", Boolean.class,
+            name, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+        return Boolean.TRUE.equals(created);
+    }
+
+    public List<EventPartition> findPartitions() {
+        return jdbcTemplate.query(FIND_PARTITIONS_SQL, (rs, rowNum) -> new EventPartition(
+            rs.getString("name"),
+            toInstant(rs.getTimestamp("range_from")),
+            toInstant(rs.getTimestamp("range_to")),
+            rs.getLong("bytes")));
+    }
+
+    /**
+     * Detaches the partition and drops it: a catalog change instead of deleting its rows one by one.
+     */
+    public void dropPartition(String name) {
+        String table = quoteIdentifier(name);
+        jdbcTemplate.execute("ALTER TABLE events DETACH PARTITION " + table);
+        jdbcTemplate.execute("DROP TABLE " + table);
+    }
+
+    public long countDefaultPartitionRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM events_default", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static String quoteIdentifier(String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+}
@@ -7,14 +7,30 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<EventEntity, UUID>, JpaSpecificationExecutor<EventEntity> {
+public interface EventRepository extends JpaRepository<EventEntity, UUID>, JpaSpecificationExecutor<EventEntity>,
+        EventRepositoryCustom {
 
+    /**
+     * Deletes up to {@code chunkSize} events before the cutoff in one short transaction. Chunks are not ordered:
+     * every matching row goes eventually, and an ordered chunk would sort all remaining expired rows each time
+     * since the timestamp only has a BRIN index.
+     */
     @Modifying
-    @Query("DELETE FROM EventEntity e WHERE e.timestamp < :cutoffDate")
-    int deleteEventsOlderThan(@Param("cutoffDate") Instant cutoffDate);
+    @Transactional
+    @Query(value = """
+        DELETE FROM events
+        WHERE (id, timestamp) IN (SELECT id, timestamp
+                                  FROM events
+                                  WHERE timestamp < :cutoffDate
+                                  LIMIT :chunkSize)
+        """, nativeQuery = true)
+    int deleteEventsBefore(@Param("cutoffDate") Instant cutoffDate, @Param("chunkSize") int chunkSize);
+
+    long countByTimestampBefore(Instant cutoffDate);
 }
@@ -0,0 +1,33 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Rows {@code [offset, offset + limit)} of the sorted result, without the count query a {@code Page} needs.
+     */
+    List<EventEntity> findRange(Specification<EventEntity> spec, Sort sort, long offset, int limit);
+
+    /**
+     * The planner's estimate of the number of events matching the query's filters.
+     */
+    long estimateCount(QueryDto query);
+
+    /**
+     * The number of events in the whole table according to the statistics of its partitions.
+     */
+    long estimateTableRows();
+
+    /**
+     * Inserts {@code events} in one {@link EventInsert} statement, skipping those whose key is already stored.
+     * Returns the ids inserted; every event must already have an id.
+     */
+    List<UUID> insertIgnoringConflicts(List<EventEntity> events);
+}
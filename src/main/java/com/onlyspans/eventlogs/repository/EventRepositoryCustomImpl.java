@@ -0,0 +1,94 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EventRepositoryCustomImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<EventEntity> findRange(Specification<EventEntity> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventEntity> criteriaQuery = criteriaBuilder.createQuery(EventEntity.class);
+        Root<EventEntity> root = criteriaQuery.from(EventEntity.class);
+
+        Predicate predicate = spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.select(root).orderBy(toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(criteriaQuery)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public long estimateCount(QueryDto query) {
+        EventSqlBuilder.Where where = EventSqlBuilder.where(query);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT 1 FROM events" + where.sql(),
+            String.class, where.params().toArray());
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read query plan", e);
+        }
+    }
+
+    @Override
+    public long estimateTableRows() {
+        Long rows = jdbcTemplate.queryForObject("""
+            SELECT CAST(COALESCE(sum(GREATEST(c.reltuples, 0)), 0) AS bigint)
+            FROM pg_partition_tree('events') t
+            JOIN pg_class c ON c.oid = t.relid
+            WHERE t.isleaf
+            """, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<UUID> insertIgnoringConflicts(List<EventEntity> events) {
+        String[][] columns = EventInsert.columns(events, objectMapper);
+        Query insert = entityManager.createNativeQuery(EventInsert.SQL, UUID.class);
+        for (int column = 0; column < EventInsert.COLUMNS; column++) {
+            insert.setParameter(column + 1, columns[column]);
+        }
+        return insert.getResultList();
+    }
+}
@@ -0,0 +1,288 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.dto.AggregationInterval;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.HistogramBucket;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Event counts per UTC minute and hour in {@code event_rollups_minute} and {@code event_rollups_hour}, keyed by
+ * tenant, project, environment, category and action ({@code ''} standing for an absent value).
+ * <p>
+ * Aggregations over a range read whole hours from the hour rollups and only the partial hours at either end from
+ * the minute rollups, so the rows read grow with the number of hours rather than the number of events.
+ */
+@Repository
+public class EventRollupRepository {
+
+    static final String MINUTE_TABLE = "event_rollups_minute";
+    static final String HOUR_TABLE = "event_rollups_hour";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO %1$s (tenant, bucket, project, environment, category, action, event_count)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (tenant, bucket, project, environment, category, action)
+        DO UPDATE SET event_count = %1$s.event_count + EXCLUDED.event_count
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EventRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds {@code events} to the counts of their minute and hour. Joins the caller's transaction, so the counts
+     * commit or roll back with the events. Events are counted per key in memory first, leaving one upsert per
+     * touched row, and rows are upserted in key order, minutes before hours, so concurrent writers lock shared
+     * rows in the same order and cannot deadlock on them.
+     */
+    public void increment(List<EventEntity> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        Map<RollupKey, Long> minutes = new TreeMap<>(RollupKey.ORDER);
+        Map<RollupKey, Long> hours = new TreeMap<>(RollupKey.ORDER);
+        for (EventEntity event : events) {
+            minutes.merge(RollupKey.of(event, ChronoUnit.MINUTES), 1L, Long::sum);
+            hours.merge(RollupKey.of(event, ChronoUnit.HOURS), 1L, Long::sum);
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(MINUTE_TABLE), upsertArgs(minutes));
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(HOUR_TABLE), upsertArgs(hours));
+    }
+
+    /**
+     * Event counts in {@code [start, end)} per {@code interval}, non-empty buckets only. Both bounds must be whole
+     * minutes.
+     */
+    public List<HistogramBucket> histogram(Map<RollupDimension, String> filters, Instant start, Instant end,
+                                           AggregationInterval interval) {
+        List<Object> params = new ArrayList<>();
+        List<Span> spans = spans(start, end, interval == AggregationInterval.MINUTE);
+        String sql = withRollups(filters, spans, List.of(), params)
+            + "SELECT date_trunc('" + truncation(interval) + "', bucket, 'UTC') AS bucket, "
+            + "sum(event_count) AS event_count FROM rollups GROUP BY 1 ORDER BY 1";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new HistogramBucket(
+            rs.getObject("bucket", OffsetDateTime.class).toInstant(), rs.getLong("event_count")), params.toArray());
+    }
+
+    /**
+     * The {@code size} most frequent values of each of {@code dimensions} in {@code [start, end)}, by descending
+     * count, in one statement. Both bounds must be whole minutes.
+     */
+    public Map<RollupDimension, List<FacetValue>> facets(Map<RollupDimension, String> filters, Instant start,
+                                                        Instant end, List<RollupDimension> dimensions, int size) {
+        List<Object> params = new ArrayList<>();
+        return facets(withRollups(filters, spans(start, end, false), List.of(), params), params, dimensions, size);
+    }
+
+    /**
+     * Like {@link #facets}, over the range of a search: {@code start <= timestamp <= end} at any precision. The
+     * whole minutes inside the range come from the rollups and the partial minutes at either end are counted from
+     * {@code events}, so at most two minutes of events are read. The minute rollups must still cover
+     * {@code start}.
+     */
+    public Map<RollupDimension, List<FacetValue>> searchFacets(Map<RollupDimension, String> filters, Instant start,
+                                                              Instant end, List<RollupDimension> dimensions,
+                                                              int size) {
+        Instant firstMinute = start.truncatedTo(ChronoUnit.MINUTES);
+        if (firstMinute.isBefore(start)) {
+            firstMinute = firstMinute.plus(1, ChronoUnit.MINUTES);
+        }
+        Instant lastMinute = end.truncatedTo(ChronoUnit.MINUTES);
+
+        List<Span> spans = List.of();
+        List<EventSpan> edges = new ArrayList<>(2);
+        if (firstMinute.isBefore(lastMinute)) {
+            spans = spans(firstMinute, lastMinute, false);
+            if (start.isBefore(firstMinute)) {
+                edges.add(new EventSpan(start, firstMinute, false));
+            }
+            edges.add(new EventSpan(lastMinute, end, true));
+        } else {
+            edges.add(new EventSpan(start, end, true));
+        }
+
+        List<Object> params = new ArrayList<>();
+        return facets(withRollups(filters, spans, edges, params), params, dimensions, size);
+    }
+
+    private Map<RollupDimension, List<FacetValue>> facets(String withRollups, List<Object> params,
+                                                         List<RollupDimension> dimensions, int size) {
+        Map<RollupDimension, List<FacetValue>> facets = new LinkedHashMap<>();
+        if (dimensions.isEmpty()) {
+            return facets;
+        }
+
+        StringBuilder sql = new StringBuilder(withRollups);
+        for (int i = 0; i < dimensions.size(); i++) {
+            RollupDimension dimension = dimensions.get(i);
+            facets.put(dimension, new ArrayList<>());
+            String column = column(dimension);
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("(SELECT ").append(i).append(" AS dimension, ").append(column)
+                .append(" AS value, sum(event_count) AS event_count FROM rollups GROUP BY ").append(column)
+                .append(" ORDER BY event_count DESC, value LIMIT ?)");
+            params.add(size);
+        }
+
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+            String value = rs.getString("value");
+            facets.get(dimensions.get(rs.getInt("dimension"))).add(
+                new FacetValue(value.isEmpty() ? null : value, rs.getLong("event_count")));
+        }, params.toArray());
+        return facets;
+    }
+
+    public int deleteMinutesBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + MINUTE_TABLE + " WHERE bucket < ?", toTimestamp(cutoff));
+    }
+
+    public int deleteHoursBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + HOUR_TABLE + " WHERE bucket < ?", toTimestamp(cutoff));
+    }
+
+    /**
+     * Splits {@code [start, end)} into the rollup reads that cover it: the whole hours inside it from the hour
+     * rollups and the minutes before the first and after the last of them from the minute rollups.
+     */
+    static List<Span> spans(Instant start, Instant end, boolean minutesOnly) {
+        if (!minutesOnly) {
+            Instant firstHour = start.truncatedTo(ChronoUnit.HOURS);
+            if (firstHour.isBefore(start)) {
+                firstHour = firstHour.plus(1, ChronoUnit.HOURS);
+            }
+            Instant lastHour = end.truncatedTo(ChronoUnit.HOURS);
+            if (firstHour.isBefore(lastHour)) {
+                List<Span> spans = new ArrayList<>(3);
+                spans.add(new Span(HOUR_TABLE, firstHour, lastHour));
+                if (start.isBefore(firstHour)) {
+                    spans.add(new Span(MINUTE_TABLE, start, firstHour));
+                }
+                if (lastHour.isBefore(end)) {
+                    spans.add(new Span(MINUTE_TABLE, lastHour, end));
+                }
+                return spans;
+            }
+        }
+        return List.of(new Span(MINUTE_TABLE, start, end));
+    }
+
+    /**
+     * {@code WITH rollups AS (...)}: the rollup rows of {@code spans} plus, for {@code edges}, one row per event
+     * in the shape of a rollup row with a count of one.
+     */
+    private static String withRollups(Map<RollupDimension, String> filters, List<Span> spans, List<EventSpan> edges,
+                                      List<Object> params) {
+        List<String> branches = new ArrayList<>(spans.size() + edges.size());
+        for (Span span : spans) {
+            params.add(toTimestamp(span.from()));
+            params.add(toTimestamp(span.to()));
+            branches.add("SELECT bucket, tenant, project, environment, category, action, event_count FROM "
+                + span.table() + " WHERE bucket >= ? AND bucket < ?" + filterConditions(filters, params));
+        }
+        for (EventSpan edge : edges) {
+            params.add(toTimestamp(edge.from()));
+            params.add(toTimestamp(edge.to()));
+            branches.add("SELECT timestamp AS bucket, COALESCE(tenant, '') AS tenant, "
+                + "COALESCE(project, '') AS project, COALESCE(environment, '') AS environment, "
+                + "COALESCE(category, '') AS category, "
+                + "COALESCE(action, '') AS action, 1 AS event_count FROM events WHERE timestamp >= ? AND timestamp "
+                + (edge.toInclusive() ? "<=" : "<") + " ?" + filterConditions(filters, params));
+        }
+        return "WITH rollups AS (" + String.join(" UNION ALL ", branches) + ") ";
+    }
+
+    private static String filterConditions(Map<RollupDimension, String> filters, List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        filters.forEach((dimension, value) -> {
+            if (value != null && !value.isEmpty()) {
+                sql.append(" AND ").append(column(dimension)).append(" = ?");
+                params.add(value);
+            }
+        });
+        return sql.toString();
+    }
+
+    private static String truncation(AggregationInterval interval) {
+        return switch (interval) {
+            case MINUTE -> "minute";
+            case HOUR -> "hour";
+            case DAY -> "day";
+        };
+    }
+
+    private static String column(RollupDimension dimension) {
+        return switch (dimension) {
+            case TENANT -> "tenant";
+            case PROJECT -> "project";
+            case ENVIRONMENT -> "environment";
+            case CATEGORY -> "category";
+            case ACTION -> "action";
+        };
+    }
+
+    private static List<Object[]> upsertArgs(Map<RollupKey, Long> counts) {
+        List<Object[]> args = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> args.add(new Object[]{
+            key.tenant(), toTimestamp(key.bucket()), key.project(), key.environment(), key.category(), key.action(),
+            count}));
+        return args;
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    record Span(String table, Instant from, Instant to) {
+    }
+
+    record EventSpan(Instant from, Instant to, boolean toInclusive) {
+    }
+
+    /**
+     * Primary key of a rollup row; {@link #ORDER} is the column order of the key.
+     */
+    record RollupKey(String tenant, Instant bucket, String project, String environment, String category,
+                     String action) {
+
+        static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::tenant)
+            .thenComparing(RollupKey::bucket)
+            .thenComparing(RollupKey::project)
+            .thenComparing(RollupKey::environment)
+            .thenComparing(RollupKey::category)
+            .thenComparing(RollupKey::action);
+
+        static RollupKey of(EventEntity event, ChronoUnit unit) {
+            return new RollupKey(orEmpty(event.getTenant()), event.getTimestamp().truncatedTo(unit),
+                orEmpty(event.getProject()), orEmpty(event.getEnvironment()), orEmpty(event.getCategory()),
+                orEmpty(event.getAction()));
+        }
+
+        private static String orEmpty(String value) {
+            return value != null ? value : "";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Maps rows selected with {@link EventSqlBuilder#COLUMNS} to plain, unmanaged {@link EventEntity} instances.
+ */
+public class EventRowMapper implements RowMapper<EventEntity> {
+
+    private final ObjectReader detailsReader;
+
+    public EventRowMapper(ObjectMapper objectMapper) {
+        this.detailsReader = objectMapper.readerFor(EventEntity.EventDetails.class);
+    }
+
+    @Override
+    public EventEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+        EventEntity entity = new EventEntity();
+        entity.setId(rs.getObject(1, UUID.class));
+        Timestamp timestamp = rs.getTimestamp(2);
+        entity.setTimestamp(timestamp != null ? timestamp.toInstant() : null);
+        entity.setUser(rs.getString(3));
+        entity.setCategory(rs.getString(4));
+        entity.setAction(rs.getString(5));
+        entity.setDocumentName(rs.getString(6));
+        entity.setProject(rs.getString(7));
+        entity.setEnvironment(rs.getString(8));
+        entity.setTenant(rs.getString(9));
+        entity.setCorrelationId(rs.getString(10));
+        entity.setTraceId(rs.getString(11));
+        entity.setDetails(readDetails(rs.getString(12)));
+        return entity;
+    }
+
+    private EventEntity.EventDetails readDetails(String json) throws SQLException {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return detailsReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Failed to deserialize event details", e);
+        }
+    }
+}
@@ -2,11 +2,17 @@ package com.onlyspans.eventlogs.repository;
 
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 public class EventSpecification {
 
@@ -50,6 +56,8 @@ public class EventSpecification {
                 predicates.add(criteriaBuilder.equal(root.get("traceId"), query.getTraceId()));
             }
 
+            // Range predicates on the partition key: PostgreSQL prunes partitions outside [startDate, endDate],
+            // at plan time or, for generic prepared plans, at executor startup
             if (query.getStartDate() != null) {
                 predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("timestamp"), query.getStartDate()));
             }
@@ -61,4 +69,56 @@ public class EventSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Keyset predicate selecting the rows that follow {@code cursor} in {@code ORDER BY sortField, id}, both in
+     * the cursor's direction. PostgreSQL sorts nulls last ascending and first descending, so a null sort value
+     * is its own region: ascending, the null region comes after every value; descending, it comes before.
+     */
+    public static Specification<EventEntity> after(EventCursor cursor) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            boolean ascending = cursor.direction() == Sort.Direction.ASC;
+            Path<UUID> id = root.get("id");
+            Predicate idAfter = ascending
+                ? criteriaBuilder.greaterThan(id, cursor.id())
+                : criteriaBuilder.lessThan(id, cursor.id());
+
+            if ("id".equals(cursor.sortField())) {
+                return idAfter;
+            }
+
+            Path<Comparable<Object>> field = root.get(cursor.sortField());
+            if (cursor.value() == null) {
+                Predicate inNullRegion = criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter);
+                return ascending ? inNullRegion : criteriaBuilder.or(criteriaBuilder.isNotNull(field), inNullRegion);
+            }
+
+            Comparable<Object> value = parseValue(field.getJavaType(), cursor.value());
+            Predicate beyond = ascending
+                ? criteriaBuilder.greaterThan(field, value)
+                : criteriaBuilder.lessThan(field, value);
+            Predicate tie = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfter);
+            return ascending
+                ? criteriaBuilder.or(beyond, tie, criteriaBuilder.isNull(field))
+                : criteriaBuilder.or(beyond, tie);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseValue(Class<?> type, String value) {
+        try {
+            if (type == String.class) {
+                return (Comparable<Object>) (Comparable<?>) value;
+            }
+            if (type == Instant.class) {
+                return (Comparable<Object>) (Comparable<?>) Instant.parse(value);
+            }
+            if (type == UUID.class) {
+                return (Comparable<Object>) (Comparable<?>) UUID.fromString(value);
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor value", e);
+        }
+        throw new InvalidCursorException("Cursor pagination is not supported when sorting by " + type.getSimpleName());
+    }
 }
@@ -0,0 +1,247 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Native SQL counterpart of {@link EventSpecification}: compiles a {@link QueryDto} straight into parameterized
+ * SQL. Only the shape of a query (which filters are present, sort, cursor and offset) determines its text, so
+ * statement strings are built once per shape and cached; a request only collects its parameter values.
+ */
+public final class EventSqlBuilder {
+
+    static final String COLUMNS = "id, timestamp, user_name, category, action, document_name, project, "
+        + "environment, tenant, correlation_id, trace_id, details";
+
+    private static final String[] FILTER_COLUMNS = {
+        "user_name", "category", "action", "document_name", "project", "environment", "tenant",
+        "correlation_id", "trace_id", "timestamp >=", "timestamp <="
+    };
+
+    private static final List<String> SORT_FIELDS = List.of(
+        "id", "timestamp", "user", "category", "action", "documentName", "project", "environment", "tenant",
+        "correlationId", "traceId");
+
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("timestamp", "timestamp"),
+        Map.entry("user", "user_name"),
+        Map.entry("category", "category"),
+        Map.entry("action", "action"),
+        Map.entry("documentName", "document_name"),
+        Map.entry("project", "project"),
+        Map.entry("environment", "environment"),
+        Map.entry("tenant", "tenant"),
+        Map.entry("correlationId", "correlation_id"),
+        Map.entry("traceId", "trace_id"));
+
+    private static final int MAX_CACHED_SHAPES = 4096;
+    private static final Map<Integer, String> shapes = new ConcurrentHashMap<>();
+
+    private EventSqlBuilder() {
+    }
+
+    public record Where(String sql, List<Object> params) {
+    }
+
+    public record SqlQuery(String sql, Object[] params) {
+    }
+
+    public static Where where(QueryDto query) {
+        List<Object> params = new ArrayList<>();
+        int mask = collectFilters(query, params);
+        return new Where(whereClause(mask), params);
+    }
+
+    public static SqlQuery count(QueryDto query) {
+        List<Object> params = new ArrayList<>();
+        int mask = collectFilters(query, params);
+        String sql = shape(mask | 1 << 30, () -> "SELECT count(*) FROM events" + whereClause(mask));
+        return new SqlQuery(sql, params.toArray());
+    }
+
+    /**
+     * {@code SELECT} of one page ordered by {@code sortField} and then id, both in {@code direction}, optionally
+     * continuing after {@code cursor} with the same keyset semantics as {@link EventSpecification#after}. A
+     * {@code limit} of zero or less selects every matching row.
+     */
+    public static SqlQuery select(QueryDto query, String sortField, Sort.Direction direction, EventCursor cursor,
+                                  long offset, int limit) {
+        return select(query, sortField, direction, cursor, offset, limit, false);
+    }
+
+    /**
+     * Like {@link #select(QueryDto, String, Sort.Direction, EventCursor, long, int)}; with {@code codePointOrder}
+     * text sort columns are ordered {@code COLLATE "C"}, i.e. by code point instead of the database collation, so
+     * the order can be reproduced in Java when several result sets are merged.
+     */
+    public static SqlQuery select(QueryDto query, String sortField, Sort.Direction direction, EventCursor cursor,
+                                  long offset, int limit, boolean codePointOrder) {
+        String column = SORT_COLUMNS.get(sortField);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+
+        List<Object> params = new ArrayList<>();
+        int mask = collectFilters(query, params);
+        boolean ascending = direction == Sort.Direction.ASC;
+
+        int cursorMode = 0;
+        if (cursor != null) {
+            cursorMode = cursor.value() == null ? 1 : 2;
+            if (!"id".equals(sortField) && cursor.value() != null) {
+                Object value = parseValue(sortField, cursor.value());
+                params.add(value);
+                params.add(value);
+            }
+            params.add(cursor.id());
+        }
+
+        if (limit > 0) {
+            params.add(limit);
+        }
+        if (offset > 0) {
+            params.add(offset);
+        }
+
+        int key = mask
+            | SORT_FIELDS.indexOf(sortField) << 11
+            | (ascending ? 1 : 0) << 15
+            | cursorMode << 16
+            | (offset > 0 ? 1 : 0) << 18
+            | (limit > 0 ? 1 : 0) << 19
+            | (codePointOrder ? 1 : 0) << 20;
+        int finalCursorMode = cursorMode;
+        String sql = shape(key, () -> selectSql(mask, column, ascending, finalCursorMode, limit > 0, offset > 0,
+            codePointOrder));
+        return new SqlQuery(sql, params.toArray());
+    }
+
+    private static String selectSql(int mask, String column, boolean ascending, int cursorMode, boolean hasLimit,
+                                    boolean hasOffset, boolean codePointOrder) {
+        List<String> conditions = filterConditions(mask);
+        if (cursorMode != 0) {
+            conditions.add(keysetCondition(column, ascending, cursorMode == 1));
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM events");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(column);
+        if (codePointOrder && !"id".equals(column) && !"timestamp".equals(column)) {
+            sql.append(" COLLATE \"C\"");
+        }
+        sql.append(' ').append(direction);
+        if (!"id".equals(column)) {
+            sql.append(", id ").append(direction);
+        }
+        if (hasLimit) {
+            sql.append(" LIMIT ?");
+        }
+        if (hasOffset) {
+            sql.append(" OFFSET ?");
+        }
+        return sql.toString();
+    }
+
+    private static String keysetCondition(String column, boolean ascending, boolean nullValue) {
+        String op = ascending ? ">" : "<";
+        if ("id".equals(column)) {
+            return "id " + op + " ?";
+        }
+        if (nullValue) {
+            String inNullRegion = column + " IS NULL AND id " + op + " ?";
+            return ascending ? "(" + inNullRegion + ")" : "(" + column + " IS NOT NULL OR (" + inNullRegion + "))";
+        }
+        String condition = column + " " + op + " ? OR (" + column + " = ? AND id " + op + " ?)";
+        return ascending ? "(" + condition + " OR " + column + " IS NULL)" : "(" + condition + ")";
+    }
+
+    private static String shape(int key, Supplier<String> builder) {
+        String sql = shapes.get(key);
+        if (sql == null) {
+            sql = builder.get();
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.putIfAbsent(key, sql);
+            }
+        }
+        return sql;
+    }
+
+    private static int collectFilters(QueryDto query, List<Object> params) {
+        int mask = 0;
+        mask |= addEquals(params, query.getUser(), 0);
+        mask |= addEquals(params, query.getCategory(), 1);
+        mask |= addEquals(params, query.getAction(), 2);
+        mask |= addEquals(params, query.getDocument(), 3);
+        mask |= addEquals(params, query.getProject(), 4);
+        mask |= addEquals(params, query.getEnvironment(), 5);
+        mask |= addEquals(params, query.getTenant(), 6);
+        mask |= addEquals(params, query.getCorrelationId(), 7);
+        mask |= addEquals(params, query.getTraceId(), 8);
+
+        if (query.getStartDate() != null) {
+            params.add(toTimestamptz(query.getStartDate()));
+            mask |= 1 << 9;
+        }
+
+        if (query.getEndDate() != null) {
+            params.add(toTimestamptz(query.getEndDate()));
+            mask |= 1 << 10;
+        }
+        return mask;
+    }
+
+    private static int addEquals(List<Object> params, String value, int bit) {
+        if (value != null && !value.isEmpty()) {
+            params.add(value);
+            return 1 << bit;
+        }
+        return 0;
+    }
+
+    private static String whereClause(int mask) {
+        List<String> conditions = filterConditions(mask);
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static List<String> filterConditions(int mask) {
+        List<String> conditions = new ArrayList<>();
+        for (int bit = 0; bit < FILTER_COLUMNS.length; bit++) {
+            if ((mask & 1 << bit) != 0) {
+                String column = FILTER_COLUMNS[bit];
+                conditions.add(column.endsWith("=") ? column + " ?" : column + " = ?");
+            }
+        }
+        return conditions;
+    }
+
+    private static Object parseValue(String sortField, String value) {
+        try {
+            return switch (sortField) {
+                case "timestamp" -> toTimestamptz(Instant.parse(value));
+                case "id" -> UUID.fromString(value);
+                default -> value;
+            };
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor value", e);
+        }
+    }
+
+    private static Object toTimestamptz(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
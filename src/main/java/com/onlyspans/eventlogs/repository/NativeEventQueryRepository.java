@@ -0,0 +1,186 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.dto.EventFacet;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Event search over plain JDBC with SQL from {@link EventSqlBuilder}: no Criteria tree, no HQL rendering and no
+ * persistence context for the results.
+ */
+@Repository
+public class NativeEventQueryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRowMapper rowMapper;
+
+    @Value("${event-logs.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Autowired
+    public NativeEventQueryRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowMapper = new EventRowMapper(objectMapper);
+    }
+
+    public List<EventEntity> find(QueryDto query, String sortField, Sort.Direction direction, EventCursor cursor,
+                                  long offset, int limit) {
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(query, sortField, direction, cursor, offset, limit);
+        return jdbcTemplate.query(sql.sql(), rowMapper, sql.params());
+    }
+
+    /**
+     * Hands every matching row to {@code consumer} in sort order, at most {@code maxRows} when positive. Rows come
+     * from a forward-only server-side cursor, {@code fetchSize} at a time, and none are retained, so memory stays
+     * flat however many rows match. PostgreSQL only uses a cursor inside a transaction, hence
+     * {@code @Transactional}; the consumer runs while it is open.
+     *
+     * @return the number of rows streamed
+     */
+    @Transactional(readOnly = true)
+    public long stream(QueryDto query, String sortField, Sort.Direction direction, int maxRows,
+                       Consumer<EventEntity> consumer) {
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(query, sortField, direction, null, 0, maxRows);
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.sql(), ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(sql.params()).setValues(statement);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, (int) rows[0]++)));
+        return rows[0];
+    }
+
+    public long count(QueryDto query) {
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.count(query);
+        Long count = jdbcTemplate.queryForObject(sql.sql(), Long.class, sql.params());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * The {@code size} most frequent values of each of {@code facets} among the events matching {@code query},
+     * reading at most {@code rowLimit} of them, in one statement: the matching rows are grouped once per facet
+     * with {@code GROUPING SETS} and ranked per facet. Cursor, sort and page of the query are ignored.
+     */
+    public FacetCounts facets(QueryDto query, List<EventFacet> facets, int size, int rowLimit) {
+        EventSqlBuilder.Where where = EventSqlBuilder.where(query);
+        List<Object> params = new ArrayList<>(where.params());
+        params.add(rowLimit);
+        return facets(" FROM events" + where.sql() + " LIMIT ?", params, facets, size);
+    }
+
+    /**
+     * Like {@link #facets(QueryDto, List, int, int)}, over the matching events in a {@code TABLESAMPLE SYSTEM}
+     * sample of about {@code samplePercent} percent of the table's pages. The sample is drawn before the filters
+     * apply, so it reads that share of the whole table however few events match. The counts are those of the
+     * sample.
+     */
+    public FacetCounts sampledFacets(QueryDto query, List<EventFacet> facets, int size, double samplePercent) {
+        EventSqlBuilder.Where where = EventSqlBuilder.where(query);
+        List<Object> params = new ArrayList<>();
+        params.add(samplePercent);
+        params.addAll(where.params());
+        return facets(" FROM events TABLESAMPLE SYSTEM (CAST(? AS real))" + where.sql(), params, facets, size);
+    }
+
+    private FacetCounts facets(String source, List<Object> sourceParams, List<EventFacet> facets, int size) {
+        List<String> columns = facets.stream().map(NativeEventQueryRepository::facetColumn).toList();
+
+        StringBuilder dimension = new StringBuilder("CASE");
+        StringBuilder value = new StringBuilder("CASE");
+        for (int i = 0; i < columns.size(); i++) {
+            dimension.append(" WHEN GROUPING(").append(columns.get(i)).append(") = 0 THEN ").append(i);
+            value.append(" WHEN GROUPING(").append(columns.get(i)).append(") = 0 THEN ").append(columns.get(i));
+        }
+        String sql = "SELECT dimension, value, event_count FROM ("
+            + "SELECT dimension, value, event_count, "
+            + "row_number() OVER (PARTITION BY dimension ORDER BY event_count DESC, value) AS facet_rank FROM ("
+            + "SELECT " + dimension + " ELSE -1 END AS dimension, " + value + " END AS value, "
+            + "count(*) AS event_count FROM ("
+            + "SELECT " + String.join(", ", columns) + source + ") matching "
+            + "GROUP BY GROUPING SETS ("
+            + columns.stream().map(column -> "(" + column + ")").collect(Collectors.joining(", "))
+            + ", ())) grouped) ranked "
+            + "WHERE facet_rank <= ? OR dimension = -1 ORDER BY dimension, facet_rank";
+
+        List<Object> params = new ArrayList<>(sourceParams);
+        params.add(size);
+
+        Map<EventFacet, List<FacetValue>> values = new LinkedHashMap<>();
+        facets.forEach(facet -> values.put(facet, new ArrayList<>()));
+        long[] rows = {0};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            int index = rs.getInt("dimension");
+            if (index < 0) {
+                rows[0] = rs.getLong("event_count");
+            } else {
+                values.get(facets.get(index)).add(new FacetValue(rs.getString("value"), rs.getLong("event_count")));
+            }
+        }, params.toArray());
+        return new FacetCounts(values, rows[0]);
+    }
+
+    /**
+     * Events whose correlation id or trace id is {@code id}, oldest first (by timestamp, then id), at most
+     * {@code limit}. Each branch walks its {@code (id, timestamp, id)} index in order and the branches are merged,
+     * so no count and no sort is needed; events carrying {@code id} as both are returned once.
+     */
+    public List<EventEntity> timeline(String id, int limit) {
+        String sql = "SELECT " + EventSqlBuilder.COLUMNS + " FROM events WHERE correlation_id = ? "
+            + "UNION ALL SELECT " + EventSqlBuilder.COLUMNS + " FROM events "
+            + "WHERE trace_id = ? AND correlation_id IS DISTINCT FROM ? "
+            + "ORDER BY timestamp, id LIMIT ?";
+        return jdbcTemplate.query(sql, rowMapper, id, id, id, limit);
+    }
+
+    /**
+     * Events of document {@code documentName} in {@code tenant} ({@code ''} for events without one) that carry
+     * {@code details.changes}, latest first, at most {@code limit}. Walks the {@code (document_name, timestamp, id)}
+     * index backwards.
+     */
+    public List<EventEntity> documentHistory(String tenant, String documentName, int limit) {
+        String sql = "SELECT " + EventSqlBuilder.COLUMNS + " FROM events "
+            + "WHERE document_name = ? AND COALESCE(tenant, '') = ? "
+            + "AND jsonb_typeof(details -> 'changes') = 'array' AND details -> 'changes' <> '[]'::jsonb "
+            + "ORDER BY timestamp DESC, id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, rowMapper, documentName, tenant != null ? tenant : "", limit);
+    }
+
+    private static String facetColumn(EventFacet facet) {
+        return switch (facet) {
+            case USER -> "user_name";
+            case CATEGORY -> "category";
+            case ACTION -> "action";
+            case DOCUMENT -> "document_name";
+            case PROJECT -> "project";
+            case ENVIRONMENT -> "environment";
+            case TENANT -> "tenant";
+        };
+    }
+
+    /**
+     * Facet values by descending count and the number of events they were counted over.
+     */
+    public record FacetCounts(Map<EventFacet, List<FacetValue>> values, long rows) {
+    }
+}
@@ -0,0 +1,398 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.EventSearchException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Exports a {@code startDate}–{@code endDate} range as {@code slices} consecutive time slices queried concurrently,
+ * each on its own connection and backend. A coordinating transaction exports its snapshot with
+ * {@code pg_export_snapshot()} and every slice transaction imports it, so all slices see the same rows a single
+ * query would have seen.
+ * <p>
+ * Slices sorted by timestamp are disjoint in sort order and are emitted one after another; any other sort is
+ * merged k-way on the sort field and id. For that merge text columns are ordered {@code COLLATE "C"} (code point
+ * order) in SQL and in {@link #order}, which can differ from the database collation used by serial exports.
+ * Each slice reads ahead at most {@code buffer-rows} rows, and every export holds {@code slices + 1} connections
+ * while it runs, so the connection pool must be sized for concurrent exports.
+ */
+@Repository
+public class ParallelEventQueryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelEventQueryRepository.class);
+
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-F]+(-[0-9A-F]+)+");
+    private static final EventEntity END = new EventEntity();
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private static final Map<String, Function<EventEntity, String>> TEXT_FIELDS = Map.of(
+        "user", EventEntity::getUser,
+        "category", EventEntity::getCategory,
+        "action", EventEntity::getAction,
+        "documentName", EventEntity::getDocumentName,
+        "project", EventEntity::getProject,
+        "environment", EventEntity::getEnvironment,
+        "tenant", EventEntity::getTenant,
+        "correlationId", EventEntity::getCorrelationId,
+        "traceId", EventEntity::getTraceId);
+
+    private final DataSource dataSource;
+    private final EventRowMapper rowMapper;
+    private final int slices;
+    private final Duration minRange;
+    private final int bufferRows;
+    private final int fetchSize;
+    // Unbounded on purpose: a merge needs all slices of an export running at once, and a fixed pool shared by
+    // concurrent exports could leave each waiting on slices queued behind the other
+    private final ExecutorService executor =
+        Executors.newCachedThreadPool(new CustomizableThreadFactory("event-logs-export-slice-"));
+
+    @Autowired
+    public ParallelEventQueryRepository(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${event-logs.export.parallel.slices:1}") int slices,
+            @Value("${event-logs.export.parallel.min-range:PT6H}") Duration minRange,
+            @Value("${event-logs.export.parallel.buffer-rows:10000}") int bufferRows,
+            @Value("${event-logs.export.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.rowMapper = new EventRowMapper(objectMapper);
+        this.slices = slices;
+        this.minRange = minRange;
+        this.bufferRows = bufferRows;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Whether {@code query} is exported in parallel: slicing is enabled and the query has a closed time range of
+     * at least {@code min-range}.
+     */
+    public boolean supports(QueryDto query) {
+        if (slices < 2 || query.getStartDate() == null || query.getEndDate() == null) {
+            return false;
+        }
+        Duration range = Duration.between(query.getStartDate(), query.getEndDate());
+        return range.compareTo(minRange) >= 0 && ChronoUnit.MICROS.between(query.getStartDate(),
+            query.getEndDate()) >= slices;
+    }
+
+    /**
+     * Hands every matching row to {@code consumer} in sort order, at most {@code maxRows} when positive, like
+     * {@link NativeEventQueryRepository#stream}. The consumer runs on the calling thread.
+     *
+     * @return the number of rows streamed
+     */
+    public long stream(QueryDto query, String sortField, Sort.Direction direction, int maxRows,
+                       Consumer<EventEntity> consumer) {
+        boolean byTimestamp = "timestamp".equals(sortField);
+        List<QueryDto> ranges = slice(query, slices);
+        if (byTimestamp && direction == Sort.Direction.DESC) {
+            Collections.reverse(ranges);
+        }
+
+        try (Connection coordinator = dataSource.getConnection()) {
+            String snapshotId = exportSnapshot(coordinator);
+            logger.debug("Exporting {} to {} in {} slices from snapshot {}", query.getStartDate(),
+                query.getEndDate(), ranges.size(), snapshotId);
+
+            AtomicBoolean cancelled = new AtomicBoolean();
+            List<Slice> readers = new ArrayList<>(ranges.size());
+            try {
+                for (QueryDto range : ranges) {
+                    Slice slice = new Slice(EventSqlBuilder.select(range, sortField, direction, null, 0, maxRows,
+                        !byTimestamp), snapshotId, cancelled);
+                    slice.future = executor.submit(slice::run);
+                    readers.add(slice);
+                }
+                return byTimestamp
+                    ? concatenate(readers, maxRows, consumer)
+                    : merge(readers, order(sortField, direction), maxRows, consumer);
+            } finally {
+                cancelled.set(true);
+                for (Slice slice : readers) {
+                    slice.await();
+                }
+                coordinator.rollback();
+            }
+        } catch (SQLException e) {
+            throw new EventSearchException("Failed to export events in parallel", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventSearchException("Interrupted while exporting events", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Splits the query's closed time range into {@code count} consecutive closed ranges, ascending. Inner
+     * boundaries fall on whole microseconds, the precision of {@code timestamptz}, and every slice ends one
+     * microsecond before the next begins.
+     */
+    static List<QueryDto> slice(QueryDto query, int count) {
+        Instant start = query.getStartDate();
+        Instant end = query.getEndDate();
+        Instant origin = start.truncatedTo(ChronoUnit.MICROS);
+        long step = ChronoUnit.MICROS.between(start, end) / count;
+
+        List<QueryDto> ranges = new ArrayList<>(count);
+        Instant from = start;
+        for (int i = 1; i <= count; i++) {
+            Instant next = i < count ? origin.plus(step * i, ChronoUnit.MICROS) : null;
+            ranges.add(withRange(query, from, next != null ? next.minus(1, ChronoUnit.MICROS) : end));
+            from = next;
+        }
+        return ranges;
+    }
+
+    /**
+     * The order of {@link EventSqlBuilder#select} with {@code codePointOrder}: sort field, then id, nulls last
+     * ascending and first descending, text by code point and UUIDs as unsigned bytes.
+     */
+    static Comparator<EventEntity> order(String sortField, Sort.Direction direction) {
+        Comparator<EventEntity> byId = (a, b) -> compareUuids(a.getId(), b.getId());
+        Comparator<EventEntity> order = switch (sortField) {
+            case "id" -> byId;
+            case "timestamp" -> Comparator.comparing(EventEntity::getTimestamp).thenComparing(byId);
+            default -> {
+                Function<EventEntity, String> field = TEXT_FIELDS.get(sortField);
+                if (field == null) {
+                    throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+                }
+                yield Comparator.comparing(field,
+                    Comparator.nullsLast(ParallelEventQueryRepository::compareCodePoints)).thenComparing(byId);
+            }
+        };
+        return direction == Sort.Direction.ASC ? order : order.reversed();
+    }
+
+    static int compareCodePoints(String a, String b) {
+        int i = 0;
+        while (i < a.length() && i < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(i);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+            i += Character.charCount(x);
+        }
+        return Integer.compare(a.length(), b.length());
+    }
+
+    /**
+     * PostgreSQL's order of {@code uuid} values: byte-wise, i.e. both halves compared as unsigned numbers.
+     */
+    static int compareUuids(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static long concatenate(List<Slice> readers, int maxRows, Consumer<EventEntity> consumer)
+            throws InterruptedException {
+        long rows = 0;
+        for (Slice slice : readers) {
+            while ((maxRows <= 0 || rows < maxRows) && slice.advance()) {
+                consumer.accept(slice.head);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long merge(List<Slice> readers, Comparator<EventEntity> order, int maxRows,
+                              Consumer<EventEntity> consumer) throws InterruptedException {
+        PriorityQueue<Slice> heads = new PriorityQueue<>(readers.size(), (a, b) -> order.compare(a.head, b.head));
+        for (Slice slice : readers) {
+            if (slice.advance()) {
+                heads.add(slice);
+            }
+        }
+
+        long rows = 0;
+        while (!heads.isEmpty() && (maxRows <= 0 || rows < maxRows)) {
+            Slice slice = heads.poll();
+            consumer.accept(slice.head);
+            rows++;
+            if (slice.advance()) {
+                heads.add(slice);
+            }
+        }
+        return rows;
+    }
+
+    private static String exportSnapshot(Connection coordinator) throws SQLException {
+        beginSnapshotTransaction(coordinator);
+        try (Statement statement = coordinator.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot()")) {
+            rs.next();
+            String snapshotId = rs.getString(1);
+            // Inlined into SET TRANSACTION SNAPSHOT, which takes no bind parameters
+            if (snapshotId == null || !SNAPSHOT_ID.matcher(snapshotId).matches()) {
+                throw new SQLException("Unexpected snapshot id: " + snapshotId);
+            }
+            return snapshotId;
+        }
+    }
+
+    private static void beginSnapshotTransaction(Connection connection) throws SQLException {
+        // Both session settings must precede the transaction that setAutoCommit(false) opens
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+        connection.setAutoCommit(false);
+    }
+
+    private static QueryDto withRange(QueryDto query, Instant startDate, Instant endDate) {
+        QueryDto range = new QueryDto();
+        range.setUser(query.getUser());
+        range.setCategory(query.getCategory());
+        range.setAction(query.getAction());
+        range.setDocument(query.getDocument());
+        range.setProject(query.getProject());
+        range.setEnvironment(query.getEnvironment());
+        range.setTenant(query.getTenant());
+        range.setCorrelationId(query.getCorrelationId());
+        range.setTraceId(query.getTraceId());
+        range.setStartDate(startDate);
+        range.setEndDate(endDate);
+        return range;
+    }
+
+    /**
+     * One slice query, read on an executor thread into a bounded buffer that the exporting thread drains.
+     */
+    private final class Slice {
+
+        private final EventSqlBuilder.SqlQuery sql;
+        private final String snapshotId;
+        private final AtomicBoolean cancelled;
+        private final BlockingQueue<EventEntity> buffer = new ArrayBlockingQueue<>(bufferRows);
+        private volatile Exception failure;
+        private Future<?> future;
+        private EventEntity head;
+        private boolean exhausted;
+
+        Slice(EventSqlBuilder.SqlQuery sql, String snapshotId, AtomicBoolean cancelled) {
+            this.sql = sql;
+            this.snapshotId = snapshotId;
+            this.cancelled = cancelled;
+        }
+
+        void run() {
+            try (Connection connection = dataSource.getConnection()) {
+                beginSnapshotTransaction(connection);
+                try {
+                    read(connection);
+                } finally {
+                    connection.rollback();
+                }
+            } catch (Exception e) {
+                failure = e;
+            }
+            try {
+                offer(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void read(Connection connection) throws SQLException, InterruptedException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql.sql(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                new ArgumentPreparedStatementSetter(sql.params()).setValues(statement);
+                try (ResultSet rs = statement.executeQuery()) {
+                    int row = 0;
+                    while (rs.next() && offer(rowMapper.mapRow(rs, row++))) {
+                        // buffered for the exporting thread
+                    }
+                }
+            }
+        }
+
+        private boolean offer(EventEntity event) throws InterruptedException {
+            while (!cancelled.get()) {
+                if (buffer.offer(event, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves {@link #head} to the next row of this slice; {@code false} once the slice is exhausted.
+         */
+        boolean advance() throws InterruptedException {
+            if (exhausted) {
+                return false;
+            }
+            EventEntity event = buffer.take();
+            if (event == END) {
+                exhausted = true;
+                head = null;
+                if (failure != null) {
+                    throw new EventSearchException("Export slice query failed", failure);
+                }
+                return false;
+            }
+            head = event;
+            return true;
+        }
+
+        /**
+         * Waits for the reader to stop so its connection is back in the pool before the export returns.
+         */
+        void await() {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.warn("Export slice reader failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.entity.RetentionProgressEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RetentionProgressRepository extends JpaRepository<RetentionProgressEntity, String> {
+}
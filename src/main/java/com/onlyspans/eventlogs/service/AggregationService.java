@@ -0,0 +1,144 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.AggregateEventsRequest;
+import com.onlyspans.eventlogs.dto.AggregateResult;
+import com.onlyspans.eventlogs.dto.AggregationInterval;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.HistogramBucket;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.exception.InvalidAggregationException;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers aggregations from the rollup tables maintained by the write path, never from {@code events}. Minute
+ * rollups are kept for {@code minute-retention} and hour rollups for {@code hour-retention}; ranges reaching
+ * further back than the minute rollups are widened to whole hours.
+ */
+@Service
+public class AggregationService implements IAggregationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregationService.class);
+
+    private final EventRollupRepository rollupRepository;
+    private final Clock clock;
+    private final Counter aggregationsCounter;
+
+    @Value("${event-logs.aggregate.max-buckets:10000}")
+    private long maxBuckets;
+
+    @Value("${event-logs.rollups.minute-retention:P7D}")
+    private Duration minuteRetention;
+
+    @Value("${event-logs.rollups.hour-retention:P400D}")
+    private Duration hourRetention;
+
+    @Autowired
+    public AggregationService(EventRollupRepository rollupRepository, MeterRegistry meterRegistry) {
+        this(rollupRepository, meterRegistry, Clock.systemUTC());
+    }
+
+    AggregationService(EventRollupRepository rollupRepository, MeterRegistry meterRegistry, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+        this.aggregationsCounter = Counter.builder("event_logs_aggregations")
+            .description("Total number of aggregations answered from rollups")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public AggregateResult aggregate(AggregateEventsRequest request) {
+        AggregationInterval interval = request.getInterval() != null
+            ? request.getInterval()
+            : AggregationInterval.HOUR;
+        Instant start = request.getStartDate().truncatedTo(ChronoUnit.MINUTES);
+        Instant end = ceil(request.getEndDate(), ChronoUnit.MINUTES);
+        if (!start.isBefore(end)) {
+            throw new InvalidAggregationException("startDate must be before endDate");
+        }
+
+        Instant minuteHorizon = minuteHorizon(clock.instant());
+        if (start.isBefore(minuteHorizon)) {
+            if (interval == AggregationInterval.MINUTE) {
+                throw new InvalidAggregationException("Per-minute aggregation is only available for the last "
+                    + minuteRetention);
+            }
+            start = start.truncatedTo(ChronoUnit.HOURS);
+            if (end.isBefore(minuteHorizon)) {
+                end = ceil(end, ChronoUnit.HOURS);
+            }
+        }
+
+        long buckets = Duration.between(start, end).dividedBy(interval.duration()) + 1;
+        if (buckets > maxBuckets) {
+            throw new InvalidAggregationException("Aggregation would produce " + buckets
+                + " buckets, more than the maximum of " + maxBuckets + "; use a shorter range or a wider interval");
+        }
+
+        aggregationsCounter.increment();
+        Map<RollupDimension, String> filters = filters(request);
+        List<HistogramBucket> histogram = rollupRepository.histogram(filters, start, end, interval);
+        long total = histogram.stream().mapToLong(HistogramBucket::getCount).sum();
+
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        if (request.getFacets() != null && !request.getFacets().isEmpty()) {
+            int facetSize = request.getFacetSize() != null ? request.getFacetSize() : 10;
+            rollupRepository.facets(filters, start, end, request.getFacets().stream().distinct().toList(), facetSize)
+                .forEach((dimension, values) -> facets.put(dimension.key(), values));
+        }
+
+        logger.debug("Aggregated {} events in [{}, {}) per {}", total, start, end, interval);
+        return new AggregateResult(start, end, interval, total, histogram, facets);
+    }
+
+    /**
+     * Deletes minute rollups past {@code minute-retention} and hour rollups past {@code hour-retention}. The
+     * minute cutoff is rounded down to an hour, so the partial hour at the edge of a widened range is still there.
+     */
+    @Scheduled(cron = "${event-logs.rollups.cleanup-cron:0 30 2 * * ?}")
+    public void purgeExpiredRollups() {
+        try {
+            Instant now = clock.instant();
+            int minutes = rollupRepository.deleteMinutesBefore(minuteHorizon(now));
+            int hours = rollupRepository.deleteHoursBefore(now.minus(hourRetention).truncatedTo(ChronoUnit.HOURS));
+            logger.info("Purged {} minute and {} hour rollups", minutes, hours);
+        } catch (Exception e) {
+            logger.error("Error purging expired rollups", e);
+        }
+    }
+
+    private Instant minuteHorizon(Instant now) {
+        return now.minus(minuteRetention).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static Map<RollupDimension, String> filters(AggregateEventsRequest request) {
+        Map<RollupDimension, String> filters = new EnumMap<>(RollupDimension.class);
+        filters.put(RollupDimension.TENANT, request.getTenant());
+        filters.put(RollupDimension.PROJECT, request.getProject());
+        filters.put(RollupDimension.ENVIRONMENT, request.getEnvironment());
+        filters.put(RollupDimension.CATEGORY, request.getCategory());
+        filters.put(RollupDimension.ACTION, request.getAction());
+        return filters;
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        Instant truncated = instant.truncatedTo(unit);
+        return truncated.equals(instant) ? truncated : truncated.plus(1, unit);
+    }
+}
@@ -0,0 +1,75 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.DocumentHistoryResult;
+import com.onlyspans.eventlogs.dto.DocumentRevision;
+import com.onlyspans.eventlogs.dto.DocumentState;
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.DocumentNotFoundException;
+import com.onlyspans.eventlogs.repository.DocumentStateRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Current state of a document from {@code document_states}, maintained by the write path, and its change history
+ * from the events themselves. Documents are scoped to a tenant; no tenant means events without one.
+ */
+@Service
+public class DocumentService implements IDocumentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
+
+    private final DocumentStateRepository documentStateRepository;
+    private final NativeEventQueryRepository nativeQueryRepository;
+
+    @Value("${event-logs.documents.history.max-revisions:1000}")
+    private int maxRevisions;
+
+    @Autowired
+    public DocumentService(DocumentStateRepository documentStateRepository,
+                           NativeEventQueryRepository nativeQueryRepository) {
+        this.documentStateRepository = documentStateRepository;
+        this.nativeQueryRepository = nativeQueryRepository;
+    }
+
+    @Override
+    public DocumentState getState(String tenant, String documentName) {
+        return documentStateRepository.find(tenant, documentName)
+            .orElseThrow(() -> new DocumentNotFoundException("Document not found: " + documentName));
+    }
+
+    /**
+     * Reads one revision past {@code maxRevisions} to tell a history that fills the limit from a longer one.
+     */
+    @Override
+    public DocumentHistoryResult getHistory(String tenant, String documentName) {
+        List<EventEntity> events = nativeQueryRepository.documentHistory(tenant, documentName, maxRevisions + 1);
+        boolean truncated = events.size() > maxRevisions;
+        List<DocumentRevision> revisions = events.stream()
+            .limit(maxRevisions)
+            .map(DocumentService::toRevision)
+            .toList();
+        logger.debug("Read {} revisions of document {}", revisions.size(), documentName);
+        return new DocumentHistoryResult(tenant, documentName, revisions, truncated);
+    }
+
+    private static DocumentRevision toRevision(EventEntity event) {
+        List<EventDto.ChangeDto> changes = event.getDetails().getChanges().stream()
+            .map(change -> {
+                EventDto.ChangeDto changeDto = new EventDto.ChangeDto();
+                changeDto.setField(change.getField());
+                changeDto.setOldValue(change.getOldValue());
+                changeDto.setNewValue(change.getNewValue());
+                return changeDto;
+            })
+            .toList();
+        return new DocumentRevision(event.getId() != null ? event.getId().toString() : null, event.getTimestamp(),
+            event.getUser(), event.getAction(), changes);
+    }
+}
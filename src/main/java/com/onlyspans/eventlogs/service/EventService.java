@@ -1,12 +1,17 @@
 package com.onlyspans.eventlogs.service;
 
-import com.opencsv.CSVWriter;
 import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.dto.FacetResult;
 import com.onlyspans.eventlogs.dto.PagedResult;
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.dto.QueryResult;
+import com.onlyspans.eventlogs.dto.TimelineResult;
 import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import com.onlyspans.eventlogs.export.ExportFormat;
+import com.onlyspans.eventlogs.export.IEventExportWriter;
 import com.onlyspans.eventlogs.storage.IEventStorage;
+import com.onlyspans.eventlogs.util.UuidV7;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
@@ -18,8 +23,7 @@ import org.springframework.validation.annotation.Validated;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -30,20 +34,24 @@ import java.util.stream.Collectors;
 public class EventService implements IEventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+    private static final int EXPORT_FLUSH_ROWS = 1000;
 
     private final IEventStorage eventStorage;
     private final Counter eventsIngestedCounter;
     private final Counter eventsSearchedCounter;
     private final Counter eventsExportedCounter;
 
-    @Value("${event-logs.max-export-size:10000}")
+    @Value("${event-logs.max-export-size:0}")
     private int maxExportSize;
 
+    @Value("${event-logs.timeline.max-events:10000}")
+    private int maxTimelineEvents;
+
     @Autowired
     public EventService(IEventStorage eventStorage, MeterRegistry meterRegistry) {
         this.eventStorage = eventStorage;
         this.eventsIngestedCounter = Counter.builder("event_logs_ingested")
-            .description("Total number of events ingested")
+            .description("Total number of events ingested, excluding duplicates already stored")
             .register(meterRegistry);
         this.eventsSearchedCounter = Counter.builder("event_logs_searched")
             .description("Total number of search operations")
@@ -60,14 +68,26 @@ public class EventService implements IEventService {
             return;
         }
 
-        try {
-            List<EventEntity> entities = events.stream()
-                .map(this::convertToEntity)
-                .collect(Collectors.toList());
+        storeEvents(convertEvents(events));
+    }
 
-            eventStorage.add(entities);
-            eventsIngestedCounter.increment(events.size());
-            logger.info("Successfully ingested {} events", events.size());
+    @Override
+    public List<EventEntity> convertEvents(List<EventDto> events) {
+        return events.stream()
+            .map(this::convertToEntity)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void storeEvents(List<EventEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+
+        try {
+            int inserted = eventStorage.add(entities);
+            eventsIngestedCounter.increment(inserted);
+            logger.info("Successfully ingested {} of {} events", inserted, entities.size());
         } catch (Exception e) {
             logger.error("Error ingesting events", e);
             throw new RuntimeException("Failed to ingest events", e);
@@ -85,91 +105,78 @@ public class EventService implements IEventService {
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
 
-            return new QueryResult(dtos, pagedResult.getTotal(),
+            QueryResult result = new QueryResult(dtos, pagedResult.getTotal(),
                 pagedResult.getPage(), pagedResult.getPageSize());
+            result.setNextCursor(pagedResult.getNextCursor());
+            result.setHasNext(pagedResult.isHasNext());
+            result.setTotalMode(pagedResult.getTotalMode());
+            if (query.getFacets() != null && !query.getFacets().isEmpty()) {
+                FacetResult facets = eventStorage.facets(query);
+                result.setFacets(facets.getFacets());
+                result.setFacetsApproximate(facets.isApproximate());
+            }
+            return result;
+        } catch (InvalidCursorException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error searching events", e);
             throw new RuntimeException("Failed to search events", e);
         }
     }
 
+    /**
+     * Writes events to {@code outputStream} in {@code format} as they are read from the database, flushing every
+     * {@value #EXPORT_FLUSH_ROWS} rows, so memory use does not grow with the export. {@code maxExportSize} caps the
+     * number of rows when positive. Returns the number of rows written.
+     */
     @Override
-    public void exportCsv(QueryDto query, OutputStream outputStream) {
-        try {
-            QueryDto limitedQuery = new QueryDto();
-            limitedQuery.setUser(query.getUser());
-            limitedQuery.setCategory(query.getCategory());
-            limitedQuery.setAction(query.getAction());
-            limitedQuery.setDocument(query.getDocument());
-            limitedQuery.setProject(query.getProject());
-            limitedQuery.setEnvironment(query.getEnvironment());
-            limitedQuery.setTenant(query.getTenant());
-            limitedQuery.setCorrelationId(query.getCorrelationId());
-            limitedQuery.setTraceId(query.getTraceId());
-            limitedQuery.setStartDate(query.getStartDate());
-            limitedQuery.setEndDate(query.getEndDate());
-            limitedQuery.setSortBy(query.getSortBy());
-            limitedQuery.setSortOrder(query.getSortOrder());
-            limitedQuery.setPage(0);
-            limitedQuery.setSize(maxExportSize);
-
-            PagedResult<EventEntity> pagedResult = eventStorage.search(limitedQuery);
-            List<EventEntity> entities = pagedResult.getItems();
-
-            if (entities.size() >= maxExportSize) {
-                logger.warn("Export result size ({}) reached max export size limit ({})",
-                    entities.size(), maxExportSize);
-            }
-
-            try (CSVWriter writer = new CSVWriter(
-                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
-                
-                writer.writeNext(new String[]{
-                    "ID", "Timestamp", "User", "Category", "Action", "Document",
-                    "Project", "Environment", "Tenant", "Correlation ID", "Trace ID",
-                    "IP Address", "User Agent", "Additional Info"
-                });
-
-                for (EventEntity entity : entities) {
-                    writer.writeNext(new String[]{
-                        entity.getId() != null ? entity.getId().toString() : "",
-                        entity.getTimestamp() != null ? entity.getTimestamp().toString() : "",
-                        entity.getUser(),
-                        entity.getCategory(),
-                        entity.getAction(),
-                        entity.getDocumentName(),
-                        entity.getProject(),
-                        entity.getEnvironment(),
-                        entity.getTenant(),
-                        entity.getCorrelationId() != null ? entity.getCorrelationId() : "",
-                        entity.getTraceId() != null ? entity.getTraceId() : "",
-                        entity.getDetails() != null && entity.getDetails().getIpAddress() != null
-                            ? entity.getDetails().getIpAddress() : "",
-                        entity.getDetails() != null && entity.getDetails().getUserAgent() != null
-                            ? entity.getDetails().getUserAgent() : "",
-                        entity.getDetails() != null && entity.getDetails().getAdditionalInfo() != null
-                            ? entity.getDetails().getAdditionalInfo() : ""
-                    });
+    public long export(QueryDto query, ExportFormat format, OutputStream outputStream) {
+        try (IEventExportWriter writer = format.newWriter(outputStream)) {
+            long[] written = {0};
+            long exported = eventStorage.stream(query, maxExportSize, entity -> {
+                try {
+                    writer.write(entity);
+                    if (++written[0] % EXPORT_FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            });
+
+            eventsExportedCounter.increment(exported);
+            if (maxExportSize > 0 && exported >= maxExportSize) {
+                logger.warn("Export result size ({}) reached max export size limit ({})", exported, maxExportSize);
             }
+            logger.info("Successfully exported {} events as {}", exported, format);
+            return exported;
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error exporting events as {}", format, e);
+            throw new RuntimeException("Failed to export events as " + format, e);
+        }
+    }
 
-            eventsExportedCounter.increment(entities.size());
-            logger.info("Successfully exported {} events to CSV", entities.size());
-        } catch (IOException e) {
-            logger.error("Error exporting events to CSV", e);
-            throw new RuntimeException("Failed to export events to CSV", e);
+    /**
+     * Reads one event past {@code maxTimelineEvents} to tell a timeline that fills the limit from a longer one;
+     * there is no count query.
+     */
+    @Override
+    public TimelineResult getTimeline(String id) {
+        List<EventEntity> events = eventStorage.timeline(id, maxTimelineEvents + 1);
+        boolean truncated = events.size() > maxTimelineEvents;
+        List<EventDto> dtos = events.stream()
+            .limit(maxTimelineEvents)
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+        if (truncated) {
+            logger.warn("Timeline of {} reached max timeline events limit ({})", id, maxTimelineEvents);
         }
+        return new TimelineResult(id, dtos, truncated);
     }
 
     private EventEntity convertToEntity(EventDto dto) {
         EventEntity entity = new EventEntity();
-        if (dto.getId() != null && !dto.getId().isEmpty()) {
-            try {
-                entity.setId(UUID.fromString(dto.getId()));
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid UUID format in DTO: {}", dto.getId());
-            }
-        }
+        entity.setId(resolveId(dto.getId()));
         entity.setTimestamp(dto.getTimestamp() != null ? dto.getTimestamp() : Instant.now());
         entity.setUser(dto.getUser());
         entity.setCategory(dto.getCategory());
@@ -206,6 +213,21 @@ public class EventService implements IEventService {
         return entity;
     }
 
+    /**
+     * Producer-supplied ids are kept as-is so redelivered events keep their identity; everything else gets a
+     * time-ordered UUIDv7, the canonical key format for events.
+     */
+    private UUID resolveId(String id) {
+        if (id != null && !id.isEmpty()) {
+            try {
+                return UUID.fromString(id);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid UUID format in DTO: {}", id);
+            }
+        }
+        return UuidV7.generate();
+    }
+
     private EventDto convertToDto(EventEntity entity) {
         EventDto dto = new EventDto();
         dto.setId(entity.getId() != null ? entity.getId().toString() : null);
@@ -0,0 +1,252 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.ExportJobDto;
+import com.onlyspans.eventlogs.dto.ExportJobStatus;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.exception.ExportJobNotFoundException;
+import com.onlyspans.eventlogs.exception.ExportJobNotReadyException;
+import com.onlyspans.eventlogs.exception.ExportJobRejectedException;
+import com.onlyspans.eventlogs.export.ExportFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs exports in the background into gzip-compressed files in a local spool directory, so a long export neither holds a
+ * request thread nor depends on the client staying connected, and a download can resume from any offset. At
+ * most {@code max-concurrent} jobs run at once and {@code queue-capacity} wait; further submissions are rejected.
+ * Jobs live in memory: finished jobs and their files are removed after {@code ttl}, and files left by a previous
+ * process are removed on startup.
+ */
+@Service
+public class ExportJobService implements IExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+    private static final String RESULT_SUFFIX = ".gz";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final IEventService eventService;
+    private final Path spoolDirectory;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public ExportJobService(
+            IEventService eventService,
+            MeterRegistry meterRegistry,
+            @Value("${event-logs.export.jobs.spool-dir:${java.io.tmpdir}/event-logs-exports}") Path spoolDirectory,
+            @Value("${event-logs.export.jobs.max-concurrent:2}") int maxConcurrent,
+            @Value("${event-logs.export.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${event-logs.export.jobs.ttl:PT24H}") Duration ttl
+    ) {
+        this.eventService = eventService;
+        this.spoolDirectory = spoolDirectory;
+        this.ttl = ttl;
+        int threads = Math.max(1, maxConcurrent);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            new CustomizableThreadFactory("event-logs-export-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("event_logs_export_jobs_running", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Number of export jobs currently running")
+            .register(meterRegistry);
+        Gauge.builder("event_logs_export_jobs_queued", executor, e -> e.getQueue().size())
+            .description("Number of export jobs waiting for a worker")
+            .register(meterRegistry);
+        this.completedCounter = Counter.builder("event_logs_export_jobs_completed")
+            .description("Total number of completed export jobs")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("event_logs_export_jobs_failed")
+            .description("Total number of failed export jobs")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("event_logs_export_jobs_rejected")
+            .description("Total number of export jobs rejected because the queue was full")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public ExportJobDto submit(QueryDto query, ExportFormat format) {
+        ExportJob job = new ExportJob(UUID.randomUUID(), format, Instant.now());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, query));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejectedCounter.increment();
+            throw new ExportJobRejectedException("Too many export jobs in progress, retry later");
+        }
+        logger.info("Export job {} queued", job.id);
+        return job.toDto();
+    }
+
+    @Override
+    public ExportJobDto getJob(UUID id) {
+        return find(id).toDto();
+    }
+
+    @Override
+    public Path getResult(UUID id) {
+        ExportJob job = find(id);
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new ExportJobNotReadyException("Export job " + id + " is " + job.status.name().toLowerCase());
+        }
+        return resultPath(job);
+    }
+
+    /**
+     * Removes files of jobs that did not survive a restart; their ids are unknown to this process.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cleanSpoolDirectory() {
+        try {
+            Files.createDirectories(spoolDirectory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDirectory)) {
+                for (Path file : files) {
+                    if (!isSpoolFile(file)) {
+                        continue;
+                    }
+                    UUID id = jobId(file);
+                    if (id == null || !jobs.containsKey(id)) {
+                        Files.deleteIfExists(file);
+                        logger.info("Removed stale export file {}", file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to clean export spool directory {}", spoolDirectory, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${event-logs.export.jobs.cleanup-interval-ms:600000}")
+    public void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(ttl);
+        for (ExportJob job : jobs.values()) {
+            if (job.completedAt != null && !job.completedAt.isAfter(cutoff)) {
+                jobs.remove(job.id);
+                deleteQuietly(resultPath(job));
+                logger.info("Export job {} expired", job.id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job, QueryDto query) {
+        job.status = ExportJobStatus.RUNNING;
+        Path result = resultPath(job);
+        Path partial = result.resolveSibling(result.getFileName() + PARTIAL_SUFFIX);
+        try {
+            Files.createDirectories(spoolDirectory);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                job.rows = eventService.export(query, job.format, out);
+            }
+            Files.move(partial, result, StandardCopyOption.ATOMIC_MOVE);
+            job.sizeBytes = Files.size(result);
+            job.completedAt = Instant.now();
+            job.status = ExportJobStatus.COMPLETED;
+            completedCounter.increment();
+            logger.info("Export job {} completed: {} rows, {} bytes", job.id, job.rows, job.sizeBytes);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.error = e.getMessage();
+            job.completedAt = Instant.now();
+            job.status = ExportJobStatus.FAILED;
+            failedCounter.increment();
+            logger.error("Export job {} failed", job.id, e);
+        }
+    }
+
+    private ExportJob find(UUID id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ExportJobNotFoundException("Export job " + id + " not found");
+        }
+        return job;
+    }
+
+    private Path resultPath(ExportJob job) {
+        return spoolDirectory.resolve(job.id + job.format.extension() + RESULT_SUFFIX);
+    }
+
+    private static boolean isSpoolFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(RESULT_SUFFIX) || name.endsWith(RESULT_SUFFIX + PARTIAL_SUFFIX);
+    }
+
+    private static UUID jobId(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            return UUID.fromString(name.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete export file {}", file, e);
+        }
+    }
+
+    private static final class ExportJob {
+        private final UUID id;
+        private final ExportFormat format;
+        private final Instant createdAt;
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile Instant completedAt;
+        private volatile long rows;
+        private volatile long sizeBytes;
+        private volatile String error;
+
+        private ExportJob(UUID id, ExportFormat format, Instant createdAt) {
+            this.id = id;
+            this.format = format;
+            this.createdAt = createdAt;
+        }
+
+        private ExportJobDto toDto() {
+            return new ExportJobDto(id, format, status, createdAt, completedAt, rows, sizeBytes, error);
+        }
+    }
+}
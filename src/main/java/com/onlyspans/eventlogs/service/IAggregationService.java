@@ -0,0 +1,8 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.AggregateEventsRequest;
+import com.onlyspans.eventlogs.dto.AggregateResult;
+
+public interface IAggregationService {
+    AggregateResult aggregate(AggregateEventsRequest request);
+}
@@ -0,0 +1,9 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.DocumentHistoryResult;
+import com.onlyspans.eventlogs.dto.DocumentState;
+
+public interface IDocumentService {
+    DocumentState getState(String tenant, String documentName);
+    DocumentHistoryResult getHistory(String tenant, String documentName);
+}
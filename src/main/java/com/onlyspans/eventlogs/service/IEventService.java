@@ -3,6 +3,9 @@ package com.onlyspans.eventlogs.service;
 import com.onlyspans.eventlogs.dto.EventDto;
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.dto.QueryResult;
+import com.onlyspans.eventlogs.dto.TimelineResult;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.export.ExportFormat;
 import jakarta.validation.Valid;
 
 import java.io.OutputStream;
@@ -10,7 +13,10 @@ import java.util.List;
 
 public interface IEventService {
     void ingestEvents(@Valid List<EventDto> events);
+    List<EventEntity> convertEvents(List<EventDto> events);
+    void storeEvents(List<EventEntity> entities);
     QueryResult searchEvents(QueryDto query);
-    void exportCsv(QueryDto query, OutputStream outputStream);
+    long export(QueryDto query, ExportFormat format, OutputStream outputStream);
+    TimelineResult getTimeline(String id);
 }
 
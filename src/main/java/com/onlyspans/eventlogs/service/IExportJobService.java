@@ -0,0 +1,14 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.ExportJobDto;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.export.ExportFormat;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+public interface IExportJobService {
+    ExportJobDto submit(QueryDto query, ExportFormat format);
+    ExportJobDto getJob(UUID id);
+    Path getResult(UUID id);
+}
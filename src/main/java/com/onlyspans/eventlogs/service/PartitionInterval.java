@@ -0,0 +1,60 @@
+package com.onlyspans.eventlogs.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Granularity of the {@code events} range partitions. Boundaries are UTC dates.
+ */
+public enum PartitionInterval {
+
+    /**
+     * One partition per UTC day, named {@code events_pYYYYMMDD}.
+     */
+    DAILY(DateTimeFormatter.ofPattern("yyyyMMdd")) {
+        @Override
+        public LocalDate floor(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+
+    /**
+     * One partition per UTC month, named {@code events_pYYYYMM}.
+     */
+    MONTHLY(DateTimeFormatter.ofPattern("yyyyMM")) {
+        @Override
+        public LocalDate floor(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    private final DateTimeFormatter nameFormat;
+
+    PartitionInterval(DateTimeFormatter nameFormat) {
+        this.nameFormat = nameFormat;
+    }
+
+    /**
+     * Start of the partition containing {@code date}.
+     */
+    public abstract LocalDate floor(LocalDate date);
+
+    /**
+     * Start of the partition following the one starting at {@code start}.
+     */
+    public abstract LocalDate next(LocalDate start);
+
+    public String partitionName(LocalDate start) {
+        return "events_p" + nameFormat.format(start);
+    }
+}
@@ -0,0 +1,114 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps range partitions of the {@code events} table created ahead of time: from the start of the current
+ * month up to {@code premake} intervals past the current one. Late events fall into an existing partition (or
+ * {@code events_default} if theirs is gone); events dated beyond the premade range wait in
+ * {@code events_default} and are moved into their partition once it is created.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private final EventPartitionRepository partitionRepository;
+    private final Counter partitionsCreatedCounter;
+
+    @Value("${event-logs.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${event-logs.partitioning.interval:monthly}")
+    private PartitionInterval interval;
+
+    @Value("${event-logs.partitioning.premake:3}")
+    private int premake;
+
+    @Autowired
+    public PartitionMaintenanceService(EventPartitionRepository partitionRepository, MeterRegistry meterRegistry) {
+        this.partitionRepository = partitionRepository;
+        this.partitionsCreatedCounter = Counter.builder("event_logs_partitions_created")
+            .description("Total number of events partitions created")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${event-logs.partitioning.cron:0 0 * * * ?}") // Hourly
+    public void ensurePartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            int created = ensurePartitions(LocalDate.now(ZoneOffset.UTC));
+            if (created > 0) {
+                logger.info("Created {} {} events partitions", created, interval.name().toLowerCase());
+            }
+
+            long unpartitioned = partitionRepository.countDefaultPartitionRows();
+            if (unpartitioned > 0) {
+                logger.warn("{} events are outside every partition range and stored in events_default",
+                    unpartitioned);
+            }
+        } catch (Exception e) {
+            logger.error("Error maintaining events partitions", e);
+        }
+    }
+
+    int ensurePartitions(LocalDate today) {
+        LocalDate start = interval.floor(today.withDayOfMonth(1));
+        LocalDate end = interval.floor(today);
+        for (int i = 0; i <= premake; i++) {
+            end = interval.next(end);
+        }
+
+        int created = 0;
+        for (LocalDate from = start; from.isBefore(end); from = interval.next(from)) {
+            if (createPartition(from, interval.next(from))) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private boolean createPartition(LocalDate from, LocalDate to) {
+        String name = interval.partitionName(from);
+        try {
+            boolean created = partitionRepository.createPartition(name, toInstant(from), toInstant(to));
+            if (created) {
+                partitionsCreatedCounter.increment();
+                logger.info("Created events partition {} for [{}, {})", name, from, to);
+            }
+            return created;
+        } catch (DataAccessException e) {
+            // Typically the range overlaps a partition of another granularity, e.g. after switching interval
+            logger.warn("Skipping events partition {} for [{}, {}): {}", name, from, to,
+                e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    private static Instant toInstant(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
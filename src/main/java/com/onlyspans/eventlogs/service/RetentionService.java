@@ -1,46 +1,205 @@
 package com.onlyspans.eventlogs.service;
 
+import com.onlyspans.eventlogs.entity.RetentionProgressEntity;
+import com.onlyspans.eventlogs.repository.EventPartition;
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
 import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.RetentionProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class RetentionService {
 
     private static final Logger logger = LoggerFactory.getLogger(RetentionService.class);
+    private static final String PROGRESS_ID = "events";
 
     private final ISettingsService settingsService;
     private final EventRepository eventRepository;
+    private final EventPartitionRepository partitionRepository;
+    private final RetentionProgressRepository progressRepository;
+    private final TaskScheduler taskScheduler;
+    private final Counter partitionsDroppedCounter;
+    private final Counter bytesReclaimedCounter;
+    private final Counter rowsDeletedCounter;
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+    private final AtomicLong remainingEstimate = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${event-logs.retention.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${event-logs.retention.chunk-pause-ms:100}")
+    private long chunkPauseMs;
 
     @Autowired
-    public RetentionService(ISettingsService settingsService, EventRepository eventRepository) {
+    public RetentionService(ISettingsService settingsService, EventRepository eventRepository,
+                            EventPartitionRepository partitionRepository,
+                            RetentionProgressRepository progressRepository, TaskScheduler taskScheduler,
+                            MeterRegistry meterRegistry) {
         this.settingsService = settingsService;
         this.eventRepository = eventRepository;
+        this.partitionRepository = partitionRepository;
+        this.progressRepository = progressRepository;
+        this.taskScheduler = taskScheduler;
+        this.partitionsDroppedCounter = Counter.builder("event_logs_retention_partitions_dropped")
+            .description("Total number of expired events partitions dropped")
+            .register(meterRegistry);
+        this.bytesReclaimedCounter = Counter.builder("event_logs_retention_bytes_reclaimed")
+            .description("Total size of dropped events partitions, including indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.rowsDeletedCounter = Counter.builder("event_logs_retention_rows_deleted")
+            .description("Total number of expired events deleted row by row")
+            .register(meterRegistry);
+        Gauge.builder("event_logs_retention_rows_per_second", rowsPerSecond, AtomicLong::get)
+            .description("Delete rate of the current or last retention run")
+            .register(meterRegistry);
+        Gauge.builder("event_logs_retention_remaining_estimate", remainingEstimate, AtomicLong::get)
+            .description("Estimated number of expired events the current retention run still has to delete")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Hands an interrupted run over to the scheduler rather than resuming it here, so a long resume does not hold
+     * up startup and readiness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        try {
+            Optional<RetentionProgressEntity> progress = progressRepository.findById(PROGRESS_ID);
+            if (progress.isPresent() && !progress.get().isCompleted()) {
+                logger.info("Found an interrupted retention run, resuming it in the background");
+                taskScheduler.schedule(this::applyRetention, Instant.now());
+            }
+        } catch (Exception e) {
+            logger.error("Error checking for an interrupted retention run", e);
+        }
     }
 
+    /**
+     * Drops partitions that lie entirely before the cutoff, then deletes the remaining expired rows in chunks of
+     * {@code chunk-size}, each in its own short transaction with {@code chunk-pause-ms} between them. After the
+     * drops only the partition straddling the cutoff and {@code events_default} can still hold such rows.
+     * Progress is stored after every chunk; an interrupted run is resumed with its original cutoff.
+     */
     @Scheduled(cron = "${event-logs.retention.cron:0 0 2 * * ?}") // Daily at 2 AM
-    @Transactional
     public void applyRetention() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Retention run already in progress, skipping");
+            return;
+        }
+
         try {
-            int retentionDays = settingsService.getSettings().getRetentionPeriodDays();
-            Instant cutoffDate = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+            RetentionProgressEntity progress = startOrResume();
+            Instant cutoffDate = progress.getCutoff();
 
-            logger.info("Applying retention policy: deleting events older than {} days (before {})",
-                retentionDays, cutoffDate);
+            int droppedCount = dropExpiredPartitions(cutoffDate);
+            long deletedCount = deleteInChunks(progress);
 
-            int deletedCount = eventRepository.deleteEventsOlderThan(cutoffDate);
+            progress.setCompletedAt(Instant.now());
+            progress.setUpdatedAt(progress.getCompletedAt());
+            progressRepository.save(progress);
 
-            logger.info("Retention policy applied successfully: deleted {} events older than {}",
-                deletedCount, cutoffDate);
+            logger.info("Retention policy applied successfully: dropped {} partitions and deleted {} events older than {}",
+                droppedCount, deletedCount, cutoffDate);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Retention run interrupted, it will resume on the next run");
         } catch (Exception e) {
             logger.error("Error applying retention policy", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RetentionProgressEntity startOrResume() {
+        Optional<RetentionProgressEntity> existing = progressRepository.findById(PROGRESS_ID);
+        if (existing.isPresent() && !existing.get().isCompleted()) {
+            RetentionProgressEntity progress = existing.get();
+            logger.info("Resuming retention run started at {}: {} events already deleted before {}",
+                progress.getStartedAt(), progress.getRowsDeleted(), progress.getCutoff());
+            return progress;
+        }
+
+        int retentionDays = settingsService.getSettings().getRetentionPeriodDays();
+        Instant cutoffDate = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+
+        logger.info("Applying retention policy: deleting events older than {} days (before {})",
+            retentionDays, cutoffDate);
+
+        RetentionProgressEntity progress = new RetentionProgressEntity(cutoffDate);
+        progressRepository.save(progress);
+        return progress;
+    }
+
+    private int dropExpiredPartitions(Instant cutoffDate) {
+        int dropped = 0;
+        for (EventPartition partition : partitionRepository.findPartitions()) {
+            if (partition.isDefault() || partition.to().isAfter(cutoffDate)) {
+                continue;
+            }
+
+            partitionRepository.dropPartition(partition.name());
+            partitionsDroppedCounter.increment();
+            bytesReclaimedCounter.increment(partition.bytes());
+            dropped++;
+
+            logger.info("Dropped expired events partition {} [{}, {}), {} bytes",
+                partition.name(), partition.from(), partition.to(), partition.bytes());
+        }
+        return dropped;
+    }
+
+    private long deleteInChunks(RetentionProgressEntity progress) throws InterruptedException {
+        Instant cutoffDate = progress.getCutoff();
+        int limit = Math.max(1, chunkSize);
+        long expired = eventRepository.countByTimestampBefore(cutoffDate);
+        remainingEstimate.set(expired);
+        rowsPerSecond.set(0);
+
+        long deleted = 0;
+        long start = System.nanoTime();
+        while (true) {
+            int chunk = eventRepository.deleteEventsBefore(cutoffDate, limit);
+            if (chunk == 0) {
+                break;
+            }
+
+            deleted += chunk;
+            rowsDeletedCounter.increment(chunk);
+            remainingEstimate.set(Math.max(0, expired - deleted));
+            rowsPerSecond.set(Math.round(deleted * 1_000_000_000.0 / Math.max(1, System.nanoTime() - start)));
+
+            progress.setRowsDeleted(progress.getRowsDeleted() + chunk);
+            progress.setUpdatedAt(Instant.now());
+            progressRepository.save(progress);
+
+            if (chunk < limit) {
+                break;
+            }
+            if (chunkPauseMs > 0) {
+                Thread.sleep(chunkPauseMs);
+            }
         }
+
+        remainingEstimate.set(0);
+        return deleted;
     }
 }
@@ -19,7 +19,7 @@ public class SettingsService implements ISettingsService {
     @Value("${event-logs.retention-period-days:90}")
     private int defaultRetentionPeriodDays;
 
-    @Value("${event-logs.max-export-size:10000}")
+    @Value("${event-logs.max-export-size:0}")
     private int defaultMaxExportSize;
 
     private final ISettingsStorage settingsStorage;
@@ -0,0 +1,252 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.FacetResult;
+import com.onlyspans.eventlogs.dto.PagedResult;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.TotalMode;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-process LRU cache of search pages in front of another {@link IEventStorage}, keyed by the normalized query
+ * and bounded both by pages ({@code maxEntries}) and by the events they hold together ({@code maxRows}); a page
+ * with more than {@code maxRows} events is not cached. A page is served from the cache while nothing it depends
+ * on was written through {@link #add}, as tracked by an {@link IngestionWatermark}:
+ * <ul>
+ *   <li>a query whose end date is more than {@code closedAfter} in the past covers a closed range; only late
+ *       events (older than that horizon) of its tenant invalidate it, and it lives up to {@code closedTtl};</li>
+ *   <li>any other query is invalidated by every write to its tenant and lives up to {@code openTtl}.</li>
+ * </ul>
+ * The watermark only sees writes made by this instance, and retention deletes are not tracked at all; the TTLs
+ * bound how stale a page can get from either. Cached events are shared between callers and must not be modified.
+ */
+public class CachingEventStorage implements IEventStorage {
+
+    private final IEventStorage delegate;
+    private final Duration closedAfter;
+    private final Duration openTtl;
+    private final Duration closedTtl;
+    private final Clock clock;
+    private final int maxEntries;
+    private final int maxRows;
+    private final IngestionWatermark watermark = new IngestionWatermark();
+    private final Map<QueryKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long rows;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter staleEvictionCounter;
+
+    public CachingEventStorage(IEventStorage delegate, MeterRegistry meterRegistry, int maxEntries, int maxRows,
+                               Duration closedAfter, Duration openTtl, Duration closedTtl) {
+        this(delegate, meterRegistry, maxEntries, maxRows, closedAfter, openTtl, closedTtl, Clock.systemUTC());
+    }
+
+    CachingEventStorage(IEventStorage delegate, MeterRegistry meterRegistry, int maxEntries, int maxRows,
+                        Duration closedAfter, Duration openTtl, Duration closedTtl, Clock clock) {
+        this.delegate = delegate;
+        this.closedAfter = closedAfter;
+        this.openTtl = openTtl;
+        this.closedTtl = closedTtl;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+
+        this.hitCounter = Counter.builder("event_logs_search_cache_requests")
+            .description("Searches answered by the search cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("event_logs_search_cache_requests")
+            .description("Searches answered by the search cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder("event_logs_search_cache_evictions")
+            .description("Pages removed from the search cache")
+            .tag("cause", "size")
+            .register(meterRegistry);
+        this.staleEvictionCounter = Counter.builder("event_logs_search_cache_evictions")
+            .description("Pages removed from the search cache")
+            .tag("cause", "stale")
+            .register(meterRegistry);
+
+        Gauge.builder("event_logs_search_cache_size", this, CachingEventStorage::size)
+            .description("Pages currently held by the search cache")
+            .register(meterRegistry);
+        Gauge.builder("event_logs_search_cache_rows", this, CachingEventStorage::rows)
+            .description("Events held by the pages in the search cache")
+            .register(meterRegistry);
+        Gauge.builder("event_logs_search_cache_hit_ratio", this, CachingEventStorage::hitRatio)
+            .description("Share of searches answered by the search cache since startup")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Writes through to the delegate and, once the write has committed, advances the watermark of every tenant
+     * in {@code events}.
+     */
+    @Override
+    public int add(List<EventEntity> events) {
+        int inserted = delegate.add(events);
+        if (events != null && !events.isEmpty()) {
+            watermark.advance(events, clock.instant().minus(closedAfter));
+        }
+        return inserted;
+    }
+
+    @Override
+    public PagedResult<EventEntity> search(QueryDto query) {
+        Instant now = clock.instant();
+        QueryKey key = QueryKey.of(query);
+        boolean closed = key.endDate() != null && key.endDate().isBefore(now.minus(closedAfter));
+        // Read before searching: a write that commits meanwhile moves the mark and invalidates the new entry
+        long mark = closed ? watermark.late(key.tenant()) : watermark.recent(key.tenant());
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !entry.isValid(closed, mark, now)) {
+                entries.remove(key);
+                rows -= entry.rows();
+                staleEvictionCounter.increment();
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hitCounter.increment();
+            return copy(entry.result());
+        }
+
+        missCounter.increment();
+        PagedResult<EventEntity> result = delegate.search(query);
+        if (result.getItems().size() <= maxRows) {
+            put(key, new Entry(copy(result), closed, mark, now.plus(closed ? closedTtl : openTtl)));
+        }
+        return result;
+    }
+
+    /**
+     * Stores {@code entry} and evicts least recently used pages until both bounds hold again.
+     */
+    private void put(QueryKey key, Entry entry) {
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                rows -= previous.rows();
+            }
+            rows += entry.rows();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || rows > maxRows) && eldest.hasNext()) {
+                rows -= eldest.next().rows();
+                eldest.remove();
+                sizeEvictionCounter.increment();
+            }
+        }
+    }
+
+    @Override
+    public long count(QueryDto query) {
+        return delegate.count(query);
+    }
+
+    @Override
+    public long stream(QueryDto query, int maxRows, Consumer<EventEntity> consumer) {
+        return delegate.stream(query, maxRows, consumer);
+    }
+
+    @Override
+    public FacetResult facets(QueryDto query) {
+        return delegate.facets(query);
+    }
+
+    @Override
+    public List<EventEntity> timeline(String id, int maxEvents) {
+        return delegate.timeline(id, maxEvents);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long rows() {
+        synchronized (entries) {
+            return rows;
+        }
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total > 0 ? hits / total : 0;
+    }
+
+    private static PagedResult<EventEntity> copy(PagedResult<EventEntity> result) {
+        return new PagedResult<>(List.copyOf(result.getItems()), result.getTotal(), result.getPage(),
+            result.getPageSize(), result.getTotalPages(), result.getNextCursor(), result.isHasNext(),
+            result.getTotalMode());
+    }
+
+    private record Entry(PagedResult<EventEntity> result, boolean closed, long mark, Instant expiresAt) {
+
+        int rows() {
+            return result.getItems().size();
+        }
+
+        boolean isValid(boolean closedNow, long currentMark, Instant now) {
+            return closed == closedNow && mark == currentMark && now.isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * Canonical form of a {@link QueryDto}: blank filters are absent, defaults are spelled out and the page number
+     * is dropped for cursor pages, so requests that search the same way share an entry.
+     */
+    record QueryKey(String user, String category, String action, String document, String project,
+                    String environment, String tenant, String correlationId, String traceId, Instant startDate,
+                    Instant endDate, String sortBy, boolean ascending, String cursor, TotalMode totalMode, int page,
+                    int size) {
+
+        static QueryKey of(QueryDto query) {
+            String cursor = blankToNull(query.getCursor());
+            TotalMode totalMode = query.getTotalMode() != null
+                ? query.getTotalMode()
+                : cursor == null ? TotalMode.EXACT : TotalMode.NONE;
+            return new QueryKey(
+                blankToNull(query.getUser()),
+                blankToNull(query.getCategory()),
+                blankToNull(query.getAction()),
+                blankToNull(query.getDocument()),
+                blankToNull(query.getProject()),
+                blankToNull(query.getEnvironment()),
+                blankToNull(query.getTenant()),
+                blankToNull(query.getCorrelationId()),
+                blankToNull(query.getTraceId()),
+                query.getStartDate(),
+                query.getEndDate(),
+                query.getSortBy() != null ? query.getSortBy() : "timestamp",
+                "asc".equalsIgnoreCase(query.getSortOrder()),
+                cursor,
+                totalMode,
+                cursor == null && query.getPage() != null ? query.getPage() : 0,
+                query.getSize() != null ? query.getSize() : 20);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+}
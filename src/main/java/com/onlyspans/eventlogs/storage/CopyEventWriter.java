@@ -0,0 +1,195 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.EventStorageException;
+import com.onlyspans.eventlogs.util.UuidV7;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams events into the table with {@code COPY ... FROM STDIN} in PostgreSQL text format. Rows are encoded
+ * directly into the copy stream, including the {@code details} JSON, without building statements or parameters.
+ * COPY cannot skip rows that are already stored, so it fills a transaction-scoped staging table that is then
+ * moved into {@code events} with {@code ON CONFLICT DO NOTHING}; {@code RETURNING} reports the rows inserted.
+ */
+public class CopyEventWriter implements IEventWriter {
+
+    static final String STAGING_SQL = """
+        CREATE TEMP TABLE IF NOT EXISTS events_staging (LIKE events INCLUDING DEFAULTS) ON COMMIT DELETE ROWS
+        """;
+
+    static final String COPY_SQL = """
+        COPY events_staging (id, timestamp, user_name, category, action, document_name, project, environment,
+                             tenant, correlation_id, trace_id, details) FROM STDIN
+        """;
+
+    static final String MOVE_SQL = """
+        INSERT INTO events (id, timestamp, user_name, category, action, document_name, project, environment,
+                            tenant, correlation_id, trace_id, details)
+        SELECT id, timestamp, user_name, category, action, document_name, project, environment,
+               tenant, correlation_id, trace_id, details
+        FROM events_staging
+        ON CONFLICT (id, timestamp) DO NOTHING
+        RETURNING id
+        """;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter detailsWriter;
+
+    public CopyEventWriter(DataSource dataSource, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.detailsWriter = objectMapper.writerFor(EventEntity.EventDetails.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public List<EventEntity> write(List<EventEntity> events) {
+        for (EventEntity event : events) {
+            if (event.getId() == null) {
+                event.setId(UuidV7.generate());
+            }
+        }
+
+        Set<UUID> inserted = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(STAGING_SQL);
+                }
+                copy(connection.unwrap(PGConnection.class), events);
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(MOVE_SQL)) {
+                    while (rs.next()) {
+                        inserted.add(rs.getObject(1, UUID.class));
+                    }
+                }
+            } catch (SQLException | IOException e) {
+                throw new EventStorageException("COPY into events failed", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+
+        // remove: an id repeated within the batch was inserted once
+        List<EventEntity> written = new ArrayList<>(inserted.size());
+        for (EventEntity event : events) {
+            if (inserted.remove(event.getId())) {
+                written.add(event);
+            }
+        }
+        return written;
+    }
+
+    private void copy(PGConnection connection, List<EventEntity> events) throws SQLException, IOException {
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(connection, COPY_SQL, BUFFER_SIZE);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            for (EventEntity event : events) {
+                appendRow(out, event);
+            }
+        }
+    }
+
+    void appendRow(Writer out, EventEntity event) throws IOException {
+        out.write(event.getId().toString());
+        out.write('\t');
+        out.write(event.getTimestamp().toString());
+        appendField(out, event.getUser());
+        appendField(out, event.getCategory());
+        appendField(out, event.getAction());
+        appendField(out, event.getDocumentName());
+        appendField(out, event.getProject());
+        appendField(out, event.getEnvironment());
+        appendField(out, event.getTenant());
+        appendField(out, event.getCorrelationId());
+        appendField(out, event.getTraceId());
+        out.write('\t');
+        if (event.getDetails() == null) {
+            out.write("\\N");
+        } else {
+            detailsWriter.writeValue(new EscapingWriter(out), event.getDetails());
+        }
+        out.write('\n');
+    }
+
+    private void appendField(Writer out, String value) throws IOException {
+        out.write('\t');
+        if (value == null) {
+            out.write("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            writeEscaped(out, value.charAt(i));
+        }
+    }
+
+    private static void writeEscaped(Writer out, char c) throws IOException {
+        switch (c) {
+            case '\\' -> out.write("\\\\");
+            case '\t' -> out.write("\\t");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            default -> out.write(c);
+        }
+    }
+
+    /**
+     * Applies COPY text escaping to whatever is written through it, so JSON can be serialized straight into the row.
+     */
+    private static final class EscapingWriter extends Writer {
+
+        private final Writer target;
+
+        private EscapingWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                writeEscaped(target, buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String value, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                writeEscaped(target, value.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
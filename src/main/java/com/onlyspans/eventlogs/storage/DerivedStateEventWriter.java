@@ -0,0 +1,40 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.DocumentStateRepository;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes events through another {@link IEventWriter} and, in the same transaction, adds the ones it inserted to
+ * the rollup counts and folds them into the document states. The delegate's own transaction joins it, so derived
+ * data commits exactly when the events do, and skipped duplicates are not applied again.
+ */
+public class DerivedStateEventWriter implements IEventWriter {
+
+    private final IEventWriter delegate;
+    private final EventRollupRepository rollupRepository;
+    private final DocumentStateRepository documentStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DerivedStateEventWriter(IEventWriter delegate, EventRollupRepository rollupRepository,
+                                   DocumentStateRepository documentStateRepository,
+                                   TransactionTemplate transactionTemplate) {
+        this.delegate = delegate;
+        this.rollupRepository = rollupRepository;
+        this.documentStateRepository = documentStateRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public List<EventEntity> write(List<EventEntity> events) {
+        return transactionTemplate.execute(status -> {
+            List<EventEntity> written = delegate.write(events);
+            rollupRepository.increment(written);
+            documentStateRepository.apply(written);
+            return written;
+        });
+    }
+}
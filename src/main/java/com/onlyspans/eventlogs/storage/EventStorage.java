@@ -1,76 +1,207 @@
 package com.onlyspans.eventlogs.storage;
 
+import com.onlyspans.eventlogs.dto.FacetResult;
 import com.onlyspans.eventlogs.dto.PagedResult;
 import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.TotalMode;
 import com.onlyspans.eventlogs.entity.EventEntity;
 import com.onlyspans.eventlogs.exception.EventSearchException;
 import com.onlyspans.eventlogs.exception.EventStorageException;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import com.onlyspans.eventlogs.repository.EventCursor;
 import com.onlyspans.eventlogs.repository.EventRepository;
 import com.onlyspans.eventlogs.repository.EventSpecification;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.repository.ParallelEventQueryRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class EventStorage implements IEventStorage {
 
     private static final Logger logger = LoggerFactory.getLogger(EventStorage.class);
 
     private final EventRepository eventRepository;
+    private final IEventWriter eventWriter;
+    private final NativeEventQueryRepository nativeQueryRepository;
+    private final SearchEngine searchEngine;
+    private final ParallelEventQueryRepository parallelQueryRepository;
+    private final FacetSearch facetSearch;
 
-    @Autowired
-    public EventStorage(EventRepository eventRepository) {
+    /**
+     * @param nativeQueryRepository   runs {@link SearchEngine#NATIVE} searches, exports and timelines; may be
+     *                                {@code null} when searches go through {@link SearchEngine#JPA}
+     * @param parallelQueryRepository runs exports over time ranges it {@link ParallelEventQueryRepository#supports
+     *                                supports}; may be {@code null}
+     * @param facetSearch             computes facet counts; may be {@code null}
+     */
+    public EventStorage(EventRepository eventRepository, IEventWriter eventWriter,
+                        NativeEventQueryRepository nativeQueryRepository, SearchEngine searchEngine,
+                        ParallelEventQueryRepository parallelQueryRepository, FacetSearch facetSearch) {
         this.eventRepository = eventRepository;
+        this.eventWriter = eventWriter;
+        this.nativeQueryRepository = nativeQueryRepository;
+        this.searchEngine = searchEngine;
+        this.parallelQueryRepository = parallelQueryRepository;
+        this.facetSearch = facetSearch;
     }
 
     @Override
-    public void add(List<EventEntity> events) {
+    public int add(List<EventEntity> events) {
         if (events == null || events.isEmpty()) {
-            return;
+            return 0;
         }
 
         try {
-            eventRepository.saveAll(events);
-            logger.info("Successfully saved {} events to storage", events.size());
+            List<EventEntity> written = eventWriter.write(events);
+            if (written.size() < events.size()) {
+                logger.info("Skipped {} events already in storage", events.size() - written.size());
+            }
+            logger.info("Successfully saved {} events to storage", written.size());
+            return written.size();
         } catch (Exception e) {
             logger.error("Error saving events to storage", e);
             throw new EventStorageException("Failed to save events to storage", e);
         }
     }
 
+    /**
+     * Offset pages for {@code page}/{@code size}, keyset pages when the query carries a cursor. Results are
+     * always ordered by the sort field and then by id, so rows with equal sort values (e.g. the same timestamp)
+     * keep a stable order across pages. Every page that has a successor returns {@code nextCursor}.
+     * <p>
+     * Only {@link TotalMode#EXACT} runs a count query; otherwise {@code size + 1} rows are fetched to tell whether
+     * a next page exists and the total is the planner's estimate ({@code ESTIMATE}) or {@code -1} ({@code NONE}).
+     * Queries filtered by time alone go through {@link TimeWindowSearch}.
+     */
     @Override
     public PagedResult<EventEntity> search(QueryDto query) {
+        EventCursor cursor = query.getCursor() != null && !query.getCursor().isEmpty()
+            ? EventCursor.decode(query.getCursor())
+            : null;
+
         try {
             Specification<EventEntity> spec = EventSpecification.buildSpecification(query);
 
-            int page = query.getPage() != null ? query.getPage() : 0;
+            int page = cursor == null && query.getPage() != null ? query.getPage() : 0;
             int pageSize = query.getSize() != null ? query.getSize() : 20;
+            TotalMode totalMode = query.getTotalMode() != null
+                    ? query.getTotalMode()
+                    : cursor == null ? TotalMode.EXACT : TotalMode.NONE;
 
             String sortField = query.getSortBy() != null ? query.getSortBy() : "timestamp";
             Sort.Direction direction = "asc".equalsIgnoreCase(query.getSortOrder())
                     ? Sort.Direction.ASC
                     : Sort.Direction.DESC;
+            Sort sort = "id".equals(sortField)
+                    ? Sort.by(direction, "id")
+                    : Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+
+            if (cursor != null) {
+                if (!cursor.sortField().equals(sortField) || cursor.direction() != direction) {
+                    throw new InvalidCursorException("Cursor does not match the requested sort");
+                }
+                spec = spec.and(EventSpecification.after(cursor));
+            }
 
-            Pageable pageable = PageRequest.of(page, pageSize, Sort.by(direction, sortField));
-            Page<EventEntity> resultPage = eventRepository.findAll(spec, pageable);
+            long offset = (long) page * pageSize;
+            boolean timeWindow = TimeWindowSearch.applies(query, sortField, direction);
+            List<EventEntity> items;
+            long total;
+            boolean hasNext;
+            // findAll counts its own spec, which with a cursor would only count the rows after it
+            if (totalMode == TotalMode.EXACT && searchEngine == SearchEngine.JPA && !timeWindow && cursor == null) {
+                Page<EventEntity> resultPage = eventRepository.findAll(spec, PageRequest.of(page, pageSize, sort));
+                items = resultPage.getContent();
+                total = resultPage.getTotalElements();
+                hasNext = resultPage.hasNext();
+            } else {
+                Function<QueryDto, List<EventEntity>> fetcher = rangeFetcher(sortField, direction, sort, cursor,
+                    offset, pageSize + 1);
+                List<EventEntity> rows = timeWindow
+                        ? TimeWindowSearch.fetch(query, direction, cursor, Instant.now(), pageSize + 1, fetcher)
+                        : fetcher.apply(query);
+                hasNext = rows.size() > pageSize;
+                items = hasNext ? rows.subList(0, pageSize) : rows;
+                total = switch (totalMode) {
+                    case EXACT -> count(query);
+                    case ESTIMATE -> Math.max(eventRepository.estimateCount(query),
+                        offset + items.size() + (hasNext ? 1 : 0));
+                    case NONE -> -1;
+                };
+            }
 
-            return new PagedResult<>(resultPage.getContent(), resultPage.getTotalElements(), page, pageSize);
+            PagedResult<EventEntity> result = new PagedResult<>(items, total, page, pageSize);
+            result.setHasNext(hasNext);
+            result.setTotalMode(totalMode);
+            if (hasNext && !items.isEmpty()) {
+                result.setNextCursor(EventCursor.after(items.get(items.size() - 1), sortField, direction).encode());
+            }
+            return result;
+        } catch (InvalidCursorException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error searching events in storage", e);
             throw new EventSearchException("Failed to search events in storage", e);
         }
     }
 
+    /**
+     * Streams matching events in the query's sort order over a server-side cursor; {@code page}, {@code size}
+     * and {@code cursor} are ignored.
+     */
+    @Override
+    public long stream(QueryDto query, int maxRows, Consumer<EventEntity> consumer) {
+        if (nativeQueryRepository == null) {
+            throw new IllegalStateException("Streaming requires a NativeEventQueryRepository");
+        }
+        String sortField = query.getSortBy() != null ? query.getSortBy() : "timestamp";
+        Sort.Direction direction = "asc".equalsIgnoreCase(query.getSortOrder())
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        try {
+            if (parallelQueryRepository != null && parallelQueryRepository.supports(query)) {
+                return parallelQueryRepository.stream(query, sortField, direction, maxRows, consumer);
+            }
+            return nativeQueryRepository.stream(query, sortField, direction, maxRows, consumer);
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error streaming events from storage", e);
+            throw new EventSearchException("Failed to stream events from storage", e);
+        }
+    }
+
+    private Function<QueryDto, List<EventEntity>> rangeFetcher(String sortField, Sort.Direction direction, Sort sort,
+                                                               EventCursor cursor, long offset, int limit) {
+        if (searchEngine == SearchEngine.NATIVE) {
+            return query -> nativeQueryRepository.find(query, sortField, direction, cursor, offset, limit);
+        }
+        return query -> {
+            Specification<EventEntity> spec = EventSpecification.buildSpecification(query);
+            if (cursor != null) {
+                spec = spec.and(EventSpecification.after(cursor));
+            }
+            return eventRepository.findRange(spec, sort, offset, limit);
+        };
+    }
+
     @Override
     public long count(QueryDto query) {
         try {
+            if (searchEngine == SearchEngine.NATIVE) {
+                return nativeQueryRepository.count(query);
+            }
             Specification<EventEntity> spec = EventSpecification.buildSpecification(query);
             return eventRepository.count(spec);
         } catch (Exception e) {
@@ -78,4 +209,30 @@ public class EventStorage implements IEventStorage {
             throw new EventSearchException("Failed to count events in storage", e);
         }
     }
+
+    @Override
+    public FacetResult facets(QueryDto query) {
+        if (facetSearch == null) {
+            throw new IllegalStateException("Facets require a FacetSearch");
+        }
+        try {
+            return facetSearch.facets(query);
+        } catch (Exception e) {
+            logger.error("Error computing facets in storage", e);
+            throw new EventSearchException("Failed to compute facets in storage", e);
+        }
+    }
+
+    @Override
+    public List<EventEntity> timeline(String id, int maxEvents) {
+        if (nativeQueryRepository == null) {
+            throw new IllegalStateException("Timelines require a NativeEventQueryRepository");
+        }
+        try {
+            return nativeQueryRepository.timeline(id, maxEvents);
+        } catch (Exception e) {
+            logger.error("Error reading timeline from storage", e);
+            throw new EventSearchException("Failed to read timeline from storage", e);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.onlyspans.eventlogs.storage;
+
+public enum EventWriteMode {
+    /**
+     * One native {@code INSERT ... ON CONFLICT DO NOTHING} per batch through the JPA {@code EntityManager}.
+     */
+    JPA,
+
+    /**
+     * Batched JDBC inserts that bypass the persistence context.
+     */
+    JDBC,
+
+    /**
+     * {@code COPY events FROM STDIN} through the PgJDBC {@code CopyManager}.
+     */
+    COPY
+}
@@ -0,0 +1,146 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.EventFacet;
+import com.onlyspans.eventlogs.dto.FacetResult;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value counts for the facets of a search, over the same predicates as the search itself and with one statement
+ * for all facets:
+ * <ul>
+ *   <li>when the search filters and the facets only involve rollup dimensions and the time range lies within
+ *       the minute rollups, the counts come from the rollups plus the partial minutes at either end, exactly;</li>
+ *   <li>otherwise, when the planner expects at most {@code rowBudget} matching events, they are grouped, reading
+ *       at most {@code rowBudget} of them; should the estimate be too low, the counts are those of the rows read
+ *       and flagged approximate;</li>
+ *   <li>beyond the budget, a {@code TABLESAMPLE SYSTEM} sample of about {@code rowBudget} rows of the whole
+ *       table is drawn, its matching events are grouped, and the counts are scaled up by the sampling rate and
+ *       flagged approximate. The sample is drawn by page before any filter applies and cannot use indexes, so
+ *       it is sized from the table's row count rather than the matching one; values clustered in few pages
+ *       are estimated less precisely;</li>
+ *   <li>when the filters are too selective for such a sample to hold at least a tenth of {@code rowBudget}
+ *       matching events, the matching events are grouped as within the budget, reading at most
+ *       {@code rowBudget} of them through the indexes; the counts are those of the rows read, unscaled, and
+ *       flagged approximate.</li>
+ * </ul>
+ */
+public class FacetSearch {
+
+    private static final int DEFAULT_SIZE = 10;
+    private static final double MIN_SAMPLED_SHARE = 0.1;
+
+    private final NativeEventQueryRepository nativeQueryRepository;
+    private final EventRollupRepository rollupRepository;
+    private final EventRepository eventRepository;
+    private final int rowBudget;
+    private final Duration minuteRetention;
+    private final Clock clock;
+
+    /**
+     * @param rollupRepository answers eligible searches from the rollups; may be {@code null}
+     * @param minuteRetention  how long minute rollups are kept, as configured for their cleanup
+     */
+    public FacetSearch(NativeEventQueryRepository nativeQueryRepository, EventRollupRepository rollupRepository,
+                       EventRepository eventRepository, int rowBudget, Duration minuteRetention) {
+        this(nativeQueryRepository, rollupRepository, eventRepository, rowBudget, minuteRetention,
+            Clock.systemUTC());
+    }
+
+    FacetSearch(NativeEventQueryRepository nativeQueryRepository, EventRollupRepository rollupRepository,
+                EventRepository eventRepository, int rowBudget, Duration minuteRetention, Clock clock) {
+        this.nativeQueryRepository = nativeQueryRepository;
+        this.rollupRepository = rollupRepository;
+        this.eventRepository = eventRepository;
+        this.rowBudget = Math.max(1, rowBudget);
+        this.minuteRetention = minuteRetention;
+        this.clock = clock;
+    }
+
+    public FacetResult facets(QueryDto query) {
+        List<EventFacet> facets = query.getFacets() != null
+            ? query.getFacets().stream().distinct().toList()
+            : List.of();
+        Map<String, List<FacetValue>> values = new LinkedHashMap<>();
+        if (facets.isEmpty()) {
+            return new FacetResult(values, false);
+        }
+        int size = query.getFacetSize() != null ? query.getFacetSize() : DEFAULT_SIZE;
+
+        if (usesRollups(query, facets)) {
+            List<RollupDimension> dimensions = facets.stream().map(EventFacet::rollupDimension).toList();
+            rollupRepository.searchFacets(filters(query), query.getStartDate(), query.getEndDate(), dimensions, size)
+                .forEach((dimension, counts) -> values.put(dimension.key(), counts));
+            return new FacetResult(values, false);
+        }
+
+        long estimate = eventRepository.estimateCount(query);
+        NativeEventQueryRepository.FacetCounts counts;
+        boolean approximate;
+        double scale = 1;
+        long tableRows = estimate > rowBudget ? Math.max(estimate, eventRepository.estimateTableRows()) : 0;
+        // A sample of rowBudget table rows holds rowBudget * estimate / tableRows matching events
+        if (tableRows > 0 && (double) estimate / tableRows >= MIN_SAMPLED_SHARE) {
+            double samplePercent = 100.0 * rowBudget / tableRows;
+            counts = nativeQueryRepository.sampledFacets(query, facets, size, samplePercent);
+            approximate = true;
+            scale = 100 / samplePercent;
+        } else {
+            counts = nativeQueryRepository.facets(query, facets, size, rowBudget);
+            approximate = counts.rows() >= rowBudget;
+        }
+        for (Map.Entry<EventFacet, List<FacetValue>> entry : counts.values().entrySet()) {
+            double factor = scale;
+            values.put(entry.getKey().key(), entry.getValue().stream()
+                .map(value -> new FacetValue(value.getValue(), Math.round(value.getCount() * factor)))
+                .toList());
+        }
+        return new FacetResult(values, approximate);
+    }
+
+    /**
+     * Rollups hold every rollup dimension of an event but nothing else, and minute rollups only go back
+     * {@code minuteRetention} (their cleanup cutoff is rounded down to the hour).
+     */
+    boolean usesRollups(QueryDto query, List<EventFacet> facets) {
+        if (rollupRepository == null || query.getStartDate() == null || query.getEndDate() == null) {
+            return false;
+        }
+        if (isSet(query.getUser()) || isSet(query.getDocument()) || isSet(query.getCorrelationId())
+                || isSet(query.getTraceId())) {
+            return false;
+        }
+        if (facets.stream().anyMatch(facet -> facet.rollupDimension() == null)) {
+            return false;
+        }
+        Instant minuteHorizon = clock.instant().minus(minuteRetention).truncatedTo(ChronoUnit.HOURS);
+        return !query.getStartDate().isBefore(minuteHorizon);
+    }
+
+    private static Map<RollupDimension, String> filters(QueryDto query) {
+        Map<RollupDimension, String> filters = new EnumMap<>(RollupDimension.class);
+        filters.put(RollupDimension.TENANT, query.getTenant());
+        filters.put(RollupDimension.PROJECT, query.getProject());
+        filters.put(RollupDimension.ENVIRONMENT, query.getEnvironment());
+        filters.put(RollupDimension.CATEGORY, query.getCategory());
+        filters.put(RollupDimension.ACTION, query.getAction());
+        return filters;
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -1,14 +1,36 @@
 package com.onlyspans.eventlogs.storage;
 
+import com.onlyspans.eventlogs.dto.FacetResult;
 import com.onlyspans.eventlogs.dto.PagedResult;
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.entity.EventEntity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IEventStorage {
-    void add(List<EventEntity> events);
+    /**
+     * Stores {@code events}, skipping those already stored. Returns the number of events inserted.
+     */
+    int add(List<EventEntity> events);
+
     PagedResult<EventEntity> search(QueryDto query);
     long count(QueryDto query);
+
+    /**
+     * Passes every event matching the query to {@code consumer} without holding them in memory; at most
+     * {@code maxRows} when positive. Returns the number of events streamed.
+     */
+    long stream(QueryDto query, int maxRows, Consumer<EventEntity> consumer);
+
+    /**
+     * Most frequent values of the query's {@code facets} among all events matching it.
+     */
+    FacetResult facets(QueryDto query);
+
+    /**
+     * Events whose correlation id or trace id is {@code id}, oldest first, at most {@code maxEvents}.
+     */
+    List<EventEntity> timeline(String id, int maxEvents);
 }
 
@@ -0,0 +1,14 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.util.List;
+
+public interface IEventWriter {
+
+    /**
+     * Inserts {@code events}, skipping any whose id is already stored (e.g. redelivered events with
+     * producer-supplied ids), and returns the events actually inserted.
+     */
+    List<EventEntity> write(List<EventEntity> events);
+}
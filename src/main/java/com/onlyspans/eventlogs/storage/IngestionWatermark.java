@@ -0,0 +1,70 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant write counters that cached search results are validated against. Every committed write advances the
+ * {@link #recent} mark of each tenant it touched; writes of events older than the closed horizon also advance the
+ * {@link #late} mark, which is all that results for closed time ranges depend on. The {@code null} tenant stands
+ * for queries without a tenant filter and advances with every write. Tenants are only tracked once written to;
+ * reading the marks of any other tenant, as a search for an arbitrary tenant does, leaves no trace.
+ */
+final class IngestionWatermark {
+
+    private static final Marks UNWRITTEN = new Marks();
+
+    private final Marks global = new Marks();
+    private final Map<String, Marks> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Records a committed write of {@code events}; those with a timestamp before {@code closedBefore} count as
+     * late.
+     */
+    void advance(List<EventEntity> events, Instant closedBefore) {
+        Set<String> written = new HashSet<>();
+        Set<String> late = new HashSet<>();
+        boolean anyLate = false;
+        for (EventEntity event : events) {
+            boolean isLate = event.getTimestamp() != null && event.getTimestamp().isBefore(closedBefore);
+            anyLate |= isLate;
+            if (event.getTenant() != null) {
+                written.add(event.getTenant());
+                if (isLate) {
+                    late.add(event.getTenant());
+                }
+            }
+        }
+
+        written.forEach(tenant -> tenants.computeIfAbsent(tenant, key -> new Marks()).recent.incrementAndGet());
+        late.forEach(tenant -> tenants.get(tenant).late.incrementAndGet());
+        global.recent.incrementAndGet();
+        if (anyLate) {
+            global.late.incrementAndGet();
+        }
+    }
+
+    long recent(String tenant) {
+        return marks(tenant).recent.get();
+    }
+
+    long late(String tenant) {
+        return marks(tenant).late.get();
+    }
+
+    private Marks marks(String tenant) {
+        return tenant == null ? global : tenants.getOrDefault(tenant, UNWRITTEN);
+    }
+
+    private static final class Marks {
+        final AtomicLong recent = new AtomicLong();
+        final AtomicLong late = new AtomicLong();
+    }
+}
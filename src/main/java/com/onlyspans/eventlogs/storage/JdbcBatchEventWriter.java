@@ -0,0 +1,72 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventInsert;
+import com.onlyspans.eventlogs.util.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inserts events over plain JDBC instead of the persistence context: no entity state is tracked and each chunk of
+ * {@code batchSize} events is one {@link EventInsert}, which skips rows whose key is already stored and reports the
+ * ones inserted. All chunks of one {@link #write} call share a transaction.
+ */
+public class JdbcBatchEventWriter implements IEventWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public JdbcBatchEventWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public List<EventEntity> write(List<EventEntity> events) {
+        for (EventEntity event : events) {
+            if (event.getId() == null) {
+                event.setId(UuidV7.generate());
+            }
+        }
+
+        List<EventEntity> written = new ArrayList<>(events.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < events.size(); from += batchSize) {
+                List<EventEntity> chunk = events.subList(from, Math.min(events.size(), from + batchSize));
+                Set<UUID> inserted = new HashSet<>(jdbcTemplate.query(connection -> prepare(connection, chunk),
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+                // remove: an id repeated within the chunk was inserted once
+                for (EventEntity event : chunk) {
+                    if (inserted.remove(event.getId())) {
+                        written.add(event);
+                    }
+                }
+            }
+        });
+        return written;
+    }
+
+    private PreparedStatement prepare(Connection connection, List<EventEntity> chunk) throws SQLException {
+        String[][] columns = EventInsert.columns(chunk, objectMapper);
+        PreparedStatement statement = connection.prepareStatement(EventInsert.SQL);
+        for (int column = 0; column < EventInsert.COLUMNS; column++) {
+            statement.setArray(column + 1, connection.createArrayOf("text", columns[column]));
+        }
+        return statement;
+    }
+}
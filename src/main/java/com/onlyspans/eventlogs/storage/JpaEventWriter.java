@@ -0,0 +1,44 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.util.UuidV7;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes through {@link EventRepository#insertIgnoringConflicts}, a native query on the persistence context's
+ * connection: one INSERT per batch that skips events whose key is already stored, without reading stored ids
+ * first. Events are not attached to the persistence context.
+ */
+public class JpaEventWriter implements IEventWriter {
+
+    private final EventRepository eventRepository;
+
+    public JpaEventWriter(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public List<EventEntity> write(List<EventEntity> events) {
+        for (EventEntity event : events) {
+            if (event.getId() == null) {
+                event.setId(UuidV7.generate());
+            }
+        }
+
+        Set<UUID> inserted = new HashSet<>(eventRepository.insertIgnoringConflicts(events));
+        List<EventEntity> written = new ArrayList<>(inserted.size());
+        // remove: an id repeated within the batch was inserted once
+        for (EventEntity event : events) {
+            if (inserted.remove(event.getId())) {
+                written.add(event);
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,17 @@
+package com.onlyspans.eventlogs.storage;
+
+/**
+ * How {@link EventStorage} runs searches, selected by {@code event-logs.search.engine}.
+ */
+public enum SearchEngine {
+
+    /**
+     * {@code JpaSpecificationExecutor} with {@code EventSpecification}.
+     */
+    JPA,
+
+    /**
+     * Cached parameterized SQL from {@code EventSqlBuilder}, rows mapped without the persistence context.
+     */
+    NATIVE
+}
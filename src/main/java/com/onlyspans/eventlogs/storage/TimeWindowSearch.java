@@ -0,0 +1,97 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import com.onlyspans.eventlogs.repository.EventCursor;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fast path for searches filtered by time alone. The timestamp has only a BRIN index, which prunes block ranges
+ * but cannot return rows in order, so an open time range would read and sort every matching row to serve one
+ * page. Instead the range is probed with windows that start at the page's anchor and grow fourfold until a
+ * window holds enough rows. The anchor is the cursor, else the end date (or now) for newest-first pages and the
+ * start date for oldest-first ones. Rows outside a window all sort after the rows inside it, so the first full
+ * window yields exactly the rows of the page.
+ */
+final class TimeWindowSearch {
+
+    static final Duration INITIAL_WINDOW = Duration.ofMinutes(15);
+
+    /** Probes before falling back to the whole range; the last window spans 15 min × 4^7, about 170 days. */
+    static final int MAX_PROBES = 8;
+
+    private TimeWindowSearch() {
+    }
+
+    /**
+     * Whether the query filters on a time range and nothing else, sorted by timestamp. Ascending pages need a
+     * start date to anchor the windows.
+     */
+    static boolean applies(QueryDto query, String sortField, Sort.Direction direction) {
+        if (!"timestamp".equals(sortField) || (query.getStartDate() == null && query.getEndDate() == null)) {
+            return false;
+        }
+        if (direction == Sort.Direction.ASC && query.getStartDate() == null) {
+            return false;
+        }
+        return isEmpty(query.getUser()) && isEmpty(query.getCategory()) && isEmpty(query.getAction())
+            && isEmpty(query.getDocument()) && isEmpty(query.getProject()) && isEmpty(query.getEnvironment())
+            && isEmpty(query.getTenant()) && isEmpty(query.getCorrelationId()) && isEmpty(query.getTraceId());
+    }
+
+    /**
+     * @param fetcher runs a time-only query with the page's sort, cursor, offset and {@code limit}
+     */
+    static List<EventEntity> fetch(QueryDto query, Sort.Direction direction, EventCursor cursor, Instant now,
+                                   int limit, Function<QueryDto, List<EventEntity>> fetcher) {
+        boolean descending = direction == Sort.Direction.DESC;
+        Instant anchor = cursor != null && cursor.value() != null
+            ? cursorTimestamp(cursor)
+            : descending
+                ? query.getEndDate() != null ? query.getEndDate() : now
+                : query.getStartDate();
+
+        Duration window = INITIAL_WINDOW;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            QueryDto windowQuery = new QueryDto();
+            boolean coversRange;
+            if (descending) {
+                Instant from = anchor.minus(window);
+                coversRange = query.getStartDate() != null && !from.isAfter(query.getStartDate());
+                windowQuery.setStartDate(coversRange ? query.getStartDate() : from);
+                windowQuery.setEndDate(query.getEndDate());
+            } else {
+                Instant to = anchor.plus(window);
+                coversRange = query.getEndDate() != null && !to.isBefore(query.getEndDate());
+                windowQuery.setStartDate(query.getStartDate());
+                windowQuery.setEndDate(coversRange ? query.getEndDate() : to);
+            }
+
+            List<EventEntity> rows = fetcher.apply(windowQuery);
+            if (coversRange || rows.size() >= limit) {
+                return rows;
+            }
+            window = window.multipliedBy(4);
+        }
+        return fetcher.apply(query);
+    }
+
+    private static Instant cursorTimestamp(EventCursor cursor) {
+        try {
+            return Instant.parse(cursor.value());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor value", e);
+        }
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
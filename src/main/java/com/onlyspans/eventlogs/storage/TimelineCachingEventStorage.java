@@ -0,0 +1,174 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.FacetResult;
+import com.onlyspans.eventlogs.dto.PagedResult;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-process, size-bounded LRU cache of quiet timelines in front of another {@link IEventStorage}. A timeline is
+ * quiet once its newest event is more than {@code quietAfter} old; only quiet, complete timelines are cached, so
+ * an incident that is still unfolding is always read fresh. A write through {@link #add} carrying a cached
+ * correlation or trace id drops that timeline. Writes of other instances are not seen; {@code ttl} bounds how
+ * stale a timeline can get from them. Cached events are shared between callers and must not be modified.
+ */
+public class TimelineCachingEventStorage implements IEventStorage {
+
+    private final IEventStorage delegate;
+    private final Duration quietAfter;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<TimelineKey, Entry> entries;
+    private long writes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public TimelineCachingEventStorage(IEventStorage delegate, MeterRegistry meterRegistry, int maxEntries,
+                                       Duration quietAfter, Duration ttl) {
+        this(delegate, meterRegistry, maxEntries, quietAfter, ttl, Clock.systemUTC());
+    }
+
+    TimelineCachingEventStorage(IEventStorage delegate, MeterRegistry meterRegistry, int maxEntries,
+                                Duration quietAfter, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.quietAfter = quietAfter;
+        this.ttl = ttl;
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("event_logs_timeline_cache_requests")
+            .description("Timelines answered by the timeline cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("event_logs_timeline_cache_requests")
+            .description("Timelines answered by the timeline cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TimelineKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        Gauge.builder("event_logs_timeline_cache_size", this, TimelineCachingEventStorage::size)
+            .description("Timelines currently held by the timeline cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Writes through to the delegate and, once the write has committed, drops the cached timelines of every
+     * correlation and trace id in {@code events}.
+     */
+    @Override
+    public int add(List<EventEntity> events) {
+        int inserted = delegate.add(events);
+        if (events == null || events.isEmpty()) {
+            return inserted;
+        }
+        Set<String> ids = new HashSet<>();
+        for (EventEntity event : events) {
+            if (event.getCorrelationId() != null) {
+                ids.add(event.getCorrelationId());
+            }
+            if (event.getTraceId() != null) {
+                ids.add(event.getTraceId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            synchronized (entries) {
+                writes++;
+                entries.keySet().removeIf(key -> ids.contains(key.id()));
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public PagedResult<EventEntity> search(QueryDto query) {
+        return delegate.search(query);
+    }
+
+    @Override
+    public long count(QueryDto query) {
+        return delegate.count(query);
+    }
+
+    @Override
+    public long stream(QueryDto query, int maxRows, Consumer<EventEntity> consumer) {
+        return delegate.stream(query, maxRows, consumer);
+    }
+
+    @Override
+    public FacetResult facets(QueryDto query) {
+        return delegate.facets(query);
+    }
+
+    @Override
+    public List<EventEntity> timeline(String id, int maxEvents) {
+        Instant now = clock.instant();
+        TimelineKey key = new TimelineKey(id, maxEvents);
+        long mark;
+        Entry entry;
+        synchronized (entries) {
+            // Read before loading: a write that commits meanwhile moves it and keeps the result out of the cache
+            mark = writes;
+            entry = entries.get(key);
+            if (entry != null && !now.isBefore(entry.expiresAt())) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hitCounter.increment();
+            return entry.events();
+        }
+
+        missCounter.increment();
+        List<EventEntity> events = delegate.timeline(id, maxEvents);
+        if (isQuiet(events, maxEvents, now)) {
+            synchronized (entries) {
+                if (writes == mark) {
+                    entries.put(key, new Entry(List.copyOf(events), now.plus(ttl)));
+                }
+            }
+        }
+        return events;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * A timeline that filled {@code maxEvents} may go on past its last returned event, so it is never quiet.
+     */
+    private boolean isQuiet(List<EventEntity> events, int maxEvents, Instant now) {
+        if (events.isEmpty() || events.size() >= maxEvents) {
+            return false;
+        }
+        Instant newest = events.get(events.size() - 1).getTimestamp();
+        return newest != null && newest.isBefore(now.minus(quietAfter));
+    }
+
+    private record TimelineKey(String id, int maxEvents) {
+    }
+
+    private record Entry(List<EventEntity> events, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.onlyspans.eventlogs.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs as defined by RFC 9562 (version 7): 48 bits of Unix epoch milliseconds, 12 bits of
+ * sub-millisecond sequence and 62 random bits. Consecutive ids land next to each other in the primary-key
+ * B-tree instead of on random leaf pages.
+ * <p>
+ * Ids generated by this process are strictly increasing: the 12-bit sequence counts up within a millisecond and,
+ * if it overflows, borrows from the next millisecond rather than going backwards (RFC 9562, section 6.2).
+ */
+public final class UuidV7 {
+
+    private static final long VERSION_BITS = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // (epochMillis << 12) | sequence of the last id handed out
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long candidate = System.currentTimeMillis() << SEQUENCE_BITS;
+        long stamp = lastStamp.updateAndGet(last -> Math.max(candidate, last + 1));
+        return build(stamp);
+    }
+
+    private static UUID build(long stamp) {
+        long millis = stamp >>> SEQUENCE_BITS;
+        long msb = (millis << 16) | VERSION_BITS | (stamp & SEQUENCE_MASK);
+        long lsb = VARIANT_BITS | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,53 @@
+-- Document history (/events/documents/{name}/history) reads the events of one document latest first; the
+-- partial index walks them in that order and stays out of inserts without a document.
+CREATE INDEX IF NOT EXISTS idx_events_document_timestamp
+    ON events (document_name, timestamp, id) WHERE document_name IS NOT NULL;
+
+-- Current state of every document, upserted by the write path in the same transaction as the events themselves
+-- (DocumentStateRepository), so reading it is one primary key lookup instead of replaying details.changes.
+-- fields maps each changed field to its latest newValue: {"<field>": {"value", "changedAt", "eventId"}}; the
+-- latest change is the one with the greatest (changedAt, eventId), whatever order events arrive in. An absent
+-- tenant is stored as '' so it takes part in the primary key. Retention does not touch this table.
+CREATE TABLE IF NOT EXISTS document_states
+(
+    tenant         VARCHAR(255)             NOT NULL,
+    document_name  VARCHAR(255)             NOT NULL,
+    fields         JSONB                    NOT NULL,
+    event_count    BIGINT                   NOT NULL,
+    first_event_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_event_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_event_id  UUID                     NOT NULL,
+    last_user      VARCHAR(255),
+    PRIMARY KEY (tenant, document_name)
+);
+
+-- Backfill from the events already stored.
+INSERT INTO document_states (tenant, document_name, fields, event_count, first_event_at, last_event_at,
+                             last_event_id, last_user)
+SELECT documents.tenant, documents.document_name, COALESCE(latest.fields, '{}'::jsonb), documents.event_count,
+       documents.first_event_at, documents.last_event_at, documents.last_event_id, documents.last_user
+FROM (SELECT COALESCE(tenant, '') AS tenant, document_name, count(*) AS event_count,
+             min(timestamp) AS first_event_at, max(timestamp) AS last_event_at,
+             (array_agg(id ORDER BY timestamp DESC, id DESC))[1] AS last_event_id,
+             (array_agg(user_name ORDER BY timestamp DESC, id DESC))[1] AS last_user
+      FROM events
+      WHERE document_name IS NOT NULL
+      GROUP BY 1, 2) documents
+LEFT JOIN (SELECT tenant, document_name,
+                  jsonb_object_agg(field, jsonb_build_object('value', value, 'changedAt', changed_at,
+                                                             'eventId', event_id)) AS fields
+           FROM (SELECT DISTINCT ON (1, 2, 3)
+                        COALESCE(e.tenant, '') AS tenant, e.document_name, c.change ->> 'field' AS field,
+                        c.change ->> 'newValue' AS value,
+                        to_char(e.timestamp AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"') AS changed_at,
+                        e.id AS event_id
+                 FROM events e
+                 CROSS JOIN LATERAL jsonb_array_elements(
+                     CASE WHEN jsonb_typeof(e.details -> 'changes') = 'array' THEN e.details -> 'changes'
+                          ELSE '[]'::jsonb END) AS c(change)
+                 WHERE e.document_name IS NOT NULL
+                   AND c.change ->> 'field' IS NOT NULL
+                 ORDER BY 1, 2, 3, e.timestamp DESC, e.id DESC) changes
+           GROUP BY tenant, document_name) latest
+    ON latest.tenant = documents.tenant AND latest.document_name = documents.document_name
+ON CONFLICT DO NOTHING;
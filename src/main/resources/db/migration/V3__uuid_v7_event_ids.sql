@@ -0,0 +1,27 @@
+-- Time-ordered UUIDv7 (RFC 9562) for event ids. The service assigns v7 ids itself; this default covers rows
+-- inserted directly into the database.
+--
+-- Takes 16 random bytes from gen_random_uuid(), overwrites the first 6 with the Unix epoch in milliseconds and
+-- flips the version nibble from 4 (0100) to 7 (0111). The RFC 4122 variant bits are already set.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID
+    LANGUAGE sql
+    VOLATILE
+AS
+$$
+SELECT encode(
+               set_bit(
+                       set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                                       FROM 1 FOR 6),
+                               52, 1),
+                       53, 1),
+               'hex')::UUID
+$$;
+
+ALTER TABLE events
+    ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+-- Existing rows keep their random v4 ids: ids are referenced by producers and exports, and rewriting the
+-- primary key would rewrite the whole table. New inserts append to the right edge of the index, and the
+-- scattered v4 entries leave with retention.
@@ -0,0 +1,91 @@
+-- Range-partition events by timestamp. The primary key has to contain the partition key, so it becomes
+-- (id, timestamp); ids stay unique in practice because they are UUIDs.
+--
+-- Rows whose range has no partition yet (late or far-future events) land in events_default.
+-- create_events_partition() moves the matching rows out of events_default before attaching the new range.
+-- The service (PartitionMaintenanceService) calls it ahead of time at the configured granularity.
+
+ALTER TABLE events RENAME TO events_unpartitioned;
+ALTER TABLE events_unpartitioned RENAME CONSTRAINT events_pkey TO events_unpartitioned_pkey;
+
+CREATE TABLE events
+(
+    id             UUID                     NOT NULL DEFAULT uuid_generate_v7(),
+    timestamp      TIMESTAMP WITH TIME ZONE NOT NULL,
+    user_name      VARCHAR(255),
+    category       VARCHAR(255),
+    action         VARCHAR(255),
+    document_name  VARCHAR(255),
+    project        VARCHAR(255),
+    environment    VARCHAR(255),
+    tenant         VARCHAR(255),
+    correlation_id VARCHAR(255),
+    trace_id       VARCHAR(255),
+    details        JSONB,
+    created_at     TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE events_default PARTITION OF events DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_events_partition(p_name TEXT, p_from TIMESTAMPTZ, p_to TIMESTAMPTZ)
+    RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF to_regclass(p_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Keep writers out of the default partition while its rows for this range are moved
+    LOCK TABLE events_default IN EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', p_name);
+    EXECUTE format('WITH moved AS (DELETE FROM events_default WHERE timestamp >= %L AND timestamp < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved', p_from, p_to, p_name);
+    EXECUTE format('ALTER TABLE events ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', p_name, p_from, p_to);
+
+    RETURN TRUE;
+END;
+$$;
+
+INSERT INTO events
+SELECT id, timestamp, user_name, category, action, document_name, project, environment, tenant,
+       correlation_id, trace_id, details, created_at
+FROM events_unpartitioned;
+
+DROP TABLE events_unpartitioned;
+
+-- Partition existing history by month; the service adds partitions at its own granularity from the current
+-- month onwards and moves the current month's rows out of events_default when it does.
+DO
+$$
+    DECLARE
+        month_start TIMESTAMPTZ;
+    BEGIN
+        FOR month_start IN
+            SELECT m AT TIME ZONE 'UTC'
+            FROM generate_series((SELECT date_trunc('month', min(timestamp) AT TIME ZONE 'UTC') FROM events_default),
+                                 date_trunc('month', now() AT TIME ZONE 'UTC') - INTERVAL '1 month',
+                                 INTERVAL '1 month') AS m
+            LOOP
+                PERFORM create_events_partition(
+                        'events_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYYMM'),
+                        month_start,
+                        (month_start AT TIME ZONE 'UTC' + INTERVAL '1 month') AT TIME ZONE 'UTC');
+            END LOOP;
+    END;
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_events_timestamp ON events (timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_events_user ON events (user_name);
+CREATE INDEX IF NOT EXISTS idx_events_category ON events (category);
+CREATE INDEX IF NOT EXISTS idx_events_action ON events (action);
+CREATE INDEX IF NOT EXISTS idx_events_document ON events (document_name);
+CREATE INDEX IF NOT EXISTS idx_events_project ON events (project);
+CREATE INDEX IF NOT EXISTS idx_events_environment ON events (environment);
+CREATE INDEX IF NOT EXISTS idx_events_tenant ON events (tenant);
+CREATE INDEX IF NOT EXISTS idx_events_correlation_id ON events (correlation_id);
+CREATE INDEX IF NOT EXISTS idx_events_trace_id ON events (trace_id);
+CREATE INDEX IF NOT EXISTS idx_events_details ON events USING GIN (details);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS retention_progress
+(
+    id           VARCHAR(50) PRIMARY KEY,
+    cutoff       TIMESTAMP WITH TIME ZONE NOT NULL,
+    rows_deleted BIGINT                   NOT NULL DEFAULT 0,
+    started_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
@@ -0,0 +1,29 @@
+-- Index set for the actual search workload: every query is scoped to a tenant and a time range, sometimes
+-- narrowed by project/environment or user, and pages by timestamp then id. Ten single-column indexes and a GIN
+-- index on details were maintained on every insert while the planner could use at most one or two of them.
+DROP INDEX IF EXISTS idx_events_user;
+DROP INDEX IF EXISTS idx_events_category;
+DROP INDEX IF EXISTS idx_events_action;
+DROP INDEX IF EXISTS idx_events_document;
+DROP INDEX IF EXISTS idx_events_project;
+DROP INDEX IF EXISTS idx_events_environment;
+DROP INDEX IF EXISTS idx_events_tenant;
+DROP INDEX IF EXISTS idx_events_correlation_id;
+DROP INDEX IF EXISTS idx_events_trace_id;
+DROP INDEX IF EXISTS idx_events_details;
+
+-- Tenant + time range in the default order (timestamp DESC, id DESC), including keyset continuation.
+CREATE INDEX IF NOT EXISTS idx_events_tenant_timestamp ON events (tenant, timestamp DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_events_tenant_project_environment_timestamp
+    ON events (tenant, project, environment, timestamp DESC);
+
+CREATE INDEX IF NOT EXISTS idx_events_tenant_user_timestamp ON events (tenant, user_name, timestamp DESC);
+
+-- Point lookups by correlation/trace id; most events carry neither, so the partial indexes stay small and
+-- inserts without them skip these indexes entirely.
+CREATE INDEX IF NOT EXISTS idx_events_correlation_id ON events (correlation_id) WHERE correlation_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_events_trace_id ON events (trace_id) WHERE trace_id IS NOT NULL;
+
+-- idx_events_timestamp is left to V7, which replaces it with a BRIN index for unscoped time-range scans and the
+-- retention delete; tenant-scoped pages use the composites above.
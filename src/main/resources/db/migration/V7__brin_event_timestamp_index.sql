@@ -0,0 +1,10 @@
+-- Events arrive roughly in timestamp order, so consecutive heap pages hold consecutive time ranges and a BRIN
+-- index (one min/max summary per block range) prunes time-range scans almost as well as a B-tree at a tiny
+-- fraction of its size and insert cost. autosummarize summarizes each filled block range without waiting for
+-- vacuum; unsummarized ranges are always scanned, which only affects the newest pages.
+CREATE INDEX IF NOT EXISTS idx_events_timestamp_brin ON events USING BRIN (timestamp)
+    WITH (pages_per_range = 32, autosummarize = on);
+
+-- The B-tree only served ordered scans over time alone; searches filtered by time alone now probe growing time
+-- windows (TimeWindowSearch) and the retention delete no longer orders its chunks.
+DROP INDEX IF EXISTS idx_events_timestamp;
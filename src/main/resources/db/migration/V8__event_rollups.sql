@@ -0,0 +1,46 @@
+-- Event counts per UTC minute and hour for every tenant/project/environment/category/action combination,
+-- upserted by the write path in the same transaction as the events themselves (EventRollupRepository).
+-- Aggregations read these instead of scanning events. Absent values are stored as '' so they take part in the
+-- primary key; the key leads with tenant and bucket, matching how aggregations are scoped.
+CREATE TABLE IF NOT EXISTS event_rollups_minute
+(
+    tenant      VARCHAR(255)             NOT NULL,
+    bucket      TIMESTAMP WITH TIME ZONE NOT NULL,
+    project     VARCHAR(255)             NOT NULL,
+    environment VARCHAR(255)             NOT NULL,
+    category    VARCHAR(255)             NOT NULL,
+    action      VARCHAR(255)             NOT NULL,
+    event_count BIGINT                   NOT NULL,
+    PRIMARY KEY (tenant, bucket, project, environment, category, action)
+);
+
+CREATE TABLE IF NOT EXISTS event_rollups_hour
+(
+    tenant      VARCHAR(255)             NOT NULL,
+    bucket      TIMESTAMP WITH TIME ZONE NOT NULL,
+    project     VARCHAR(255)             NOT NULL,
+    environment VARCHAR(255)             NOT NULL,
+    category    VARCHAR(255)             NOT NULL,
+    action      VARCHAR(255)             NOT NULL,
+    event_count BIGINT                   NOT NULL,
+    PRIMARY KEY (tenant, bucket, project, environment, category, action)
+);
+
+-- Unscoped aggregations (no tenant filter) and the retention purge go by bucket alone.
+CREATE INDEX IF NOT EXISTS idx_event_rollups_minute_bucket ON event_rollups_minute (bucket);
+CREATE INDEX IF NOT EXISTS idx_event_rollups_hour_bucket ON event_rollups_hour (bucket);
+
+-- Backfill from the events already stored; one pass over events, the hour rollups are derived from the minutes.
+-- Minutes past event-logs.rollups.minute-retention are purged by the next cleanup run.
+INSERT INTO event_rollups_minute (tenant, bucket, project, environment, category, action, event_count)
+SELECT COALESCE(tenant, ''), date_trunc('minute', timestamp, 'UTC'), COALESCE(project, ''),
+       COALESCE(environment, ''), COALESCE(category, ''), COALESCE(action, ''), count(*)
+FROM events
+GROUP BY 1, 2, 3, 4, 5, 6
+ON CONFLICT DO NOTHING;
+
+INSERT INTO event_rollups_hour (tenant, bucket, project, environment, category, action, event_count)
+SELECT tenant, date_trunc('hour', bucket, 'UTC'), project, environment, category, action, sum(event_count)
+FROM event_rollups_minute
+GROUP BY 1, 2, 3, 4, 5, 6
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,10 @@
+-- Timelines (/events/timeline/{id}) read every event of a correlation or trace id in (timestamp, id) order.
+-- Extending the partial point-lookup indexes with the sort key lets each lookup walk the index in timeline order
+-- and stop at the row cap, with no sort step; plain lookups by id use the leading column as before.
+CREATE INDEX IF NOT EXISTS idx_events_correlation_timeline
+    ON events (correlation_id, timestamp, id) WHERE correlation_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_events_trace_timeline
+    ON events (trace_id, timestamp, id) WHERE trace_id IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_events_correlation_id;
+DROP INDEX IF EXISTS idx_events_trace_id;
@@ -0,0 +1,102 @@
+package com.onlyspans.eventlogs.benchmark;
+
+import com.onlyspans.eventlogs.integration.BaseIntegrationTest;
+import com.onlyspans.eventlogs.util.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares random (v4) and time-ordered (v7) primary keys: insert rate over the whole run and over its last
+ * tenth, primary-key index size and WAL written. Index locality only shows once the index outgrows shared
+ * buffers, so the interesting runs are large, e.g.
+ * {@code ./gradlew benchmark --tests '*EventIdLocalityBenchmarkTest' -Dbenchmark.id-rows=100000000}.
+ */
+@Tag("benchmark")
+class EventIdLocalityBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventIdLocalityBenchmarkTest.class);
+    private static final long ROWS = Long.getLong("benchmark.id-rows", 1_000_000L);
+    private static final int CHUNK = Integer.getInteger("benchmark.id-chunk", 10_000);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO %s (id, timestamp, tenant)
+        SELECT id, ?, 'tenant' FROM unnest(?::uuid[]) AS t(id)
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_ids_v4");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_ids_v7");
+    }
+
+    @Test
+    void compareIdLocality() {
+        Result v4 = measure("bench_ids_v4", UUID::randomUUID);
+        Result v7 = measure("bench_ids_v7", UuidV7::generate);
+
+        logger.info("Primary key locality for {} rows:{}{}{}", ROWS,
+            String.format("%n%6s%15s%15s%15s%15s", "ids", "rows/s", "tail rows/s", "pk MB", "wal MB"),
+            v4.format("v4"), v7.format("v7"));
+    }
+
+    private Result measure(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+            + " (id UUID PRIMARY KEY, timestamp TIMESTAMP WITH TIME ZONE NOT NULL, tenant VARCHAR(255))");
+
+        String sql = INSERT_SQL.formatted(table);
+        String walStart = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        long tailFrom = ROWS - ROWS / 10;
+        long tailStart = 0;
+
+        long start = System.nanoTime();
+        for (long inserted = 0; inserted < ROWS; inserted += CHUNK) {
+            if (tailStart == 0 && inserted >= tailFrom) {
+                tailStart = System.nanoTime();
+            }
+            int size = (int) Math.min(CHUNK, ROWS - inserted);
+            String[] chunkIds = new String[size];
+            for (int i = 0; i < size; i++) {
+                chunkIds[i] = ids.get().toString();
+            }
+            jdbcTemplate.update(sql, Timestamp.from(Instant.now()), chunkIds);
+        }
+        long end = System.nanoTime();
+
+        long walBytes = jdbcTemplate.queryForObject(
+            "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)::bigint", Long.class, walStart);
+        long indexBytes = jdbcTemplate.queryForObject(
+            "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+
+        return new Result(
+            ROWS / seconds(start, end),
+            (ROWS - tailFrom) / seconds(tailStart == 0 ? start : tailStart, end),
+            indexBytes,
+            walBytes);
+    }
+
+    private static double seconds(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000_000.0;
+    }
+
+    private record Result(double rowsPerSecond, double tailRowsPerSecond, long indexBytes, long walBytes) {
+
+        String format(String label) {
+            return String.format("%n%6s%15.0f%15.0f%15.1f%15.1f", label, rowsPerSecond, tailRowsPerSecond,
+                indexBytes / 1048576.0, walBytes / 1048576.0);
+        }
+    }
+}
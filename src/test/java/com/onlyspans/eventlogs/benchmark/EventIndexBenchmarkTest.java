@@ -0,0 +1,151 @@
+package com.onlyspans.eventlogs.benchmark;
+
+import com.onlyspans.eventlogs.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Write throughput against query latency for the original single-column index set and the composite set from
+ * {@code V6__composite_event_indexes.sql}, each on its own copy of the events table, e.g.
+ * {@code ./gradlew benchmark --tests '*EventIndexBenchmarkTest' -Dbenchmark.index-rows=5000000}.
+ */
+@Tag("benchmark")
+class EventIndexBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventIndexBenchmarkTest.class);
+    private static final int ROWS = Integer.getInteger("benchmark.index-rows", 500_000);
+    private static final int CHUNK = Integer.getInteger("benchmark.index-chunk", 10_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.index-queries", 500);
+    private static final int TENANTS = 100;
+
+    private static final List<String> SINGLE_COLUMN = List.of(
+        "CREATE INDEX ON %s (timestamp DESC)",
+        "CREATE INDEX ON %s (user_name)",
+        "CREATE INDEX ON %s (category)",
+        "CREATE INDEX ON %s (action)",
+        "CREATE INDEX ON %s (document_name)",
+        "CREATE INDEX ON %s (project)",
+        "CREATE INDEX ON %s (environment)",
+        "CREATE INDEX ON %s (tenant)",
+        "CREATE INDEX ON %s (correlation_id)",
+        "CREATE INDEX ON %s (trace_id)",
+        "CREATE INDEX ON %s USING GIN (details)");
+
+    private static final List<String> COMPOSITE = List.of(
+        "CREATE INDEX ON %s (timestamp DESC)",
+        "CREATE INDEX ON %s (tenant, timestamp DESC, id DESC)",
+        "CREATE INDEX ON %s (tenant, project, environment, timestamp DESC)",
+        "CREATE INDEX ON %s (tenant, user_name, timestamp DESC)",
+        "CREATE INDEX ON %s (correlation_id) WHERE correlation_id IS NOT NULL",
+        "CREATE INDEX ON %s (trace_id) WHERE trace_id IS NOT NULL");
+
+    private static final String INSERT_SQL = """
+        INSERT INTO %s (id, timestamp, user_name, category, action, document_name, project, environment, tenant,
+                        correlation_id, trace_id, details)
+        SELECT uuid_generate_v7(), now() - ((? + i) || ' seconds')::interval, 'user-' || (i % 500),
+               'category-' || (i % 10), 'action-' || (i % 20), 'document-' || (i % 5000), 'project-' || (i % 8),
+               'env-' || (i % 3), 'tenant-' || (i % ?),
+               CASE WHEN i % 10 = 0 THEN md5(i::text) END, CASE WHEN i % 10 = 0 THEN md5((-i)::text) END,
+               jsonb_build_object('message', 'event ' || i)
+        FROM generate_series(1, ?) AS i
+        """;
+
+    private static final String TENANT_RANGE = """
+        SELECT id FROM %s
+        WHERE tenant = ? AND timestamp >= now() - interval '1 day'
+        ORDER BY timestamp DESC, id DESC LIMIT 50
+        """;
+
+    private static final String TENANT_PROJECT_ENVIRONMENT = """
+        SELECT id FROM %s
+        WHERE tenant = ? AND project = ? AND environment = ? AND timestamp >= now() - interval '1 day'
+        ORDER BY timestamp DESC LIMIT 50
+        """;
+
+    private static final String TENANT_USER = """
+        SELECT id FROM %s
+        WHERE tenant = ? AND user_name = ? AND timestamp >= now() - interval '7 days'
+        ORDER BY timestamp DESC LIMIT 50
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_idx_single");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_idx_composite");
+    }
+
+    @Test
+    void compareIndexSets() {
+        Result single = measure("bench_idx_single", SINGLE_COLUMN);
+        Result composite = measure("bench_idx_composite", COMPOSITE);
+
+        logger.info("Index sets over {} rows, {} queries per shape:{}{}{}", ROWS, QUERIES,
+            String.format("%n%12s%12s%12s%16s%16s%16s", "indexes", "rows/s", "index MB",
+                "tenant p50 ms", "t+p+e p50 ms", "t+user p50 ms"),
+            single.format("single"), composite.format("composite"));
+    }
+
+    private Result measure(String table, List<String> indexes) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+            + " (LIKE events INCLUDING DEFAULTS, PRIMARY KEY (id, timestamp))");
+        indexes.forEach(index -> jdbcTemplate.execute(index.formatted(table)));
+
+        String insert = INSERT_SQL.formatted(table);
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += CHUNK) {
+            jdbcTemplate.update(insert, inserted, TENANTS, Math.min(CHUNK, ROWS - inserted));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        jdbcTemplate.execute("ANALYZE " + table);
+
+        long indexBytes = jdbcTemplate.queryForObject(
+            "SELECT pg_indexes_size(?::regclass)", Long.class, table);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double tenant = medianMillis(() -> jdbcTemplate.queryForList(TENANT_RANGE.formatted(table),
+            "tenant-" + random.nextInt(TENANTS)));
+        double projectEnvironment = medianMillis(() -> jdbcTemplate.queryForList(
+            TENANT_PROJECT_ENVIRONMENT.formatted(table), "tenant-" + random.nextInt(TENANTS),
+            "project-" + random.nextInt(8), "env-" + random.nextInt(3)));
+        double user = medianMillis(() -> jdbcTemplate.queryForList(TENANT_USER.formatted(table),
+            "tenant-" + random.nextInt(TENANTS), "user-" + random.nextInt(500)));
+
+        return new Result(ROWS / seconds, indexBytes, tenant, projectEnvironment, user);
+    }
+
+    private static double medianMillis(Runnable query) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            query.run();
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            query.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[QUERIES / 2] / 1_000_000.0;
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes, double tenantMillis,
+                          double projectEnvironmentMillis, double userMillis) {
+
+        String format(String label) {
+            return String.format("%n%12s%12.0f%12.1f%16.2f%16.2f%16.2f", label, rowsPerSecond,
+                indexBytes / 1048576.0, tenantMillis, projectEnvironmentMillis, userMillis);
+        }
+    }
+}
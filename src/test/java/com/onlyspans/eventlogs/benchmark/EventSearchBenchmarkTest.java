@@ -0,0 +1,118 @@
+package com.onlyspans.eventlogs.benchmark;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.TotalMode;
+import com.onlyspans.eventlogs.integration.BaseIntegrationTest;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.storage.EventStorage;
+import com.onlyspans.eventlogs.storage.IEventWriter;
+import com.onlyspans.eventlogs.storage.SearchEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares the {@code EventSpecification} (JPA Criteria) and native SQL search paths on the same data: searches
+ * per second and latency percentiles for a few typical filter shapes. Row count and iterations are tunable, e.g.
+ * {@code ./gradlew benchmark --tests '*EventSearchBenchmarkTest' -Dbenchmark.search-rows=1000000}.
+ */
+@Tag("benchmark")
+class EventSearchBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchBenchmarkTest.class);
+    private static final int ROWS = Integer.getInteger("benchmark.search-rows", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.search-iterations", 2_000);
+    private static final int TENANTS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private NativeEventQueryRepository nativeQueryRepository;
+
+    @Autowired
+    private IEventWriter eventWriter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+            INSERT INTO events (id, timestamp, user_name, category, action, tenant, project, environment)
+            SELECT uuid_generate_v7(), now() - (i || ' seconds')::interval, 'user-' || (i % 1000),
+                   'category-' || (i % 10), 'action-' || (i % 20), 'tenant-' || (i % ?), 'project', 'production'
+            FROM generate_series(1, ?) AS i
+            """, TENANTS, ROWS);
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE events");
+    }
+
+    @Test
+    void compareSearchPaths() {
+        EventStorage jpa = new EventStorage(eventRepository, eventWriter, null, SearchEngine.JPA, null, null);
+        EventStorage nativeSql = new EventStorage(eventRepository, eventWriter, nativeQueryRepository,
+            SearchEngine.NATIVE, null, null);
+
+        StringBuilder report = new StringBuilder(
+            String.format("%n%-20s%8s%15s%12s%12s", "query", "path", "searches/s", "p50 ms", "p99 ms"));
+        report.append(compare("latest page", jpa, nativeSql, QueryDto::new));
+        report.append(compare("tenant", jpa, nativeSql, () -> {
+            QueryDto query = new QueryDto();
+            query.setTenant("tenant-" + ThreadLocalRandom.current().nextInt(TENANTS));
+            return query;
+        }));
+        report.append(compare("tenant + category", jpa, nativeSql, () -> {
+            QueryDto query = new QueryDto();
+            query.setTenant("tenant-" + ThreadLocalRandom.current().nextInt(TENANTS));
+            query.setCategory("category-" + ThreadLocalRandom.current().nextInt(10));
+            query.setSortBy("user");
+            query.setSortOrder("asc");
+            return query;
+        }));
+
+        logger.info("Search paths over {} rows, {} searches each:{}", ROWS, ITERATIONS, report);
+    }
+
+    private String compare(String label, EventStorage jpa, EventStorage nativeSql, Supplier<QueryDto> queries) {
+        return measure(label, "jpa", jpa, queries) + measure("", "native", nativeSql, queries);
+    }
+
+    private String measure(String label, String path, EventStorage storage, Supplier<QueryDto> queries) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            storage.search(withoutTotal(queries.get()));
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long began = System.nanoTime();
+            storage.search(withoutTotal(queries.get()));
+            latencies[i] = System.nanoTime() - began;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        return String.format("%n%-20s%8s%15.0f%12.2f%12.2f", label, path, ITERATIONS / seconds,
+            latencies[ITERATIONS / 2] / 1_000_000.0, latencies[ITERATIONS * 99 / 100] / 1_000_000.0);
+    }
+
+    private static QueryDto withoutTotal(QueryDto query) {
+        query.setTotalMode(TotalMode.NONE);
+        return query;
+    }
+}
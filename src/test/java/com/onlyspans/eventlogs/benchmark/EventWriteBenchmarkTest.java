@@ -0,0 +1,116 @@
+package com.onlyspans.eventlogs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.integration.BaseIntegrationTest;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.storage.CopyEventWriter;
+import com.onlyspans.eventlogs.storage.IEventWriter;
+import com.onlyspans.eventlogs.storage.JdbcBatchEventWriter;
+import com.onlyspans.eventlogs.storage.JpaEventWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares events/sec of the JPA, JDBC batch and COPY write paths. Run with
+ * {@code ./gradlew benchmark -Dbenchmark.events=50000}.
+ */
+@Tag("benchmark")
+class EventWriteBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventWriteBenchmarkTest.class);
+    private static final int[] BATCH_SIZES = {100, 500, 1000, 2000, 5000};
+    private static final int EVENTS_PER_RUN = Integer.getInteger("benchmark.events", 20000);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE events");
+    }
+
+    @Test
+    void compareWritePaths() {
+        StringBuilder report = new StringBuilder(
+            String.format("%n%10s%15s%15s%15s", "batch", "jpa ev/s", "jdbc ev/s", "copy ev/s"));
+
+        for (int batchSize : BATCH_SIZES) {
+            IEventWriter jpa = new JpaEventWriter(eventRepository);
+            IEventWriter jdbc = new JdbcBatchEventWriter(jdbcTemplate, transactionTemplate, objectMapper, batchSize);
+            IEventWriter copy = new CopyEventWriter(dataSource, transactionTemplate, objectMapper);
+            report.append(String.format("%n%10d%15.0f%15.0f%15.0f", batchSize,
+                measure(jpa, batchSize), measure(jdbc, batchSize), measure(copy, batchSize)));
+        }
+
+        logger.info("Write throughput for {} events per run:{}", EVENTS_PER_RUN, report);
+    }
+
+    private double measure(IEventWriter writer, int batchSize) {
+        writer.write(createEvents(batchSize));
+        jdbcTemplate.execute("TRUNCATE events");
+
+        List<List<EventEntity>> batches = new ArrayList<>();
+        for (int created = 0; created < EVENTS_PER_RUN; created += batchSize) {
+            batches.add(createEvents(Math.min(batchSize, EVENTS_PER_RUN - created)));
+        }
+
+        long start = System.nanoTime();
+        for (List<EventEntity> batch : batches) {
+            writer.write(batch);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        jdbcTemplate.execute("TRUNCATE events");
+        return EVENTS_PER_RUN / seconds;
+    }
+
+    private List<EventEntity> createEvents(int count) {
+        List<EventEntity> events = new ArrayList<>(count);
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            EventEntity event = new EventEntity();
+            event.setTimestamp(now.minusMillis(i));
+            event.setUser("user-" + (i % 50));
+            event.setCategory("category-" + (i % 5));
+            event.setAction("action-" + (i % 10));
+            event.setDocumentName("document-" + (i % 200));
+            event.setProject("project");
+            event.setEnvironment("production");
+            event.setTenant("tenant-" + (i % 3));
+            event.setCorrelationId(UUID.randomUUID().toString());
+            event.setTraceId(UUID.randomUUID().toString());
+            EventEntity.EventDetails details = new EventEntity.EventDetails();
+            details.setIpAddress("10.0.0." + (i % 255));
+            details.setUserAgent("benchmark");
+            event.setDetails(details);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,33 @@
+package com.onlyspans.eventlogs.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaConfigTest {
+
+    @Test
+    void autoSizeConcurrency_shouldBeBoundedByPartitions() {
+        assertEquals(3, KafkaConfig.autoSizeConcurrency(3, 8, 16));
+    }
+
+    @Test
+    void autoSizeConcurrency_shouldBeBoundedByCpus() {
+        assertEquals(4, KafkaConfig.autoSizeConcurrency(12, 4, 16));
+    }
+
+    @Test
+    void autoSizeConcurrency_shouldBeBoundedByMaxConcurrency() {
+        assertEquals(6, KafkaConfig.autoSizeConcurrency(24, 32, 6));
+    }
+
+    @Test
+    void autoSizeConcurrency_shouldFallBackToCpusWhenPartitionsUnknown() {
+        assertEquals(2, KafkaConfig.autoSizeConcurrency(0, 2, 16));
+    }
+
+    @Test
+    void autoSizeConcurrency_shouldNeverReturnLessThanOne() {
+        assertEquals(1, KafkaConfig.autoSizeConcurrency(0, 0, 0));
+    }
+}
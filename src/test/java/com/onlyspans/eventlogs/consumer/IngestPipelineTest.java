@@ -0,0 +1,265 @@
+package com.onlyspans.eventlogs.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.service.IEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IngestPipelineTest {
+
+    @Mock
+    private IEventService eventService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EventMessageParser parser;
+
+    private IngestPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(listenerRegistry.getListenerContainer(KafkaEventConsumer.LISTENER_ID)).thenReturn(container);
+        when(eventService.convertEvents(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            return dtos.stream().map(dto -> new EventEntity()).toList();
+        });
+
+        parser = new EventMessageParser(objectMapper, meterRegistry);
+        pipeline = new IngestPipeline(eventService, parser, listenerRegistry, meterRegistry, 2, 2, 2);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 10L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void submit_shouldAcknowledgeAfterBatchIsPersisted() {
+        // Given
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of(createEventJson()), acknowledgment);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(acknowledgment).acknowledge());
+        verify(eventService).storeEvents(anyList());
+    }
+
+    @Test
+    void submit_shouldAcknowledgeBatchesInSubmissionOrder() throws InterruptedException {
+        // Given - the first batch is held in the writer until the second one has been persisted
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (writes.incrementAndGet() == 1) {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(eventService).storeEvents(anyList());
+
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of(createEventJson()), first);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> writes.get() == 1);
+        pipeline.submit(List.of(createEventJson()), second);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> writes.get() == 2);
+
+        // Then
+        verify(second, after(100).never()).acknowledge();
+        releaseFirst.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(second).acknowledge());
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).acknowledge();
+        inOrder.verify(second).acknowledge();
+    }
+
+    @Test
+    void submit_shouldRetryTransientWriteFailuresBeforeAcknowledging() {
+        // Given
+        doThrow(new RuntimeException("Failed to ingest events",
+                new CannotGetJdbcConnectionException("Database unavailable")))
+            .doNothing()
+            .when(eventService).storeEvents(anyList());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of(createEventJson()), acknowledgment);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(acknowledgment).acknowledge());
+        verify(eventService, times(2)).storeEvents(anyList());
+    }
+
+    @Test
+    void submit_whenDatabaseRejectsBatch_shouldWriteEventsOneByOneAndDropRejectedOnes() {
+        // Given
+        AtomicInteger writes = new AtomicInteger();
+        doAnswer(invocation -> {
+            List<?> entities = invocation.getArgument(0);
+            if (entities.size() > 1 || writes.incrementAndGet() == 1) {
+                throw new RuntimeException("Failed to ingest events",
+                    new DataIntegrityViolationException("value too long"));
+            }
+            return null;
+        }).when(eventService).storeEvents(anyList());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of(createEventJson(), createEventJson()), acknowledgment);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(acknowledgment).acknowledge());
+        verify(eventService, times(3)).storeEvents(anyList());
+        assertEquals(1.0, meterRegistry.counter("event_logs_pipeline_dropped_events").count());
+    }
+
+    @Test
+    void submit_afterFailedBatch_shouldKeepAcknowledgingLaterBatches() {
+        // Given
+        when(eventService.convertEvents(anyList()))
+            .thenThrow(new IllegalStateException("Conversion failed"))
+            .thenAnswer(invocation -> List.of(new EventEntity()));
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of(createEventJson()), first);
+        pipeline.submit(List.of(createEventJson()), second);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(second).acknowledge());
+        verify(eventService).storeEvents(anyList());
+    }
+
+    @Test
+    void isTransient_shouldRetryConnectionAndConcurrencyFailuresOnly() {
+        assertTrue(IngestPipeline.isTransient(
+            new RuntimeException(new CannotGetJdbcConnectionException("Connection refused"))));
+        assertTrue(IngestPipeline.isTransient(
+            new RuntimeException(new SQLException("deadlock detected", "40P01"))));
+        assertTrue(IngestPipeline.isTransient(new SQLException("connection failure", "08006")));
+        assertFalse(IngestPipeline.isTransient(
+            new RuntimeException(new DataIntegrityViolationException("duplicate key"))));
+        assertFalse(IngestPipeline.isTransient(new SQLException("value too long", "22001")));
+        assertFalse(IngestPipeline.isTransient(new RuntimeException("Failed to ingest events")));
+    }
+
+    @Test
+    void submit_shouldPauseWhenFullAndResumeWhenDrained() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(eventService).storeEvents(anyList());
+
+        // When
+        pipeline.submit(List.of(createEventJson()), null);
+        pipeline.submit(List.of(createEventJson()), null);
+
+        // Then
+        verify(container).pause();
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(container).resume());
+    }
+
+    @Test
+    void submit_whenStagesAreFull_shouldWaitInsteadOfRunningWorkOnSubmittingThread() throws InterruptedException {
+        // Given
+        pipeline.shutdown();
+        pipeline = new IngestPipeline(eventService, parser, listenerRegistry, new SimpleMeterRegistry(), 1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(eventService).storeEvents(anyList());
+
+        // When
+        Thread listener = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                pipeline.submit(List.of(createEventJson()), null);
+            }
+        }, "listener");
+        listener.start();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> listener.getState() == Thread.State.WAITING);
+        release.countDown();
+        listener.join(5000);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> writerThreads.size() == 5);
+        assertTrue(writerThreads.stream().allMatch(name -> name.startsWith("event-logs-write-")),
+            writerThreads::toString);
+    }
+
+    @Test
+    void submit_shouldAcknowledgeBatchWhenNoMessageParses() {
+        // Given
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        pipeline.submit(List.of("{invalid json}"), acknowledgment);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(acknowledgment).acknowledge());
+        verify(eventService, never()).convertEvents(any());
+    }
+
+    private String createEventJson() {
+        return """
+            {
+                "timestamp": "%s",
+                "user": "test-user",
+                "category": "test-category",
+                "action": "test-action"
+            }
+            """.formatted(Instant.now().toString());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onlyspans.eventlogs.dto.EventDto;
 import com.onlyspans.eventlogs.service.IEventService;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +12,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -27,8 +30,12 @@ class KafkaEventConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private IngestPipeline ingestPipeline;
+
     private SimpleMeterRegistry meterRegistry;
     private ObjectMapper objectMapper;
+    private KeyOrderedDispatcher keyOrderedDispatcher;
     private KafkaEventConsumer kafkaEventConsumer;
 
     @BeforeEach
@@ -38,7 +45,14 @@ class KafkaEventConsumerTest {
 
         meterRegistry = new SimpleMeterRegistry();
 
-        kafkaEventConsumer = new KafkaEventConsumer(eventService, objectMapper, meterRegistry);
+        keyOrderedDispatcher = new KeyOrderedDispatcher(2);
+        kafkaEventConsumer = new KafkaEventConsumer(eventService, new EventMessageParser(objectMapper, meterRegistry),
+            meterRegistry, keyOrderedDispatcher, ingestPipeline);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyOrderedDispatcher.shutdown();
     }
 
     @Test
@@ -48,7 +62,7 @@ class KafkaEventConsumerTest {
         List<String> messages = List.of(message);
 
         // When
-        kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment);
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
 
         // Then
         ArgumentCaptor<List<EventDto>> captor = ArgumentCaptor.forClass(List.class);
@@ -72,7 +86,7 @@ class KafkaEventConsumerTest {
         List<String> messages = List.of(message1, message2);
 
         // When
-        kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment);
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
 
         // Then
         ArgumentCaptor<List<EventDto>> captor = ArgumentCaptor.forClass(List.class);
@@ -92,7 +106,7 @@ class KafkaEventConsumerTest {
         List<String> messages = List.of(validMessage, invalidMessage);
 
         // When
-        kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment);
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
 
         // Then
         ArgumentCaptor<List<EventDto>> captor = ArgumentCaptor.forClass(List.class);
@@ -113,7 +127,7 @@ class KafkaEventConsumerTest {
 
         // When/Then
         assertThrows(RuntimeException.class, () ->
-            kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment));
+            kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment));
 
         verify(eventService, never()).ingestEvents(any());
         verify(acknowledgment, never()).acknowledge();
@@ -130,7 +144,7 @@ class KafkaEventConsumerTest {
 
         // When/Then
         assertThrows(RuntimeException.class, () ->
-            kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment));
+            kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment));
 
         verify(acknowledgment, never()).acknowledge();
     }
@@ -141,7 +155,7 @@ class KafkaEventConsumerTest {
         List<String> messages = List.of();
 
         // When
-        kafkaEventConsumer.consumeEvents(messages, "event-logs", acknowledgment);
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
 
         // Then
         verify(eventService, never()).ingestEvents(any());
@@ -151,7 +165,7 @@ class KafkaEventConsumerTest {
     @Test
     void consumeEvents_shouldHandleNullBatch() {
         // When
-        kafkaEventConsumer.consumeEvents(null, "event-logs", acknowledgment);
+        kafkaEventConsumer.consumeEvents(null, "event-logs", null, acknowledgment);
 
         // Then
         verify(eventService, never()).ingestEvents(any());
@@ -166,16 +180,137 @@ class KafkaEventConsumerTest {
 
         // When/Then - should not throw exception
         assertDoesNotThrow(() ->
-            kafkaEventConsumer.consumeEvents(messages, "event-logs", null));
+            kafkaEventConsumer.consumeEvents(messages, "event-logs", null, null));
 
         verify(eventService).ingestEvents(any());
     }
 
+    @Test
+    void consumeEvents_shouldRecordPerThreadMetrics() {
+        // Given
+        List<String> messages = List.of(createValidEventJson(), createValidEventJson());
+        String thread = Thread.currentThread().getName();
+
+        // When
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("event_logs_consumer_thread_records")
+            .tag("thread", thread).counter().count());
+        assertEquals(1L, meterRegistry.get("event_logs_consumer_thread_batch_duration")
+            .tag("thread", thread).timer().count());
+    }
+
+    @Test
+    void consumeEvents_keyOrdered_shouldKeepOrderPerKey() {
+        // Given
+        ReflectionTestUtils.setField(kafkaEventConsumer, "processingMode", ProcessingMode.KEY_ORDERED);
+        List<String> messages = List.of(
+            createEventJson("user-1"), createEventJson("user-2"), createEventJson("user-3"), createEventJson("user-4"));
+        List<String> keys = List.of("a", "b", "a", "b");
+
+        // When
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", keys, acknowledgment);
+
+        // Then
+        ArgumentCaptor<List<EventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, times(2)).ingestEvents(captor.capture());
+
+        List<List<String>> lanes = captor.getAllValues().stream()
+            .map(lane -> lane.stream().map(EventDto::getUser).toList())
+            .toList();
+        assertTrue(lanes.contains(List.of("user-1", "user-3")));
+        assertTrue(lanes.contains(List.of("user-2", "user-4")));
+
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consumeEvents_keyOrdered_shouldNackFromLowestUnpersistedRecord() {
+        // Given
+        ReflectionTestUtils.setField(kafkaEventConsumer, "processingMode", ProcessingMode.KEY_ORDERED);
+        List<String> messages = List.of(
+            createEventJson("user-1"), createEventJson("user-2"), createEventJson("user-3"));
+        List<String> keys = List.of("a", "b", "a");
+
+        failLaneStartingWith("user-2");
+
+        // When
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", keys, acknowledgment);
+
+        // Then
+        verify(acknowledgment).nack(eq(1), any(Duration.class));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void consumeEvents_keyOrdered_shouldThrowWhenFirstRecordIsNotPersisted() {
+        // Given
+        ReflectionTestUtils.setField(kafkaEventConsumer, "processingMode", ProcessingMode.KEY_ORDERED);
+        List<String> messages = List.of(createEventJson("user-1"), createEventJson("user-2"));
+        List<String> keys = List.of("a", "b");
+
+        failLaneStartingWith("user-1");
+
+        // When/Then
+        assertThrows(RuntimeException.class, () ->
+            kafkaEventConsumer.consumeEvents(messages, "event-logs", keys, acknowledgment));
+
+        verify(acknowledgment, never()).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    @Test
+    void consumeEvents_keyOrdered_shouldOrderByTenantWhenConfigured() {
+        // Given
+        ReflectionTestUtils.setField(kafkaEventConsumer, "processingMode", ProcessingMode.KEY_ORDERED);
+        ReflectionTestUtils.setField(kafkaEventConsumer, "orderingKey", OrderingKey.TENANT);
+        List<String> messages = List.of(createEventJson("user-1"), createEventJson("user-2"));
+
+        // When
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
+
+        // Then - both events share "test-tenant", so they stay in one lane
+        ArgumentCaptor<List<EventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventService).ingestEvents(captor.capture());
+        assertEquals(List.of("user-1", "user-2"), captor.getValue().stream().map(EventDto::getUser).toList());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consumeEvents_pipelined_shouldHandBatchToPipeline() {
+        // Given
+        ReflectionTestUtils.setField(kafkaEventConsumer, "processingMode", ProcessingMode.PIPELINED);
+        List<String> messages = List.of(createValidEventJson());
+
+        // When
+        kafkaEventConsumer.consumeEvents(messages, "event-logs", null, acknowledgment);
+
+        // Then
+        verify(ingestPipeline).submit(messages, acknowledgment);
+        verify(eventService, never()).ingestEvents(any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private void failLaneStartingWith(String user) {
+        doAnswer(invocation -> {
+            List<EventDto> lane = invocation.getArgument(0);
+            if (user.equals(lane.getFirst().getUser())) {
+                throw new RuntimeException("Storage error");
+            }
+            return null;
+        }).when(eventService).ingestEvents(any());
+    }
+
     private String createValidEventJson() {
+        return createEventJson("test-user");
+    }
+
+    private String createEventJson(String user) {
         return """
             {
                 "timestamp": "%s",
-                "user": "test-user",
+                "user": "%s",
                 "category": "test-category",
                 "action": "test-action",
                 "documentName": "test-document",
@@ -183,6 +318,6 @@ class KafkaEventConsumerTest {
                 "environment": "test-env",
                 "tenant": "test-tenant"
             }
-            """.formatted(Instant.now().toString());
+            """.formatted(Instant.now().toString(), user);
     }
 }
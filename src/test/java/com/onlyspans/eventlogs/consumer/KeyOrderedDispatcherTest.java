@@ -0,0 +1,74 @@
+package com.onlyspans.eventlogs.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedDispatcherTest {
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new KeyOrderedDispatcher(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldKeepItemsWithSameKeyInOrder() {
+        // Given
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("key" + (i % 7) + ":" + i);
+        }
+        List<List<String>> lanes = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        int result = dispatcher.dispatch(items, item -> item.split(":")[0], lanes::add);
+
+        // Then
+        assertEquals(-1, result);
+        assertEquals(100, lanes.stream().mapToInt(List::size).sum());
+        for (List<String> lane : lanes) {
+            for (int i = 1; i < lane.size(); i++) {
+                assertTrue(sequence(lane.get(i - 1)) < sequence(lane.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void dispatch_shouldReturnFirstPositionOfLowestFailedLane() {
+        // Given
+        List<String> items = List.of("a", "b", "a", "b", "c");
+
+        // When
+        int result = dispatcher.dispatch(items, Function.identity(), lane -> {
+            if (lane.contains("b")) {
+                throw new IllegalStateException("write failed");
+            }
+        });
+
+        // Then
+        assertEquals(1, result);
+    }
+
+    @Test
+    void dispatch_shouldReturnMinusOneForEmptyBatch() {
+        assertEquals(-1, dispatcher.dispatch(List.<String>of(), Function.identity(), lane -> fail()));
+    }
+
+    private int sequence(String item) {
+        return Integer.parseInt(item.split(":")[1]);
+    }
+}
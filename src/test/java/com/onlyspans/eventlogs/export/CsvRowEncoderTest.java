@@ -0,0 +1,95 @@
+package com.onlyspans.eventlogs.export;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.opencsv.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRowEncoderTest {
+
+    @Test
+    void encode_shouldQuoteOnlyFieldsThatNeedIt() throws IOException {
+        // Given
+        EventEntity event = new EventEntity();
+        event.setId(UUID.fromString("0190f3a2-7c4e-7d1a-8b2c-3d4e5f6a7b8c"));
+        event.setTimestamp(Instant.parse("2026-01-15T10:30:00Z"));
+        event.setUser("alice");
+        event.setDocumentName("Report, \"final\"");
+        event.setTenant("line\nbreak");
+
+        // When
+        String csv = encode(event);
+
+        // Then
+        assertEquals("0190f3a2-7c4e-7d1a-8b2c-3d4e5f6a7b8c,2026-01-15T10:30:00Z,alice,,,"
+            + "\"Report, \"\"final\"\"\",,,\"line\nbreak\",,,,,\n", csv);
+    }
+
+    @Test
+    void encode_shouldRoundTripThroughCsvParser() throws Exception {
+        // Given
+        EventEntity event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTimestamp(Instant.parse("2026-01-15T10:30:00.000123Z"));
+        event.setUser("Jürgen 😀");
+        event.setCategory("a\nb");
+        event.setAction("\"");
+        EventEntity.EventDetails details = new EventEntity.EventDetails();
+        details.setIpAddress("10.0.0.1");
+        details.setAdditionalInfo("x".repeat(CsvRowEncoder.BUFFER_SIZE));
+        event.setDetails(details);
+
+        // When
+        List<String[]> rows;
+        try (CSVReader reader = new CSVReader(new StringReader(encode(event)))) {
+            rows = reader.readAll();
+        }
+
+        // Then
+        assertEquals(1, rows.size());
+        String[] fields = rows.get(0);
+        assertEquals(14, fields.length);
+        assertEquals(event.getId().toString(), fields[0]);
+        assertEquals(event.getTimestamp().toString(), fields[1]);
+        assertEquals("Jürgen 😀", fields[2]);
+        assertEquals("a\nb", fields[3]);
+        assertEquals("\"", fields[4]);
+        assertEquals("10.0.0.1", fields[11]);
+        assertEquals(details.getAdditionalInfo(), fields[13]);
+    }
+
+    @Test
+    void encode_shouldFormatTimestampsLikeInstantToString() throws IOException {
+        for (String value : List.of("1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:00:00.5Z",
+                "2026-12-31T23:59:59.123456789Z", "0001-01-01T00:00:00Z", "9999-12-31T23:59:59.000001Z",
+                "+10000-01-01T00:00:00Z")) {
+            // Given
+            EventEntity event = new EventEntity();
+            Instant timestamp = Instant.parse(value);
+            event.setTimestamp(timestamp);
+
+            // When
+            String csv = encode(event);
+
+            // Then
+            assertEquals("," + timestamp + ",", csv.substring(0, csv.indexOf(',', 1) + 1), value);
+        }
+    }
+
+    private static String encode(EventEntity event) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvRowEncoder encoder = new CsvRowEncoder(out);
+        encoder.encode(event);
+        encoder.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
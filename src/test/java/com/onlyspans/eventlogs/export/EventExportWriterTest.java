@@ -0,0 +1,148 @@
+package com.onlyspans.eventlogs.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventExportWriterTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2026-01-15T10:30:00.123456Z");
+
+    @Test
+    void csv_shouldWriteHeaderAndFlatRows() throws IOException {
+        // Given
+        EventEntity event = createEvent(0);
+
+        // When
+        String csv = new String(export(ExportFormat.CSV, List.of(event)), StandardCharsets.UTF_8);
+
+        // Then
+        List<String> lines = csv.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("ID,Timestamp,User,"));
+        assertTrue(lines.get(1).contains(event.getId().toString()));
+        assertTrue(lines.get(1).contains("10.0.0.1"));
+    }
+
+    @Test
+    void ndjson_shouldWriteOneObjectPerLineWithNestedDetails() throws IOException {
+        // Given
+        EventEntity first = createEvent(0);
+        EventEntity second = createEvent(1);
+        second.setDetails(null);
+
+        // When
+        String ndjson = new String(export(ExportFormat.NDJSON, List.of(first, second)), StandardCharsets.UTF_8);
+
+        // Then
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(ndjson.endsWith("\n"));
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode parsed = objectMapper.readTree(lines.get(0));
+        assertEquals(first.getId().toString(), parsed.get("id").asText());
+        assertEquals(TIMESTAMP.toString(), parsed.get("timestamp").asText());
+        assertEquals("document-0", parsed.get("document").asText());
+        assertEquals("status", parsed.at("/details/changes/0/field").asText());
+        assertEquals("closed", parsed.at("/details/changes/0/newValue").asText());
+        assertFalse(objectMapper.readTree(lines.get(1)).has("details"));
+    }
+
+    @Test
+    void ndjson_withoutEvents_shouldWriteNothing() throws IOException {
+        assertEquals(0, export(ExportFormat.NDJSON, List.of()).length);
+    }
+
+    @Test
+    void arrow_shouldWriteTypedColumnsAcrossBatches() throws IOException {
+        // Given - more than one full batch
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < ArrowEventExportWriter.BATCH_ROWS + 10; i++) {
+            events.add(createEvent(i));
+        }
+        events.get(1).setTraceId(null);
+
+        // When
+        byte[] bytes = export(ExportFormat.ARROW, events);
+
+        // Then
+        int rows = 0;
+        int batches = 0;
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(bytes), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(
+                ArrowEventExportWriter.SCHEMA.getFields().stream().map(Field::getName).toList(),
+                root.getSchema().getFields().stream().map(Field::getName).toList());
+            while (reader.loadNextBatch()) {
+                if (batches == 0) {
+                    VarCharVector ids = (VarCharVector) root.getVector("id");
+                    TimeStampMicroTZVector timestamps = (TimeStampMicroTZVector) root.getVector("timestamp");
+                    VarCharVector traceIds = (VarCharVector) root.getVector("traceId");
+                    VarCharVector details = (VarCharVector) root.getVector("details");
+                    assertEquals(events.get(0).getId().toString(), new String(ids.get(0), StandardCharsets.UTF_8));
+                    assertEquals(TIMESTAMP.getEpochSecond() * 1_000_000 + 123_456, timestamps.get(0));
+                    assertTrue(traceIds.isNull(1));
+                    assertTrue(new String(details.get(0), StandardCharsets.UTF_8).contains("\"changes\""));
+                }
+                rows += root.getRowCount();
+                batches++;
+            }
+        }
+        assertEquals(events.size(), rows);
+        assertEquals(2, batches);
+    }
+
+    private static byte[] export(ExportFormat format, List<EventEntity> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (IEventExportWriter writer = format.newWriter(out)) {
+            for (EventEntity event : events) {
+                writer.write(event);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static EventEntity createEvent(int index) {
+        EventEntity event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTimestamp(TIMESTAMP);
+        event.setUser("user-" + index);
+        event.setCategory("category");
+        event.setAction("action");
+        event.setDocumentName("document-" + index);
+        event.setProject("project");
+        event.setEnvironment("production");
+        event.setTenant("tenant");
+        event.setTraceId("trace-" + index);
+
+        EventEntity.Change change = new EventEntity.Change();
+        change.setField("status");
+        change.setOldValue("open");
+        change.setNewValue("closed");
+        EventEntity.EventDetails details = new EventEntity.EventDetails();
+        details.setChanges(List.of(change));
+        details.setIpAddress("10.0.0.1");
+        event.setDetails(details);
+        return event;
+    }
+}
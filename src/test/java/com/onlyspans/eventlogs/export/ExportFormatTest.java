@@ -0,0 +1,31 @@
+package com.onlyspans.eventlogs.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportFormatTest {
+
+    @Test
+    void negotiate_withoutAcceptOrWildcard_shouldDefaultToCsv() {
+        assertEquals(Optional.of(ExportFormat.CSV), ExportFormat.negotiate(null));
+        assertEquals(Optional.of(ExportFormat.CSV), ExportFormat.negotiate("*/*"));
+        assertEquals(Optional.of(ExportFormat.CSV), ExportFormat.negotiate("text/plain"));
+    }
+
+    @Test
+    void negotiate_shouldPickHighestQualitySupportedType() {
+        assertEquals(Optional.of(ExportFormat.ARROW),
+            ExportFormat.negotiate("application/x-ndjson;q=0.5, application/vnd.apache.arrow.stream"));
+        assertEquals(Optional.of(ExportFormat.NDJSON),
+            ExportFormat.negotiate("application/json;q=0.9, application/x-ndjson;q=0.8"));
+    }
+
+    @Test
+    void negotiate_withoutSupportedType_shouldReturnEmpty() {
+        assertEquals(Optional.empty(), ExportFormat.negotiate("application/pdf"));
+        assertEquals(Optional.empty(), ExportFormat.negotiate("not a media type"));
+    }
+}
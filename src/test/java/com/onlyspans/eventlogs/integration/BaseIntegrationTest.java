@@ -25,7 +25,8 @@ public abstract class BaseIntegrationTest {
             new PostgreSQLContainer<>("postgres:17-alpine")
                     .withDatabaseName("eventlogs")
                     .withUsername("test")
-                    .withPassword("test");
+                    .withPassword("test")
+                    .withUrlParam("reWriteBatchedInserts", "true");
 
     @Container
     @ServiceConnection
@@ -38,7 +39,8 @@ public abstract class BaseIntegrationTest {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
 
         // Kafka
         registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
@@ -47,5 +49,8 @@ public abstract class BaseIntegrationTest {
         // Application settings
         registry.add("event-logs.default-retention-period-days", () -> "90");
         registry.add("event-logs.max-export-size", () -> "10000");
+        // Tests insert through EventRepository, past the search cache's watermark and the timeline cache
+        registry.add("event-logs.search.cache.max-entries", () -> "0");
+        registry.add("event-logs.timeline.cache.max-entries", () -> "0");
     }
 }
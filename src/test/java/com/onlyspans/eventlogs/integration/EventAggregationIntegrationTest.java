@@ -0,0 +1,186 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.AggregateEventsRequest;
+import com.onlyspans.eventlogs.dto.AggregateResult;
+import com.onlyspans.eventlogs.dto.AggregationInterval;
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.dto.EventFacet;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.HistogramBucket;
+import com.onlyspans.eventlogs.dto.QueryResult;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.dto.SearchEventsRequest;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.service.IEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventAggregationIntegrationTest extends BaseIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/events/aggregate";
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void aggregate_shouldCountIngestedEventsFromRollups() {
+        // Given
+        Instant base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        eventService.ingestEvents(List.of(
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofMinutes(10))),
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofMinutes(10))),
+            createEventDto("tenant-a", "rollback", base.plus(Duration.ofMinutes(70))),
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofMinutes(190))),
+            createEventDto("tenant-b", "deploy", base.plus(Duration.ofMinutes(20)))));
+
+        AggregateEventsRequest request = new AggregateEventsRequest();
+        request.setTenant("tenant-a");
+        request.setStartDate(base.plus(Duration.ofMinutes(5)));
+        request.setEndDate(base.plus(Duration.ofMinutes(180)));
+        request.setInterval(AggregationInterval.HOUR);
+        request.setFacets(List.of(RollupDimension.ACTION, RollupDimension.PROJECT));
+
+        // When
+        ResponseEntity<AggregateResult> response = restTemplate.postForEntity(getBaseUrl(), request,
+            AggregateResult.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        AggregateResult result = response.getBody();
+        assertNotNull(result);
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(new HistogramBucket(base, 2), new HistogramBucket(base.plus(Duration.ofHours(1)), 1)),
+            result.getHistogram());
+        assertEquals(List.of(new FacetValue("deploy", 2), new FacetValue("rollback", 1)),
+            result.getFacets().get("action"));
+        assertEquals(List.of(new FacetValue("project-1", 3)), result.getFacets().get("project"));
+    }
+
+    @Test
+    void searchEvents_withFacets_shouldCombineRollupsWithPartialMinutes() {
+        // Given
+        Instant base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        eventService.ingestEvents(List.of(
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofSeconds(10))),
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofSeconds(50))),
+            createEventDto("tenant-a", "rollback", base.plus(Duration.ofMinutes(30))),
+            createEventDto("tenant-a", "deploy", base.plus(Duration.ofMinutes(90))),
+            createEventDto("tenant-a", "rollback", base.plus(Duration.ofMinutes(120)).plusSeconds(5)),
+            createEventDto("tenant-a", "rollback", base.plus(Duration.ofMinutes(120)).plusSeconds(40)),
+            createEventDto("tenant-b", "deploy", base.plus(Duration.ofMinutes(30)))));
+
+        SearchEventsRequest request = new SearchEventsRequest();
+        request.setTenant("tenant-a");
+        request.setStartDate(base.plus(Duration.ofSeconds(30)));
+        request.setEndDate(base.plus(Duration.ofMinutes(120)).plusSeconds(20));
+        request.setFacets(List.of(EventFacet.ACTION));
+
+        // When
+        ResponseEntity<QueryResult> response = restTemplate.postForEntity(
+            "http://localhost:" + port + "/events", request, QueryResult.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        QueryResult result = response.getBody();
+        assertNotNull(result);
+        assertEquals(4, result.getTotal());
+        assertFalse(result.isFacetsApproximate());
+        assertEquals(List.of(new FacetValue("deploy", 2), new FacetValue("rollback", 2)),
+            result.getFacets().get("action"));
+    }
+
+    @Test
+    void ingestEvents_withRedeliveredEvent_shouldStoreAndCountItOnce() {
+        // Given
+        Instant base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+        EventDto event = createEventDto("tenant-a", "deploy", base.plus(Duration.ofMinutes(10)));
+        event.setId(UUID.randomUUID().toString());
+        eventService.ingestEvents(List.of(event));
+
+        // When
+        eventService.ingestEvents(List.of(event,
+            createEventDto("tenant-a", "rollback", base.plus(Duration.ofMinutes(20)))));
+
+        // Then
+        assertEquals(2, eventRepository.count());
+        AggregateEventsRequest request = new AggregateEventsRequest();
+        request.setTenant("tenant-a");
+        request.setStartDate(base);
+        request.setEndDate(base.plus(Duration.ofHours(1)));
+        request.setInterval(AggregationInterval.HOUR);
+        AggregateResult result = restTemplate.postForEntity(getBaseUrl(), request, AggregateResult.class).getBody();
+        assertNotNull(result);
+        assertEquals(2, result.getTotal());
+    }
+
+    @Test
+    void aggregate_withTooManyBuckets_shouldReturnBadRequest() {
+        // Given
+        AggregateEventsRequest request = new AggregateEventsRequest();
+        request.setStartDate(Instant.now().minus(Duration.ofDays(3)));
+        request.setEndDate(Instant.now());
+        request.setInterval(AggregationInterval.MINUTE);
+
+        // When / Then
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+            () -> restTemplate.postForEntity(getBaseUrl(), request, AggregateResult.class));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    private void cleanUp() {
+        eventRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM event_rollups_minute");
+        jdbcTemplate.update("DELETE FROM event_rollups_hour");
+    }
+
+    private static EventDto createEventDto(String tenant, String action, Instant timestamp) {
+        EventDto dto = new EventDto();
+        dto.setTimestamp(timestamp);
+        dto.setUser("user-1");
+        dto.setCategory("deployment");
+        dto.setAction(action);
+        dto.setProject("project-1");
+        dto.setEnvironment("production");
+        dto.setTenant(tenant);
+        return dto;
+    }
+}
@@ -1,9 +1,15 @@
 package com.onlyspans.eventlogs.integration;
 
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.dto.EventFacet;
 import com.onlyspans.eventlogs.dto.ExportEventsRequest;
+import com.onlyspans.eventlogs.dto.FacetValue;
 import com.onlyspans.eventlogs.dto.QueryResult;
 import com.onlyspans.eventlogs.dto.SearchEventsRequest;
+import com.onlyspans.eventlogs.dto.TimelineResult;
+import com.onlyspans.eventlogs.dto.TotalMode;
 import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.export.ExportFormat;
 import com.onlyspans.eventlogs.repository.EventRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +23,21 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -541,6 +558,230 @@ class EventControllerIntegrationTest extends BaseIntegrationTest {
         assertEquals(0L, response.getBody().getTotal());
     }
 
+    @Test
+    void searchEvents_withCursor_shouldWalkAllPagesWithTiesOnTimestamp() {
+        // Given - 7 events sharing two timestamps
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(createTestEventWithTimestamp("user" + i, "cat", "act",
+                    base.minusSeconds(i % 2)).getId());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        for (String sortOrder : List.of("desc", "asc")) {
+            List<UUID> seen = new ArrayList<>();
+            String cursor = null;
+            Instant previous = null;
+            do {
+                SearchEventsRequest request = new SearchEventsRequest();
+                request.setSize(3);
+                request.setSortOrder(sortOrder);
+                request.setCursor(cursor);
+
+                // When
+                ResponseEntity<QueryResult> response = restTemplate.exchange(
+                        getBaseUrl() + "/events",
+                        HttpMethod.POST,
+                        new HttpEntity<>(request, headers),
+                        new ParameterizedTypeReference<QueryResult>() {}
+                );
+
+                // Then
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                for (EventDto event : response.getBody().getEvents()) {
+                    seen.add(UUID.fromString(event.getId()));
+                    if (previous != null) {
+                        assertTrue("asc".equals(sortOrder)
+                                ? !event.getTimestamp().isBefore(previous)
+                                : !event.getTimestamp().isAfter(previous));
+                    }
+                    previous = event.getTimestamp();
+                }
+                cursor = response.getBody().getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(7, seen.size(), "no event may be skipped or repeated");
+            assertEquals(expected, new HashSet<>(seen));
+        }
+    }
+
+    @Test
+    void searchEvents_withTotalModes_shouldReportHasNextWithoutExactCount() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            createTestEvent("user" + i, "category", "action", "doc", "proj", "env", "tenant");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        for (TotalMode totalMode : TotalMode.values()) {
+            SearchEventsRequest request = new SearchEventsRequest();
+            request.setSize(2);
+            request.setTotalMode(totalMode);
+
+            // When
+            ResponseEntity<QueryResult> response = restTemplate.exchange(
+                    getBaseUrl() + "/events",
+                    HttpMethod.POST,
+                    new HttpEntity<>(request, headers),
+                    new ParameterizedTypeReference<QueryResult>() {}
+            );
+
+            // Then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            QueryResult body = response.getBody();
+            assertEquals(2, body.getEvents().size());
+            assertTrue(body.isHasNext());
+            assertEquals(totalMode, body.getTotalMode());
+            switch (totalMode) {
+                case EXACT -> assertEquals(5L, body.getTotal());
+                case ESTIMATE -> assertTrue(body.getTotal() >= 3L);
+                case NONE -> assertEquals(-1L, body.getTotal());
+            }
+        }
+    }
+
+    @Test
+    void exportEvents_shouldStreamAllMatchingEventsAsCsv() {
+        // Given
+        for (int i = 0; i < 30; i++) {
+            createTestEvent("user" + i, "category", "action", "doc", "proj", "env", "tenant-a");
+        }
+        createTestEvent("other", "category", "action", "doc", "proj", "env", "tenant-b");
+
+        ExportEventsRequest request = new ExportEventsRequest();
+        request.setTenant("tenant-a");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                getBaseUrl() + "/events/export",
+                HttpMethod.POST,
+                new HttpEntity<>(request, headers),
+                String.class
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(31, lines.size());
+        assertTrue(lines.get(0).contains("Timestamp"));
+        assertTrue(lines.stream().skip(1).allMatch(line -> line.contains("tenant-a")));
+    }
+
+    @Test
+    void exportEvents_withNdjsonAndGzip_shouldStreamCompressedJsonLines() throws IOException {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            createTestEvent("user" + i, "category", "action", "doc", "proj", "env", "tenant-a");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.ACCEPT, "application/x-ndjson");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                getBaseUrl() + "/events/export",
+                HttpMethod.POST,
+                new HttpEntity<>(new ExportEventsRequest(), headers),
+                byte[].class
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(ExportFormat.NDJSON.mediaType()));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertEquals(5, lines.size());
+            assertTrue(lines.stream().allMatch(line -> line.startsWith("{") && line.contains("\"tenant\":\"tenant-a\"")));
+        }
+    }
+
+    @Test
+    void exportEvents_withUnsupportedAccept_shouldReturnNotAcceptable() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.ACCEPT, "application/pdf");
+
+        // When / Then
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class, () ->
+                restTemplate.exchange(
+                        getBaseUrl() + "/events/export",
+                        HttpMethod.POST,
+                        new HttpEntity<>(new ExportEventsRequest(), headers),
+                        byte[].class
+                ));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void searchEvents_withFacets_shouldCountAllMatchingEvents() {
+        // Given
+        createTestEvent("alice", "document", "create", "doc1", "proj1", "env1", "tenant1");
+        createTestEvent("alice", "document", "update", "doc1", "proj1", "env1", "tenant1");
+        createTestEvent("bob", "document", "update", "doc2", "proj1", "env1", "tenant1");
+        createTestEvent("bob", "settings", "update", "doc3", "proj1", "env1", "tenant2");
+
+        SearchEventsRequest request = new SearchEventsRequest();
+        request.setTenant("tenant1");
+        request.setSize(1);
+        request.setFacets(List.of(EventFacet.USER, EventFacet.ACTION, EventFacet.CATEGORY));
+        request.setFacetSize(1);
+
+        // When
+        ResponseEntity<QueryResult> response = restTemplate.postForEntity(getBaseUrl() + "/events", request,
+                QueryResult.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        QueryResult result = response.getBody();
+        assertNotNull(result);
+        assertEquals(1, result.getEvents().size());
+        assertFalse(result.isFacetsApproximate());
+        assertEquals(List.of(new FacetValue("alice", 2)), result.getFacets().get("user"));
+        assertEquals(List.of(new FacetValue("update", 2)), result.getFacets().get("action"));
+        assertEquals(List.of(new FacetValue("document", 3)), result.getFacets().get("category"));
+    }
+
+    @Test
+    void getTimeline_shouldReturnCorrelatedAndTracedEventsInTimeOrder() {
+        // Given
+        Instant start = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+        EventEntity traced = createTestEventWithTimestamp("user1", "deploy", "start", start.plusSeconds(20));
+        traced.setTraceId("incident-7");
+        eventRepository.save(traced);
+        EventEntity both = createTestEventWithTimestamp("user2", "deploy", "fail", start.plusSeconds(10));
+        both.setCorrelationId("incident-7");
+        both.setTraceId("incident-7");
+        eventRepository.save(both);
+        EventEntity correlated = createTestEventWithTimestamp("user3", "deploy", "rollback", start.plusSeconds(30));
+        correlated.setCorrelationId("incident-7");
+        eventRepository.save(correlated);
+        EventEntity unrelated = createTestEventWithTimestamp("user4", "deploy", "start", start);
+        unrelated.setCorrelationId("incident-8");
+        eventRepository.save(unrelated);
+
+        // When
+        ResponseEntity<TimelineResult> response = restTemplate.getForEntity(
+                getBaseUrl() + "/events/timeline/incident-7", TimelineResult.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        TimelineResult result = response.getBody();
+        assertNotNull(result);
+        assertEquals("incident-7", result.getId());
+        assertFalse(result.isTruncated());
+        assertEquals(List.of("fail", "start", "rollback"),
+                result.getEvents().stream().map(EventDto::getAction).toList());
+    }
+
     private EventEntity createTestEvent(String user, String category, String action,
                                         String document, String project, String environment, String tenant) {
         EventEntity event = new EventEntity();
@@ -0,0 +1,145 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.DocumentHistoryResult;
+import com.onlyspans.eventlogs.dto.DocumentRevision;
+import com.onlyspans.eventlogs.dto.DocumentState;
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.service.IEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDocumentIntegrationTest extends BaseIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/events/documents";
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void documents_shouldServeStateAndHistoryMaintainedByIngestion() {
+        // Given
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(Duration.ofHours(1));
+        eventService.ingestEvents(List.of(
+            createEventDto("alice", "create", base, change("title", null, "Plan"), change("status", null, "draft")),
+            createEventDto("bob", "view", base.plusSeconds(30))));
+        eventService.ingestEvents(List.of(
+            createEventDto("carol", "update", base.plusSeconds(90), change("status", "draft", "published"))));
+        // Arrives last but happened before the publish: it must not win the status field
+        eventService.ingestEvents(List.of(
+            createEventDto("dave", "update", base.plusSeconds(60), change("status", "draft", "review"),
+                change("owner", null, "dave"))));
+
+        // When
+        ResponseEntity<DocumentState> state = restTemplate.getForEntity(
+            getBaseUrl() + "/plan.md?tenant=tenant-a", DocumentState.class);
+        ResponseEntity<DocumentHistoryResult> history = restTemplate.getForEntity(
+            getBaseUrl() + "/plan.md/history?tenant=tenant-a", DocumentHistoryResult.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, state.getStatusCode());
+        DocumentState document = state.getBody();
+        assertNotNull(document);
+        assertEquals("Plan", document.getFields().get("title").getValue());
+        assertEquals("published", document.getFields().get("status").getValue());
+        assertEquals(base.plusSeconds(90), document.getFields().get("status").getChangedAt());
+        assertEquals("dave", document.getFields().get("owner").getValue());
+        assertEquals(4, document.getEventCount());
+        assertEquals(base, document.getFirstEventAt());
+        assertEquals(base.plusSeconds(90), document.getLastEventAt());
+        assertEquals("carol", document.getLastUser());
+
+        assertEquals(HttpStatus.OK, history.getStatusCode());
+        DocumentHistoryResult result = history.getBody();
+        assertNotNull(result);
+        assertFalse(result.isTruncated());
+        assertEquals(List.of("carol", "dave", "alice"),
+            result.getRevisions().stream().map(DocumentRevision::getUser).toList());
+        assertEquals("review", result.getRevisions().get(1).getChanges().get(0).getNewValue());
+    }
+
+    @Test
+    void getDocument_withUnknownNameOrTenant_shouldReturnNotFound() {
+        // Given
+        eventService.ingestEvents(List.of(createEventDto("alice", "create", Instant.now(),
+            change("title", null, "Plan"))));
+
+        // When / Then
+        HttpClientErrorException unknownName = assertThrows(HttpClientErrorException.class,
+            () -> restTemplate.getForEntity(getBaseUrl() + "/other.md?tenant=tenant-a", DocumentState.class));
+        assertEquals(HttpStatus.NOT_FOUND, unknownName.getStatusCode());
+        HttpClientErrorException otherTenant = assertThrows(HttpClientErrorException.class,
+            () -> restTemplate.getForEntity(getBaseUrl() + "/plan.md?tenant=tenant-b", DocumentState.class));
+        assertEquals(HttpStatus.NOT_FOUND, otherTenant.getStatusCode());
+    }
+
+    private void cleanUp() {
+        eventRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM document_states");
+        jdbcTemplate.update("DELETE FROM event_rollups_minute");
+        jdbcTemplate.update("DELETE FROM event_rollups_hour");
+    }
+
+    private static EventDto createEventDto(String user, String action, Instant timestamp,
+                                           EventDto.ChangeDto... changes) {
+        EventDto dto = new EventDto();
+        dto.setTimestamp(timestamp);
+        dto.setUser(user);
+        dto.setCategory("document");
+        dto.setAction(action);
+        dto.setDocument("plan.md");
+        dto.setTenant("tenant-a");
+        if (changes.length > 0) {
+            EventDto.EventDetailsDto details = new EventDto.EventDetailsDto();
+            details.setChanges(List.of(changes));
+            dto.setDetails(details);
+        }
+        return dto;
+    }
+
+    private static EventDto.ChangeDto change(String field, String oldValue, String newValue) {
+        EventDto.ChangeDto change = new EventDto.ChangeDto();
+        change.setField(field);
+        change.setOldValue(oldValue);
+        change.setNewValue(newValue);
+        return change;
+    }
+}
@@ -0,0 +1,99 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.service.IEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.onlyspans.eventlogs.integration.RecordingStatementInspector")
+class EventIngestionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        RecordingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void ingestEvents_withClientSuppliedIds_shouldInsertWithoutSelecting() {
+        // Given
+        List<EventDto> events = IntStream.range(0, 10)
+            .mapToObj(i -> createEventDto(UUID.randomUUID().toString(), "user-" + i))
+            .toList();
+
+        // When
+        eventService.ingestEvents(events);
+
+        // Then
+        List<String> statements = RecordingStatementInspector.statements();
+        assertTrue(statements.stream().noneMatch(EventIngestionIntegrationTest::isSelect),
+            () -> "Unexpected SELECT during ingestion: " + statements);
+        assertTrue(statements.stream().anyMatch(sql -> sql.toLowerCase(Locale.ROOT).startsWith("insert")));
+
+        List<EventEntity> stored = eventRepository.findAll();
+        assertEquals(10, stored.size());
+        assertTrue(stored.stream().allMatch(e -> events.stream().anyMatch(d -> d.getId().equals(e.getId().toString()))));
+    }
+
+    @Test
+    void ingestEvents_withoutIds_shouldAssignIdsWithoutSelecting() {
+        // Given
+        List<EventDto> events = List.of(createEventDto(null, "user-1"), createEventDto(null, "user-2"));
+
+        // When
+        eventService.ingestEvents(events);
+
+        // Then
+        List<String> statements = RecordingStatementInspector.statements();
+        assertTrue(statements.stream().noneMatch(EventIngestionIntegrationTest::isSelect),
+            () -> "Unexpected SELECT during ingestion: " + statements);
+
+        List<EventEntity> stored = eventRepository.findAll();
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().allMatch(e -> e.getId() != null));
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private EventDto createEventDto(String id, String user) {
+        EventDto dto = new EventDto();
+        dto.setId(id);
+        dto.setTimestamp(Instant.now());
+        dto.setUser(user);
+        dto.setCategory("test-category");
+        dto.setAction("test-action");
+        dto.setDocument("test-doc");
+        dto.setProject("test-project");
+        dto.setEnvironment("test-env");
+        dto.setTenant("test-tenant");
+        return dto;
+    }
+}
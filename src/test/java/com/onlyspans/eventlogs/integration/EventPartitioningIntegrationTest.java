@@ -0,0 +1,138 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.EventSqlBuilder;
+import com.onlyspans.eventlogs.storage.IEventStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPartitioningIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventPartitionRepository partitionRepository;
+
+    @Autowired
+    private IEventStorage eventStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void startup_shouldCreateCurrentMonthPartition() {
+        // Then
+        String current = "events_p" + DateTimeFormatter.ofPattern("yyyyMM").format(LocalDate.now(ZoneOffset.UTC));
+        assertTrue(partitions().contains(current), "Expected " + current + " in " + partitions());
+    }
+
+    @Test
+    void add_shouldRouteEventsToTheirTimePartition() {
+        // Given
+        EventEntity event = createEvent(Instant.now());
+
+        // When
+        eventStorage.add(List.of(event));
+
+        // Then
+        String partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM events WHERE id = ?", String.class, event.getId());
+        assertNotEquals("events_default", partition);
+    }
+
+    @Test
+    void createPartition_shouldMoveFutureEventsOutOfDefaultPartition() {
+        // Given - far beyond the premade range
+        Instant future = Instant.parse("2099-03-10T12:00:00Z");
+        EventEntity event = createEvent(future);
+        eventStorage.add(List.of(event));
+        assertEquals(1L, partitionRepository.countDefaultPartitionRows());
+
+        // When
+        boolean created = partitionRepository.createPartition("events_p209903",
+            Instant.parse("2099-03-01T00:00:00Z"), Instant.parse("2099-04-01T00:00:00Z"));
+
+        // Then
+        assertTrue(created);
+        assertEquals(0L, partitionRepository.countDefaultPartitionRows());
+        String partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM events WHERE id = ?", String.class, event.getId());
+        assertEquals("events_p209903", partition);
+        assertFalse(partitionRepository.createPartition("events_p209903",
+            Instant.parse("2099-03-01T00:00:00Z"), Instant.parse("2099-04-01T00:00:00Z")));
+    }
+
+    @Test
+    void search_withDateRange_shouldScanOnlyMatchingPartitions() {
+        // Given
+        partitionRepository.createPartition("events_p209901",
+            Instant.parse("2099-01-01T00:00:00Z"), Instant.parse("2099-02-01T00:00:00Z"));
+        partitionRepository.createPartition("events_p209902",
+            Instant.parse("2099-02-01T00:00:00Z"), Instant.parse("2099-03-01T00:00:00Z"));
+        eventStorage.add(List.of(
+            createEvent(Instant.parse("2099-01-15T00:00:00Z")),
+            createEvent(Instant.parse("2099-02-15T00:00:00Z"))));
+
+        QueryDto query = new QueryDto();
+        query.setStartDate(Instant.parse("2099-02-01T00:00:00Z"));
+        query.setEndDate(Instant.parse("2099-02-20T00:00:00Z"));
+
+        // When - explain the statements search issues, bound to the same parameters
+        long count = eventStorage.search(query).getTotal();
+        EventSqlBuilder.SqlQuery select = EventSqlBuilder.select(query, "timestamp", Sort.Direction.DESC, null, 0, 21);
+        EventSqlBuilder.SqlQuery countSql = EventSqlBuilder.count(query);
+        List<String> plan = new ArrayList<>(
+            jdbcTemplate.queryForList("EXPLAIN " + select.sql(), String.class, select.params()));
+        plan.addAll(jdbcTemplate.queryForList("EXPLAIN " + countSql.sql(), String.class, countSql.params()));
+
+        // Then
+        assertEquals(1L, count);
+        String explain = String.join("\n", plan);
+        assertTrue(explain.contains("events_p209902"), explain);
+        assertFalse(explain.contains("events_p209901"), explain);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = 'events'::regclass", String.class);
+    }
+
+    private EventEntity createEvent(Instant timestamp) {
+        EventEntity entity = new EventEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTimestamp(timestamp);
+        entity.setUser("partition-user");
+        entity.setCategory("category");
+        entity.setAction("action");
+        entity.setTenant("tenant");
+        return entity;
+    }
+}
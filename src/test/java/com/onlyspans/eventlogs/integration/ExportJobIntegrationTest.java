@@ -0,0 +1,111 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.ExportEventsRequest;
+import com.onlyspans.eventlogs.dto.ExportJobDto;
+import com.onlyspans.eventlogs.dto.ExportJobStatus;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportJobIntegrationTest extends BaseIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/events/export/jobs";
+    }
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void exportJob_shouldCompleteAndServeResumableDownload() throws IOException {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            EventEntity event = new EventEntity();
+            event.setTimestamp(Instant.now());
+            event.setUser("user" + i);
+            event.setCategory("category");
+            event.setAction("action");
+            event.setTenant("tenant");
+            eventRepository.save(event);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // When
+        ResponseEntity<ExportJobDto> submitted = restTemplate.postForEntity(getBaseUrl(),
+            new HttpEntity<>(new ExportEventsRequest(), headers), ExportJobDto.class);
+        String jobUrl = getBaseUrl() + "/" + submitted.getBody().getId();
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+            restTemplate.getForObject(jobUrl, ExportJobDto.class).getStatus() == ExportJobStatus.COMPLETED);
+
+        byte[] full = restTemplate.getForObject(jobUrl + "/download", byte[].class);
+        HttpHeaders rangeHeaders = new HttpHeaders();
+        rangeHeaders.setRange(List.of(HttpRange.createByteRange(10)));
+        ResponseEntity<byte[]> tail = restTemplate.exchange(jobUrl + "/download", HttpMethod.GET,
+            new HttpEntity<>(rangeHeaders), byte[].class);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+        ExportJobDto job = restTemplate.getForObject(jobUrl, ExportJobDto.class);
+        assertEquals(50L, job.getRows());
+        assertEquals(job.getSizeBytes(), full.length);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, tail.getStatusCode());
+        assertArrayEquals(Arrays.copyOfRange(full, 10, full.length), tail.getBody());
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(full))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(51, csv.lines().count());
+        }
+    }
+
+    @Test
+    void exportJob_unknownId_shouldReturnNotFound() {
+        // When / Then
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.NotFound.class,
+            () -> restTemplate.getForObject(getBaseUrl() + "/00000000-0000-0000-0000-000000000000",
+                ExportJobDto.class));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+}
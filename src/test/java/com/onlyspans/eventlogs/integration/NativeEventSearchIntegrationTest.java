@@ -0,0 +1,143 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.PagedResult;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.TotalMode;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.storage.EventStorage;
+import com.onlyspans.eventlogs.storage.IEventStorage;
+import com.onlyspans.eventlogs.storage.JpaEventWriter;
+import com.onlyspans.eventlogs.storage.SearchEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "event-logs.search.engine=native")
+class NativeEventSearchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private IEventStorage eventStorage;
+
+    @Autowired
+    private NativeEventQueryRepository nativeQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void search_shouldFilterSortAndCount() {
+        // Given
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        eventStorage.add(List.of(
+            createEvent("tenant-a", "bob", base),
+            createEvent("tenant-a", "alice", base.plusSeconds(60)),
+            createEvent("tenant-b", "carol", base.plusSeconds(120))));
+
+        QueryDto query = new QueryDto();
+        query.setTenant("tenant-a");
+        query.setSortBy("user");
+        query.setSortOrder("asc");
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(2L, result.getTotal());
+        assertEquals(List.of("alice", "bob"), result.getItems().stream().map(EventEntity::getUser).toList());
+        assertEquals(base.plusSeconds(60), result.getItems().get(0).getTimestamp());
+        assertEquals(2L, eventStorage.count(query));
+    }
+
+    @Test
+    void search_withCursor_shouldWalkAllEventsWithSameTimestamp() {
+        // Given
+        Instant timestamp = Instant.parse("2026-01-15T10:00:00Z");
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            events.add(createEvent("tenant-a", "user-" + i, timestamp));
+        }
+        eventStorage.add(events);
+
+        // When
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            QueryDto query = new QueryDto();
+            query.setSize(3);
+            query.setCursor(cursor);
+            PagedResult<EventEntity> page = eventStorage.search(query);
+            page.getItems().forEach(event -> seen.add(event.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(7, seen.size());
+        assertEquals(7, seen.stream().distinct().count());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SearchEngine.class)
+    void search_withCursorAndExactTotal_shouldCountAllMatchingEvents(SearchEngine engine) {
+        // Given
+        Instant base = Instant.parse("2026-01-15T10:00:00Z");
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(createEvent("tenant-a", "user-" + i, base.plusSeconds(i)));
+        }
+        events.add(createEvent("tenant-b", "other", base));
+        eventStorage.add(events);
+        EventStorage storage = new EventStorage(eventRepository, new JpaEventWriter(eventRepository),
+            nativeQueryRepository, engine, null, null);
+
+        QueryDto first = new QueryDto();
+        first.setTenant("tenant-a");
+        first.setSize(2);
+        String cursor = storage.search(first).getNextCursor();
+
+        QueryDto next = new QueryDto();
+        next.setTenant("tenant-a");
+        next.setSize(2);
+        next.setCursor(cursor);
+        next.setTotalMode(TotalMode.EXACT);
+
+        // When
+        PagedResult<EventEntity> result = storage.search(next);
+
+        // Then
+        assertEquals(5L, result.getTotal());
+        assertEquals(List.of("user-2", "user-1"), result.getItems().stream().map(EventEntity::getUser).toList());
+    }
+
+    private EventEntity createEvent(String tenant, String user, Instant timestamp) {
+        EventEntity entity = new EventEntity();
+        entity.setTimestamp(timestamp);
+        entity.setUser(user);
+        entity.setCategory("category");
+        entity.setAction("action");
+        entity.setTenant(tenant);
+        return entity;
+    }
+}
@@ -0,0 +1,152 @@
+package com.onlyspans.eventlogs.integration;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.repository.ParallelEventQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "event-logs.export.parallel.slices=4",
+    "event-logs.export.parallel.min-range=PT1H",
+    "event-logs.export.parallel.buffer-rows=16"
+})
+class ParallelExportIntegrationTest extends BaseIntegrationTest {
+
+    private static final Instant START = Instant.parse("2026-01-15T00:00:00Z");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private NativeEventQueryRepository nativeQueryRepository;
+
+    @Autowired
+    private ParallelEventQueryRepository parallelQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            events.add(createEvent("user-" + (i % 37), START.plus(i * 3L, ChronoUnit.MINUTES)));
+        }
+        // Same timestamp on both sides of the first slice boundary (06:00)
+        for (int i = 0; i < 5; i++) {
+            events.add(createEvent("user-boundary", START.plus(6, ChronoUnit.HOURS)));
+            events.add(createEvent("user-boundary", START.plus(6, ChronoUnit.HOURS).minus(1, ChronoUnit.MICROS)));
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void stream_sortedByTimestamp_shouldMatchSerialExport() {
+        // Given
+        QueryDto query = rangeQuery();
+        assertTrue(parallelQueryRepository.supports(query));
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            // When
+            List<UUID> serial = serial(query, "timestamp", direction, 0);
+            List<UUID> parallel = parallel(query, "timestamp", direction, 0);
+
+            // Then
+            assertEquals(410, parallel.size());
+            assertEquals(serial, parallel, direction.name());
+        }
+    }
+
+    @Test
+    void stream_sortedByUser_shouldMergeSlicesInOrder() {
+        // Given
+        QueryDto query = rangeQuery();
+
+        // When
+        List<UUID> serial = serial(query, "user", Sort.Direction.DESC, 0);
+        List<UUID> parallel = parallel(query, "user", Sort.Direction.DESC, 0);
+
+        // Then
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    void stream_withMaxRows_shouldStopAfterLimit() {
+        // Given
+        QueryDto query = rangeQuery();
+
+        // When
+        List<UUID> parallel = parallel(query, "timestamp", Sort.Direction.ASC, 50);
+
+        // Then
+        assertEquals(serial(query, "timestamp", Sort.Direction.ASC, 50), parallel);
+    }
+
+    @Test
+    void stream_shouldReadFromOneSnapshot() {
+        // Given
+        QueryDto query = rangeQuery();
+        List<UUID> ids = new ArrayList<>();
+
+        // When
+        parallelQueryRepository.stream(query, "timestamp", Sort.Direction.ASC, 0, event -> {
+            if (ids.isEmpty()) {
+                eventRepository.save(createEvent("late", START.plus(23, ChronoUnit.HOURS)));
+            }
+            ids.add(event.getId());
+        });
+
+        // Then
+        assertEquals(410, ids.size());
+        assertEquals(411, eventRepository.count());
+    }
+
+    private QueryDto rangeQuery() {
+        QueryDto query = new QueryDto();
+        query.setStartDate(START);
+        query.setEndDate(START.plus(1, ChronoUnit.DAYS));
+        return query;
+    }
+
+    private List<UUID> serial(QueryDto query, String sortField, Sort.Direction direction, int maxRows) {
+        List<UUID> ids = new ArrayList<>();
+        nativeQueryRepository.stream(query, sortField, direction, maxRows, event -> ids.add(event.getId()));
+        return ids;
+    }
+
+    private List<UUID> parallel(QueryDto query, String sortField, Sort.Direction direction, int maxRows) {
+        List<UUID> ids = new ArrayList<>();
+        long rows = parallelQueryRepository.stream(query, sortField, direction, maxRows,
+            event -> ids.add(event.getId()));
+        assertEquals(ids.size(), rows);
+        return ids;
+    }
+
+    private EventEntity createEvent(String user, Instant timestamp) {
+        EventEntity entity = new EventEntity();
+        entity.setTimestamp(timestamp);
+        entity.setUser(user);
+        entity.setCategory("category");
+        entity.setAction("action");
+        entity.setTenant("tenant-a");
+        return entity;
+    }
+}
@@ -2,6 +2,7 @@ package com.onlyspans.eventlogs.integration;
 
 import com.onlyspans.eventlogs.entity.EventEntity;
 import com.onlyspans.eventlogs.entity.SettingsEntity;
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
 import com.onlyspans.eventlogs.repository.EventRepository;
 import com.onlyspans.eventlogs.repository.SettingsRepository;
 import com.onlyspans.eventlogs.service.RetentionService;
@@ -28,6 +29,9 @@ class RetentionServiceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private SettingsRepository settingsRepository;
 
+    @Autowired
+    private EventPartitionRepository partitionRepository;
+
     @BeforeEach
     void setUp() {
         eventRepository.deleteAll();
@@ -196,6 +200,30 @@ class RetentionServiceIntegrationTest extends BaseIntegrationTest {
                 .allMatch(e -> e.getTimestamp().isAfter(now.minus(11, ChronoUnit.DAYS))));
     }
 
+    @Test
+    void applyRetention_shouldDropExpiredPartitionsAndKeepBoundaryRows() {
+        // Given - retention 30 days, one partition entirely before the cutoff
+        SettingsEntity settings = new SettingsEntity("global", 30, Instant.now(), "test");
+        settingsRepository.save(settings);
+
+        Instant now = Instant.now();
+        Instant expiredFrom = now.minus(200, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+        partitionRepository.createPartition("events_p_retention_expired", expiredFrom,
+            expiredFrom.plus(10, ChronoUnit.DAYS));
+        createEventWithTimestamp(expiredFrom.plus(1, ChronoUnit.DAYS)); // Dropped with its partition
+        createEventWithTimestamp(now.minus(31, ChronoUnit.DAYS)); // Deleted row by row
+        createEventWithTimestamp(now.minus(29, ChronoUnit.DAYS)); // Should be kept
+
+        // When
+        retentionService.applyRetention();
+
+        // Then
+        assertTrue(partitionRepository.findPartitions().stream()
+                .noneMatch(p -> p.name().equals("events_p_retention_expired")));
+        List<EventEntity> remaining = eventRepository.findAll();
+        assertEquals(1, remaining.size());
+    }
+
     private EventEntity createEventWithTimestamp(Instant timestamp) {
         EventEntity event = new EventEntity();
         event.setTimestamp(timestamp);
@@ -0,0 +1,136 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentStateRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DocumentStateRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new DocumentStateRepository(jdbcTemplate, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_shouldUpsertOneRowPerDocumentInKeyOrderWithLatestFieldValues() throws Exception {
+        // Given
+        EventEntity renamed = createEvent("tenant-a", "doc-1", "2026-03-01T10:00:00Z", "alice",
+            change("title", "Draft", "Plan"), change("status", null, "draft"));
+        EventEntity published = createEvent("tenant-a", "doc-1", "2026-03-01T10:05:00Z", "bob",
+            change("status", "draft", "published"));
+        EventEntity lateRename = createEvent("tenant-a", "doc-1", "2026-03-01T09:00:00Z", "carol",
+            change("title", null, "Draft"));
+        EventEntity other = createEvent(null, "doc-2", "2026-03-01T10:00:00Z", "dave");
+        EventEntity noDocument = createEvent("tenant-a", null, "2026-03-01T10:00:00Z", "erin");
+
+        // When
+        repository.apply(List.of(renamed, published, lateRename, other, noDocument));
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+
+        Object[] empty = rows.getValue().get(0);
+        assertEquals("", empty[0]);
+        assertEquals("doc-2", empty[1]);
+        assertEquals(0, objectMapper.readTree((String) empty[2]).size());
+        assertEquals(1L, empty[3]);
+
+        Object[] doc = rows.getValue().get(1);
+        assertEquals("tenant-a", doc[0]);
+        assertEquals("doc-1", doc[1]);
+        JsonNode fields = objectMapper.readTree((String) doc[2]);
+        assertEquals("Plan", fields.path("title").path("value").asText());
+        assertEquals("2026-03-01T10:00:00Z", fields.path("title").path("changedAt").asText());
+        assertEquals("published", fields.path("status").path("value").asText());
+        assertEquals(published.getId().toString(), fields.path("status").path("eventId").asText());
+        assertEquals(3L, doc[3]);
+        assertEquals(Instant.parse("2026-03-01T09:00:00Z").atOffset(ZoneOffset.UTC), doc[4]);
+        assertEquals(Instant.parse("2026-03-01T10:05:00Z").atOffset(ZoneOffset.UTC), doc[5]);
+        assertEquals(published.getId(), doc[6]);
+        assertEquals("bob", doc[7]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_withEqualTimestamps_shouldOrderIdsAsUnsignedLikePostgres() throws Exception {
+        // Given - signed comparison would put the high-bit id first
+        EventEntity low = createEvent("tenant-a", "doc-1", "2026-03-01T10:00:00Z", "alice",
+            change("status", null, "low"));
+        low.setId(new UUID(0x0100000000000000L, 0));
+        EventEntity high = createEvent("tenant-a", "doc-1", "2026-03-01T10:00:00Z", "bob",
+            change("status", null, "high"));
+        high.setId(new UUID(0x8000000000000000L, 0));
+
+        // When
+        repository.apply(List.of(high, low));
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        Object[] doc = rows.getValue().get(0);
+        assertEquals("high", objectMapper.readTree((String) doc[2]).path("status").path("value").asText());
+        assertEquals(high.getId(), doc[6]);
+        assertEquals("bob", doc[7]);
+    }
+
+    @Test
+    void apply_withoutDocuments_shouldNotTouchDatabase() {
+        // When
+        repository.apply(List.of(createEvent("tenant-a", null, "2026-03-01T10:00:00Z", "alice")));
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static EventEntity createEvent(String tenant, String document, String timestamp, String user,
+                                           EventEntity.Change... changes) {
+        EventEntity event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTenant(tenant);
+        event.setDocumentName(document);
+        event.setTimestamp(Instant.parse(timestamp));
+        event.setUser(user);
+        if (changes.length > 0) {
+            EventEntity.EventDetails details = new EventEntity.EventDetails();
+            details.setChanges(List.of(changes));
+            event.setDetails(details);
+        }
+        return event;
+    }
+
+    private static EventEntity.Change change(String field, String oldValue, String newValue) {
+        EventEntity.Change change = new EventEntity.Change();
+        change.setField(field);
+        change.setOldValue(oldValue);
+        change.setNewValue(newValue);
+        return change;
+    }
+}
@@ -0,0 +1,61 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCursorTest {
+
+    @Test
+    void encode_shouldRoundTrip() {
+        // Given
+        EventCursor cursor = new EventCursor("user", Sort.Direction.ASC, "name.with|separators", UUID.randomUUID());
+
+        // When
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_shouldRoundTripNullValue() {
+        // Given
+        EventCursor cursor = new EventCursor("traceId", Sort.Direction.DESC, null, UUID.randomUUID());
+
+        // When
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Then
+        assertNull(decoded.value());
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void after_shouldCaptureSortValueAndId() {
+        // Given
+        EventEntity entity = new EventEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTimestamp(Instant.parse("2026-01-15T10:30:00Z"));
+
+        // When
+        EventCursor cursor = EventCursor.after(entity, "timestamp", Sort.Direction.DESC);
+
+        // Then
+        assertEquals("timestamp", cursor.sortField());
+        assertEquals("2026-01-15T10:30:00Z", cursor.value());
+        assertEquals(entity.getId(), cursor.id());
+    }
+
+    @Test
+    void decode_shouldRejectMalformedToken() {
+        assertThrows(InvalidCursorException.class, () -> EventCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> EventCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventRollupRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EventRollupRepository(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void increment_shouldUpsertOneRowPerKeyInKeyOrder() {
+        // Given
+        List<EventEntity> events = List.of(
+            createEvent("tenant-b", "2026-03-01T10:15:30Z", "deploy"),
+            createEvent("tenant-a", "2026-03-01T10:16:00Z", "deploy"),
+            createEvent("tenant-b", "2026-03-01T10:15:59Z", "deploy"),
+            createEvent("tenant-a", "2026-03-01T10:15:00Z", null));
+
+        // When
+        repository.increment(events);
+
+        // Then
+        ArgumentCaptor<List<Object[]>> minutes = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> hours = ArgumentCaptor.forClass(List.class);
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(contains(EventRollupRepository.MINUTE_TABLE), minutes.capture());
+        order.verify(jdbcTemplate).batchUpdate(contains(EventRollupRepository.HOUR_TABLE), hours.capture());
+
+        assertEquals(3, minutes.getValue().size());
+        assertRow(minutes.getValue().get(0), "tenant-a", "2026-03-01T10:15:00Z", "", 1L);
+        assertRow(minutes.getValue().get(1), "tenant-a", "2026-03-01T10:16:00Z", "deploy", 1L);
+        assertRow(minutes.getValue().get(2), "tenant-b", "2026-03-01T10:15:00Z", "deploy", 2L);
+
+        assertEquals(3, hours.getValue().size());
+        assertRow(hours.getValue().get(0), "tenant-a", "2026-03-01T10:00:00Z", "", 1L);
+        assertRow(hours.getValue().get(1), "tenant-a", "2026-03-01T10:00:00Z", "deploy", 1L);
+        assertRow(hours.getValue().get(2), "tenant-b", "2026-03-01T10:00:00Z", "deploy", 2L);
+    }
+
+    @Test
+    void increment_withNoEvents_shouldNotTouchDatabase() {
+        // When
+        repository.increment(List.of());
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void spans_shouldReadWholeHoursFromHourRollupsAndEdgesFromMinuteRollups() {
+        // When
+        List<EventRollupRepository.Span> spans = EventRollupRepository.spans(
+            Instant.parse("2026-03-01T10:15:00Z"), Instant.parse("2026-03-01T13:20:00Z"), false);
+
+        // Then
+        assertEquals(List.of(
+            new EventRollupRepository.Span(EventRollupRepository.HOUR_TABLE,
+                Instant.parse("2026-03-01T11:00:00Z"), Instant.parse("2026-03-01T13:00:00Z")),
+            new EventRollupRepository.Span(EventRollupRepository.MINUTE_TABLE,
+                Instant.parse("2026-03-01T10:15:00Z"), Instant.parse("2026-03-01T11:00:00Z")),
+            new EventRollupRepository.Span(EventRollupRepository.MINUTE_TABLE,
+                Instant.parse("2026-03-01T13:00:00Z"), Instant.parse("2026-03-01T13:20:00Z"))), spans);
+    }
+
+    @Test
+    void spans_withAlignedRange_shouldOnlyReadHourRollups() {
+        // When
+        List<EventRollupRepository.Span> spans = EventRollupRepository.spans(
+            Instant.parse("2026-03-01T10:00:00Z"), Instant.parse("2026-03-02T10:00:00Z"), false);
+
+        // Then
+        assertEquals(List.of(new EventRollupRepository.Span(EventRollupRepository.HOUR_TABLE,
+            Instant.parse("2026-03-01T10:00:00Z"), Instant.parse("2026-03-02T10:00:00Z"))), spans);
+    }
+
+    @Test
+    void spans_withinOneHourOrPerMinute_shouldOnlyReadMinuteRollups() {
+        // Given
+        Instant start = Instant.parse("2026-03-01T10:15:00Z");
+
+        // When / Then
+        assertEquals(List.of(new EventRollupRepository.Span(EventRollupRepository.MINUTE_TABLE, start,
+                Instant.parse("2026-03-01T11:20:00Z"))),
+            EventRollupRepository.spans(start, Instant.parse("2026-03-01T11:20:00Z"), false));
+        assertEquals(List.of(new EventRollupRepository.Span(EventRollupRepository.MINUTE_TABLE, start,
+                Instant.parse("2026-03-01T14:00:00Z"))),
+            EventRollupRepository.spans(start, Instant.parse("2026-03-01T14:00:00Z"), true));
+    }
+
+    private static void assertRow(Object[] row, String tenant, String bucket, String action, long count) {
+        assertEquals(tenant, row[0]);
+        assertEquals(Instant.parse(bucket).atOffset(ZoneOffset.UTC), row[1]);
+        assertEquals("", row[2]);
+        assertEquals(action, row[5]);
+        assertEquals(count, row[6]);
+    }
+
+    private static EventEntity createEvent(String tenant, String timestamp, String action) {
+        EventEntity event = new EventEntity();
+        event.setTenant(tenant);
+        event.setTimestamp(Instant.parse(timestamp));
+        event.setAction(action);
+        return event;
+    }
+}
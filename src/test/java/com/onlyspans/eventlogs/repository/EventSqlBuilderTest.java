@@ -0,0 +1,140 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSqlBuilderTest {
+
+    @Test
+    void select_withoutFilters_shouldOrderBySortFieldAndId() {
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(new QueryDto(), "timestamp", Sort.Direction.DESC,
+            null, 0, 21);
+
+        // Then
+        assertEquals("SELECT " + EventSqlBuilder.COLUMNS
+            + " FROM events ORDER BY timestamp DESC, id DESC LIMIT ?", sql.sql());
+        assertArrayEquals(new Object[]{21}, sql.params());
+    }
+
+    @Test
+    void select_withFilters_shouldBindValuesInColumnOrder() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setTenant("tenant-a");
+        query.setUser("alice");
+        query.setStartDate(Instant.parse("2026-01-01T00:00:00Z"));
+
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(query, "user", Sort.Direction.ASC, null, 40, 11);
+
+        // Then
+        assertEquals("SELECT " + EventSqlBuilder.COLUMNS
+            + " FROM events WHERE user_name = ? AND tenant = ? AND timestamp >= ?"
+            + " ORDER BY user_name ASC, id ASC LIMIT ? OFFSET ?", sql.sql());
+        assertEquals("alice", sql.params()[0]);
+        assertEquals("tenant-a", sql.params()[1]);
+        assertInstanceOf(OffsetDateTime.class, sql.params()[2]);
+        assertEquals(11, sql.params()[3]);
+        assertEquals(40L, sql.params()[4]);
+    }
+
+    @Test
+    void select_withCursor_shouldAddKeysetCondition() {
+        // Given
+        UUID id = UUID.randomUUID();
+        EventCursor cursor = new EventCursor("timestamp", Sort.Direction.DESC, "2026-01-15T10:30:00Z", id);
+
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(new QueryDto(), "timestamp", Sort.Direction.DESC,
+            cursor, 0, 3);
+
+        // Then
+        assertTrue(sql.sql().contains("WHERE (timestamp < ? OR (timestamp = ? AND id < ?))"), sql.sql());
+        assertEquals(4, sql.params().length);
+        assertEquals(id, sql.params()[2]);
+    }
+
+    @Test
+    void select_withNullCursorValueAscending_shouldStayInNullRegion() {
+        // Given
+        EventCursor cursor = new EventCursor("traceId", Sort.Direction.ASC, null, UUID.randomUUID());
+
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(new QueryDto(), "traceId", Sort.Direction.ASC,
+            cursor, 0, 3);
+
+        // Then
+        assertTrue(sql.sql().contains("WHERE (trace_id IS NULL AND id > ?)"), sql.sql());
+    }
+
+    @Test
+    void select_withoutLimit_shouldSelectAllRows() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setTenant("tenant-a");
+
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.select(query, "timestamp", Sort.Direction.ASC, null, 0, 0);
+
+        // Then
+        assertEquals("SELECT " + EventSqlBuilder.COLUMNS
+            + " FROM events WHERE tenant = ? ORDER BY timestamp ASC, id ASC", sql.sql());
+        assertArrayEquals(new Object[]{"tenant-a"}, sql.params());
+    }
+
+    @Test
+    void select_withCodePointOrder_shouldCollateTextSortColumn() {
+        // When
+        String byUser = EventSqlBuilder.select(new QueryDto(), "user", Sort.Direction.ASC, null, 0, 0, true).sql();
+        String byTimestamp = EventSqlBuilder.select(new QueryDto(), "timestamp", Sort.Direction.ASC, null, 0, 0, true)
+            .sql();
+
+        // Then
+        assertTrue(byUser.endsWith(" ORDER BY user_name COLLATE \"C\" ASC, id ASC"), byUser);
+        assertTrue(byTimestamp.endsWith(" ORDER BY timestamp ASC, id ASC"), byTimestamp);
+    }
+
+    @Test
+    void select_shouldReuseStatementTextForSameShape() {
+        // Given
+        QueryDto first = new QueryDto();
+        first.setTenant("tenant-a");
+        QueryDto second = new QueryDto();
+        second.setTenant("tenant-b");
+
+        // When
+        String sql1 = EventSqlBuilder.select(first, "timestamp", Sort.Direction.DESC, null, 0, 20).sql();
+        String sql2 = EventSqlBuilder.select(second, "timestamp", Sort.Direction.DESC, null, 0, 20).sql();
+
+        // Then
+        assertSame(sql1, sql2);
+    }
+
+    @Test
+    void select_shouldRejectUnknownSortField() {
+        assertThrows(IllegalArgumentException.class, () ->
+            EventSqlBuilder.select(new QueryDto(), "details; DROP TABLE events", Sort.Direction.ASC, null, 0, 1));
+    }
+
+    @Test
+    void count_shouldUseSameFilters() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setCategory("login");
+
+        // When
+        EventSqlBuilder.SqlQuery sql = EventSqlBuilder.count(query);
+
+        // Then
+        assertEquals("SELECT count(*) FROM events WHERE category = ?", sql.sql());
+        assertArrayEquals(new Object[]{"login"}, sql.params());
+    }
+}
@@ -0,0 +1,86 @@
+package com.onlyspans.eventlogs.repository;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEventQueryRepositoryTest {
+
+    @Test
+    void slice_shouldCoverRangeWithAdjacentClosedSlices() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setTenant("tenant-a");
+        query.setStartDate(Instant.parse("2026-01-01T00:00:00Z"));
+        query.setEndDate(Instant.parse("2026-01-01T12:00:00Z"));
+
+        // When
+        List<QueryDto> slices = ParallelEventQueryRepository.slice(query, 4);
+
+        // Then
+        assertEquals(4, slices.size());
+        assertEquals(query.getStartDate(), slices.get(0).getStartDate());
+        assertEquals(Instant.parse("2026-01-01T02:59:59.999999Z"), slices.get(0).getEndDate());
+        for (int i = 1; i < slices.size(); i++) {
+            assertEquals(slices.get(i - 1).getEndDate().plus(1, ChronoUnit.MICROS), slices.get(i).getStartDate());
+        }
+        assertEquals(query.getEndDate(), slices.get(3).getEndDate());
+        assertTrue(slices.stream().allMatch(slice -> "tenant-a".equals(slice.getTenant())));
+    }
+
+    @Test
+    void order_shouldMatchPostgresNullAndUuidOrdering() {
+        // Given
+        EventEntity low = event("alice", new UUID(1, 0));
+        EventEntity highBit = event("alice", new UUID(-1, 0));
+        EventEntity upper = event("Bob", new UUID(2, 0));
+        EventEntity nullUser = event(null, new UUID(3, 0));
+        List<EventEntity> events = new ArrayList<>(List.of(nullUser, highBit, low, upper));
+
+        // When
+        events.sort(ParallelEventQueryRepository.order("user", Sort.Direction.ASC));
+        List<EventEntity> ascending = List.copyOf(events);
+        events.sort(ParallelEventQueryRepository.order("user", Sort.Direction.DESC));
+
+        // Then
+        assertEquals(List.of(upper, low, highBit, nullUser), ascending);
+        assertEquals(List.of(nullUser, highBit, low, upper), events);
+    }
+
+    @Test
+    void compareCodePoints_shouldOrderSupplementaryCharactersAfterBmp() {
+        // Given
+        String bmp = "\uFF21";
+        String supplementary = new String(Character.toChars(0x1F600));
+
+        // When / Then
+        assertTrue(bmp.compareTo(supplementary) > 0);
+        assertTrue(ParallelEventQueryRepository.compareCodePoints(bmp, supplementary) < 0);
+        assertTrue(ParallelEventQueryRepository.compareCodePoints("abc", "abcd") < 0);
+        assertEquals(0, ParallelEventQueryRepository.compareCodePoints("abc", "abc"));
+    }
+
+    @Test
+    void order_shouldRejectUnknownSortField() {
+        assertThrows(IllegalArgumentException.class, () ->
+            ParallelEventQueryRepository.order("details", Sort.Direction.ASC));
+    }
+
+    private static EventEntity event(String user, UUID id) {
+        EventEntity event = new EventEntity();
+        event.setId(id);
+        event.setUser(user);
+        event.setTimestamp(Instant.parse("2026-01-01T00:00:00Z"));
+        return event;
+    }
+}
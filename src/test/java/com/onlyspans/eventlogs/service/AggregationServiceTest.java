@@ -0,0 +1,145 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.AggregateEventsRequest;
+import com.onlyspans.eventlogs.dto.AggregateResult;
+import com.onlyspans.eventlogs.dto.AggregationInterval;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.HistogramBucket;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.exception.InvalidAggregationException;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AggregationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:34:56Z");
+
+    @Mock
+    private EventRollupRepository rollupRepository;
+
+    private AggregationService aggregationService;
+
+    @BeforeEach
+    void setUp() {
+        aggregationService = new AggregationService(rollupRepository, new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(aggregationService, "maxBuckets", 1000L);
+        ReflectionTestUtils.setField(aggregationService, "minuteRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(aggregationService, "hourRetention", Duration.ofDays(400));
+    }
+
+    @Test
+    void aggregate_shouldWidenRangeToMinutesAndSumHistogram() {
+        // Given
+        AggregateEventsRequest request = request("2026-03-10T10:15:30Z", "2026-03-10T12:00:01Z");
+        request.setTenant("tenant-a");
+        request.setFacets(List.of(RollupDimension.ACTION, RollupDimension.ACTION));
+        when(rollupRepository.histogram(anyMap(), any(), any(), any())).thenReturn(List.of(
+            new HistogramBucket(Instant.parse("2026-03-10T10:00:00Z"), 3),
+            new HistogramBucket(Instant.parse("2026-03-10T11:00:00Z"), 4)));
+        when(rollupRepository.facets(anyMap(), any(), any(), anyList(), anyInt()))
+            .thenReturn(Map.of(RollupDimension.ACTION, List.of(new FacetValue("deploy", 7))));
+
+        // When
+        AggregateResult result = aggregationService.aggregate(request);
+
+        // Then
+        Instant start = Instant.parse("2026-03-10T10:15:00Z");
+        Instant end = Instant.parse("2026-03-10T12:01:00Z");
+        assertEquals(start, result.getStartDate());
+        assertEquals(end, result.getEndDate());
+        assertEquals(7, result.getTotal());
+        assertEquals(List.of(new FacetValue("deploy", 7)), result.getFacets().get("action"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<RollupDimension, String>> filters = ArgumentCaptor.forClass(Map.class);
+        verify(rollupRepository).histogram(filters.capture(), eq(start), eq(end), eq(AggregationInterval.HOUR));
+        assertEquals("tenant-a", filters.getValue().get(RollupDimension.TENANT));
+        verify(rollupRepository).facets(anyMap(), eq(start), eq(end), eq(List.of(RollupDimension.ACTION)), eq(10));
+    }
+
+    @Test
+    void aggregate_beyondMinuteRetention_shouldWidenToWholeHours() {
+        // Given
+        AggregateEventsRequest request = request("2026-02-01T10:15:00Z", "2026-02-02T08:45:00Z");
+
+        // When
+        AggregateResult result = aggregationService.aggregate(request);
+
+        // Then
+        assertEquals(Instant.parse("2026-02-01T10:00:00Z"), result.getStartDate());
+        assertEquals(Instant.parse("2026-02-02T09:00:00Z"), result.getEndDate());
+        verify(rollupRepository, never()).facets(anyMap(), any(), any(), anyList(), anyInt());
+    }
+
+    @Test
+    void aggregate_perMinuteBeyondMinuteRetention_shouldBeRejected() {
+        // Given
+        AggregateEventsRequest request = request("2026-02-01T10:15:00Z", "2026-02-01T10:45:00Z");
+        request.setInterval(AggregationInterval.MINUTE);
+
+        // When / Then
+        assertThrows(InvalidAggregationException.class, () -> aggregationService.aggregate(request));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void aggregate_withTooManyBuckets_shouldBeRejected() {
+        // Given
+        AggregateEventsRequest request = request("2026-03-09T00:00:00Z", "2026-03-10T00:00:00Z");
+        request.setInterval(AggregationInterval.MINUTE);
+
+        // When / Then
+        assertThrows(InvalidAggregationException.class, () -> aggregationService.aggregate(request));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void aggregate_withEmptyRange_shouldBeRejected() {
+        // Given
+        AggregateEventsRequest request = request("2026-03-10T10:00:00Z", "2026-03-10T10:00:00Z");
+
+        // When / Then
+        assertThrows(InvalidAggregationException.class, () -> aggregationService.aggregate(request));
+    }
+
+    @Test
+    void purgeExpiredRollups_shouldDeleteBeforeHourAlignedCutoffs() {
+        // When
+        aggregationService.purgeExpiredRollups();
+
+        // Then
+        verify(rollupRepository).deleteMinutesBefore(Instant.parse("2026-03-03T12:00:00Z"));
+        verify(rollupRepository).deleteHoursBefore(Instant.parse("2025-02-03T12:00:00Z"));
+    }
+
+    private static AggregateEventsRequest request(String startDate, String endDate) {
+        AggregateEventsRequest request = new AggregateEventsRequest();
+        request.setStartDate(Instant.parse(startDate));
+        request.setEndDate(Instant.parse(endDate));
+        return request;
+    }
+}
@@ -1,10 +1,15 @@
 package com.onlyspans.eventlogs.service;
 
 import com.onlyspans.eventlogs.dto.EventDto;
+import com.onlyspans.eventlogs.dto.EventFacet;
+import com.onlyspans.eventlogs.dto.FacetResult;
+import com.onlyspans.eventlogs.dto.FacetValue;
 import com.onlyspans.eventlogs.dto.PagedResult;
 import com.onlyspans.eventlogs.dto.QueryDto;
 import com.onlyspans.eventlogs.dto.QueryResult;
+import com.onlyspans.eventlogs.dto.TimelineResult;
 import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.export.ExportFormat;
 import com.onlyspans.eventlogs.storage.IEventStorage;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,10 +25,13 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -105,7 +113,40 @@ class EventServiceTest {
         verify(eventStorage).add(captor.capture());
 
         EventEntity entity = captor.getValue().get(0);
-        assertNull(entity.getId()); // Should be null since JPA will generate one
+        assertNotNull(entity.getId());
+        assertEquals(7, entity.getId().version());
+    }
+
+    @Test
+    void ingestEvents_shouldAssignTimeOrderedIdsWhenMissing() {
+        // Given
+        List<EventDto> dtos = List.of(createEventDto(), createEventDto());
+
+        // When
+        eventService.ingestEvents(dtos);
+
+        // Then
+        ArgumentCaptor<List<EventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventStorage).add(captor.capture());
+
+        UUID first = captor.getValue().get(0).getId();
+        UUID second = captor.getValue().get(1).getId();
+        assertEquals(7, first.version());
+        assertEquals(7, second.version());
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test
+    void ingestEvents_shouldCountOnlyEventsInserted() {
+        // Given
+        List<EventDto> dtos = List.of(createEventDto(), createEventDto(), createEventDto());
+        when(eventStorage.add(anyList())).thenReturn(2);
+
+        // When
+        eventService.ingestEvents(dtos);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("event_logs_ingested").counter().count());
     }
 
     @Test
@@ -164,22 +205,67 @@ class EventServiceTest {
     }
 
     @Test
-    void exportCsv_shouldWriteHeadersAndData() throws IOException {
+    void searchEvents_withFacets_shouldAttachFacetCounts() {
         // Given
         QueryDto query = new QueryDto();
-        EventEntity entity = createEventEntity();
-        PagedResult<EventEntity> pagedResult = new PagedResult<>(
-            List.of(entity),
-            1L,
-            0,
-            10000
-        );
+        query.setFacets(List.of(EventFacet.CATEGORY));
+        when(eventStorage.search(query)).thenReturn(new PagedResult<>(List.of(createEventEntity()), 1L, 0, 20));
+        when(eventStorage.facets(query)).thenReturn(new FacetResult(
+            Map.of("category", List.of(new FacetValue("test-category", 1))), true));
 
-        when(eventStorage.search(any(QueryDto.class))).thenReturn(pagedResult);
+        // When
+        QueryResult result = eventService.searchEvents(query);
+
+        // Then
+        assertEquals(List.of(new FacetValue("test-category", 1)), result.getFacets().get("category"));
+        assertTrue(result.isFacetsApproximate());
+    }
+
+    @Test
+    void searchEvents_withoutFacets_shouldNotComputeThem() {
+        // Given
+        QueryDto query = new QueryDto();
+        when(eventStorage.search(query)).thenReturn(new PagedResult<>(List.of(), 0L, 0, 20));
+
+        // When
+        QueryResult result = eventService.searchEvents(query);
+
+        // Then
+        assertNull(result.getFacets());
+        verify(eventStorage, never()).facets(any());
+    }
+
+    @Test
+    void getTimeline_beyondMaxEvents_shouldTruncateWithoutCounting() {
+        // Given
+        ReflectionTestUtils.setField(eventService, "maxTimelineEvents", 2);
+        when(eventStorage.timeline("incident-1", 3))
+            .thenReturn(List.of(createEventEntity(), createEventEntity(), createEventEntity()));
+
+        // When
+        TimelineResult result = eventService.getTimeline("incident-1");
+
+        // Then
+        assertEquals("incident-1", result.getId());
+        assertEquals(2, result.getEvents().size());
+        assertTrue(result.isTruncated());
+        verify(eventStorage, never()).count(any());
+    }
+
+    @Test
+    void export_shouldWriteHeadersAndData() throws IOException {
+        // Given
+        QueryDto query = new QueryDto();
+        EventEntity entity = createEventEntity();
+        when(eventStorage.stream(eq(query), eq(10000), any())).thenAnswer(invocation -> {
+            Consumer<EventEntity> consumer = invocation.getArgument(2);
+            consumer.accept(entity);
+            return 1L;
+        });
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // When
-        eventService.exportCsv(query, outputStream);
+        eventService.export(query, ExportFormat.CSV, outputStream);
 
         // Then
         String csvContent = outputStream.toString();
@@ -189,31 +275,45 @@ class EventServiceTest {
         assertTrue(csvContent.contains("User"));
         assertTrue(csvContent.contains(entity.getId().toString()));
         assertTrue(csvContent.contains(entity.getUser()));
+        assertEquals(1.0, meterRegistry.get("event_logs_exported").counter().count());
     }
 
     @Test
-    void exportCsv_shouldSetMaxExportSizeLimit() {
+    void export_shouldFlushRowsWhileStreaming() {
         // Given
         QueryDto query = new QueryDto();
-
-        PagedResult<EventEntity> pagedResult = new PagedResult<>(
-            List.of(),
-            0L,
-            0,
-            10000
-        );
-        when(eventStorage.search(any(QueryDto.class))).thenReturn(pagedResult);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int[] flushedBeforeEnd = {0};
+        when(eventStorage.stream(eq(query), eq(10000), any())).thenAnswer(invocation -> {
+            Consumer<EventEntity> consumer = invocation.getArgument(2);
+            for (int i = 0; i < 2500; i++) {
+                consumer.accept(createEventEntity());
+            }
+            flushedBeforeEnd[0] = outputStream.size();
+            return 2500L;
+        });
 
         // When
-        eventService.exportCsv(query, new ByteArrayOutputStream());
+        eventService.export(query, ExportFormat.CSV, outputStream);
 
         // Then
-        ArgumentCaptor<QueryDto> captor = ArgumentCaptor.forClass(QueryDto.class);
-        verify(eventStorage).search(captor.capture());
+        assertTrue(flushedBeforeEnd[0] > 0, "Expected rows to reach the stream before the export finished");
+        assertEquals(2501, outputStream.toString().lines().count());
+    }
+
+    @Test
+    void export_withoutMaxExportSize_shouldNotCapRows() {
+        // Given
+        ReflectionTestUtils.setField(eventService, "maxExportSize", 0);
+        QueryDto query = new QueryDto();
+        when(eventStorage.stream(eq(query), eq(0), any())).thenReturn(0L);
+
+        // When
+        eventService.export(query, ExportFormat.CSV, new ByteArrayOutputStream());
 
-        QueryDto capturedQuery = captor.getValue();
-        assertEquals(10000, capturedQuery.getSize()); // Should be set to maxExportSize
-        assertEquals(0, capturedQuery.getPage()); // Should reset page to 0
+        // Then
+        verify(eventStorage).stream(eq(query), eq(0), any());
+        verify(eventStorage, never()).search(any());
     }
 
     private EventDto createEventDto() {
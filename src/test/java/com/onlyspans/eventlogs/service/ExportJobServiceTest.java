@@ -0,0 +1,167 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.dto.ExportJobDto;
+import com.onlyspans.eventlogs.dto.ExportJobStatus;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.exception.ExportJobNotFoundException;
+import com.onlyspans.eventlogs.exception.ExportJobNotReadyException;
+import com.onlyspans.eventlogs.exception.ExportJobRejectedException;
+import com.onlyspans.eventlogs.export.ExportFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPInputStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private IEventService eventService;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private ExportJobService exportJobService;
+
+    @AfterEach
+    void tearDown() {
+        if (exportJobService != null) {
+            exportJobService.shutdown();
+        }
+    }
+
+    @Test
+    void submit_shouldWriteCompressedResultToSpoolDirectory() throws IOException {
+        // Given
+        exportJobService = createService(1, 1, Duration.ofHours(1));
+        when(eventService.export(any(QueryDto.class), eq(ExportFormat.CSV), any(OutputStream.class)))
+            .thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(2);
+                out.write("\"ID\"\n\"1\"\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+
+        // When
+        ExportJobDto submitted = exportJobService.submit(new QueryDto(), ExportFormat.CSV);
+
+        // Then
+        ExportJobDto job = awaitFinished(submitted.getId());
+        assertEquals(ExportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1L, job.getRows());
+        Path result = exportJobService.getResult(submitted.getId());
+        assertEquals(job.getSizeBytes(), Files.size(result));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(result))) {
+            assertEquals("\"ID\"\n\"1\"\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void submit_whenExportFails_shouldMarkJobFailedAndRemovePartialFile() {
+        // Given
+        exportJobService = createService(1, 1, Duration.ofHours(1));
+        when(eventService.export(any(QueryDto.class), eq(ExportFormat.CSV), any(OutputStream.class)))
+            .thenThrow(new RuntimeException("database unavailable"));
+
+        // When
+        ExportJobDto submitted = exportJobService.submit(new QueryDto(), ExportFormat.CSV);
+
+        // Then
+        ExportJobDto job = awaitFinished(submitted.getId());
+        assertEquals(ExportJobStatus.FAILED, job.getStatus());
+        assertEquals("database unavailable", job.getError());
+        assertThrows(ExportJobNotReadyException.class, () -> exportJobService.getResult(submitted.getId()));
+        assertEquals(0, spoolDirectory.toFile().list().length);
+    }
+
+    @Test
+    void submit_whenWorkersAndQueueAreFull_shouldReject() throws InterruptedException {
+        // Given
+        exportJobService = createService(1, 1, Duration.ofHours(1));
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventService.export(any(QueryDto.class), eq(ExportFormat.CSV), any(OutputStream.class)))
+            .thenAnswer(invocation -> {
+                release.await();
+                return 0L;
+            });
+        ExportJobDto running = exportJobService.submit(new QueryDto(), ExportFormat.CSV);
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> exportJobService.getJob(running.getId()).getStatus() == ExportJobStatus.RUNNING);
+        exportJobService.submit(new QueryDto(), ExportFormat.CSV);
+
+        // When / Then
+        assertThrows(ExportJobRejectedException.class,
+            () -> exportJobService.submit(new QueryDto(), ExportFormat.CSV));
+        release.countDown();
+    }
+
+    @Test
+    void removeExpiredJobs_shouldDeleteFinishedJobsAndFiles() {
+        // Given
+        exportJobService = createService(1, 1, Duration.ZERO);
+        when(eventService.export(any(QueryDto.class), eq(ExportFormat.CSV), any(OutputStream.class)))
+            .thenReturn(0L);
+        ExportJobDto submitted = exportJobService.submit(new QueryDto(), ExportFormat.CSV);
+        awaitFinished(submitted.getId());
+
+        // When
+        exportJobService.removeExpiredJobs();
+
+        // Then
+        assertThrows(ExportJobNotFoundException.class, () -> exportJobService.getJob(submitted.getId()));
+        assertEquals(0, spoolDirectory.toFile().list().length);
+    }
+
+    @Test
+    void cleanSpoolDirectory_shouldRemoveFilesOfUnknownJobs() throws IOException {
+        // Given
+        exportJobService = createService(1, 1, Duration.ofHours(1));
+        Files.writeString(spoolDirectory.resolve(UUID.randomUUID() + ".csv.gz"), "stale");
+        Files.writeString(spoolDirectory.resolve(UUID.randomUUID() + ".csv.gz.part"), "stale");
+        Files.writeString(spoolDirectory.resolve("not-a-job.csv.gz"), "stale");
+        Files.writeString(spoolDirectory.resolve("unrelated.txt"), "keep");
+        Files.writeString(spoolDirectory.resolve("README"), "keep");
+
+        // When
+        exportJobService.cleanSpoolDirectory();
+
+        // Then
+        String[] remaining = spoolDirectory.toFile().list();
+        assertNotNull(remaining);
+        Arrays.sort(remaining);
+        assertArrayEquals(new String[]{"README", "unrelated.txt"}, remaining);
+    }
+
+    private ExportJobService createService(int maxConcurrent, int queueCapacity, Duration ttl) {
+        return new ExportJobService(eventService, new SimpleMeterRegistry(), spoolDirectory, maxConcurrent,
+            queueCapacity, ttl);
+    }
+
+    private ExportJobDto awaitFinished(UUID id) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            ExportJobStatus status = exportJobService.getJob(id).getStatus();
+            return status == ExportJobStatus.COMPLETED || status == ExportJobStatus.FAILED;
+        });
+        return exportJobService.getJob(id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.onlyspans.eventlogs.service;
+
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private EventPartitionRepository partitionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartitionMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PartitionMaintenanceService(partitionRepository, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "premake", 2);
+    }
+
+    @Test
+    void ensurePartitions_monthly_shouldCreateCurrentAndPremadeMonths() {
+        // Given
+        ReflectionTestUtils.setField(service, "interval", PartitionInterval.MONTHLY);
+        when(partitionRepository.createPartition(anyString(), any(Instant.class), any(Instant.class)))
+            .thenReturn(true);
+
+        // When
+        int created = service.ensurePartitions(LocalDate.of(2026, 10, 17));
+
+        // Then
+        assertEquals(3, created);
+        verify(partitionRepository).createPartition("events_p202610",
+            Instant.parse("2026-10-01T00:00:00Z"), Instant.parse("2026-11-01T00:00:00Z"));
+        verify(partitionRepository).createPartition("events_p202611",
+            Instant.parse("2026-11-01T00:00:00Z"), Instant.parse("2026-12-01T00:00:00Z"));
+        verify(partitionRepository).createPartition("events_p202612",
+            Instant.parse("2026-12-01T00:00:00Z"), Instant.parse("2027-01-01T00:00:00Z"));
+        assertEquals(3.0, meterRegistry.counter("event_logs_partitions_created").count());
+    }
+
+    @Test
+    void ensurePartitions_daily_shouldCoverCurrentMonthAndPremadeDays() {
+        // Given
+        ReflectionTestUtils.setField(service, "interval", PartitionInterval.DAILY);
+        when(partitionRepository.createPartition(anyString(), any(Instant.class), any(Instant.class)))
+            .thenReturn(false);
+        when(partitionRepository.createPartition(eq("events_p20261019"), any(Instant.class), any(Instant.class)))
+            .thenReturn(true);
+
+        // When
+        int created = service.ensurePartitions(LocalDate.of(2026, 10, 17));
+
+        // Then - October 1st through today plus two days ahead
+        assertEquals(1, created);
+        verify(partitionRepository, times(19)).createPartition(anyString(), any(Instant.class), any(Instant.class));
+        verify(partitionRepository).createPartition("events_p20261001",
+            Instant.parse("2026-10-01T00:00:00Z"), Instant.parse("2026-10-02T00:00:00Z"));
+        verify(partitionRepository).createPartition("events_p20261019",
+            Instant.parse("2026-10-19T00:00:00Z"), Instant.parse("2026-10-20T00:00:00Z"));
+    }
+
+    @Test
+    void ensurePartitions_shouldSkipOverlappingPartitionAndContinue() {
+        // Given
+        ReflectionTestUtils.setField(service, "interval", PartitionInterval.MONTHLY);
+        when(partitionRepository.createPartition(eq("events_p202610"), any(Instant.class), any(Instant.class)))
+            .thenThrow(new DataIntegrityViolationException("would overlap partition"));
+        when(partitionRepository.createPartition(eq("events_p202611"), any(Instant.class), any(Instant.class)))
+            .thenReturn(true);
+        when(partitionRepository.createPartition(eq("events_p202612"), any(Instant.class), any(Instant.class)))
+            .thenReturn(true);
+
+        // When
+        int created = service.ensurePartitions(LocalDate.of(2026, 10, 17));
+
+        // Then
+        assertEquals(2, created);
+    }
+
+    @Test
+    void ensurePartitions_shouldDoNothingWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        // When
+        service.ensurePartitions();
+
+        // Then
+        verifyNoInteractions(partitionRepository);
+    }
+}
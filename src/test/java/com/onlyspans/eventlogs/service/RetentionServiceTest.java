@@ -1,19 +1,30 @@
 package com.onlyspans.eventlogs.service;
 
 import com.onlyspans.eventlogs.dto.SettingsDto;
+import com.onlyspans.eventlogs.entity.RetentionProgressEntity;
+import com.onlyspans.eventlogs.repository.EventPartition;
+import com.onlyspans.eventlogs.repository.EventPartitionRepository;
 import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.RetentionProgressRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,11 +36,25 @@ class RetentionServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventPartitionRepository partitionRepository;
+
+    @Mock
+    private RetentionProgressRepository progressRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SimpleMeterRegistry meterRegistry;
     private RetentionService retentionService;
 
     @BeforeEach
     void setUp() {
-        retentionService = new RetentionService(settingsService, eventRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        retentionService = new RetentionService(settingsService, eventRepository, partitionRepository,
+            progressRepository, taskScheduler, meterRegistry);
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 10);
+        ReflectionTestUtils.setField(retentionService, "chunkPauseMs", 0L);
     }
 
     @Test
@@ -38,7 +63,7 @@ class RetentionServiceTest {
         int retentionDays = 30;
         SettingsDto settings = new SettingsDto(retentionDays, 10000);
         when(settingsService.getSettings()).thenReturn(settings);
-        when(eventRepository.deleteEventsOlderThan(any(Instant.class))).thenReturn(5);
+        when(eventRepository.deleteEventsBefore(any(Instant.class), anyInt())).thenReturn(5);
 
         Instant beforeExecution = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
 
@@ -47,7 +72,7 @@ class RetentionServiceTest {
 
         // Then
         ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
-        verify(eventRepository).deleteEventsOlderThan(captor.capture());
+        verify(eventRepository).deleteEventsBefore(captor.capture(), eq(10));
 
         Instant cutoffDate = captor.getValue();
         assertNotNull(cutoffDate);
@@ -62,14 +87,14 @@ class RetentionServiceTest {
         // Given
         SettingsDto settings = new SettingsDto(90, 10000);
         when(settingsService.getSettings()).thenReturn(settings);
-        when(eventRepository.deleteEventsOlderThan(any(Instant.class))).thenReturn(10);
+        when(eventRepository.deleteEventsBefore(any(Instant.class), anyInt())).thenReturn(10, 0);
 
         // When
         retentionService.applyRetention();
 
         // Then
         verify(settingsService).getSettings();
-        verify(eventRepository).deleteEventsOlderThan(any(Instant.class));
+        verify(eventRepository, times(2)).deleteEventsBefore(any(Instant.class), anyInt());
     }
 
     @Test
@@ -81,7 +106,7 @@ class RetentionServiceTest {
         assertDoesNotThrow(() -> retentionService.applyRetention());
 
         verify(settingsService).getSettings();
-        verify(eventRepository, never()).deleteEventsOlderThan(any(Instant.class));
+        verify(eventRepository, never()).deleteEventsBefore(any(Instant.class), anyInt());
     }
 
     @Test
@@ -89,13 +114,13 @@ class RetentionServiceTest {
         // Given
         SettingsDto settings = new SettingsDto(30, 10000);
         when(settingsService.getSettings()).thenReturn(settings);
-        when(eventRepository.deleteEventsOlderThan(any(Instant.class)))
+        when(eventRepository.deleteEventsBefore(any(Instant.class), anyInt()))
             .thenThrow(new RuntimeException("Delete failed"));
 
         // When/Then - should not throw exception
         assertDoesNotThrow(() -> retentionService.applyRetention());
 
-        verify(eventRepository).deleteEventsOlderThan(any(Instant.class));
+        verify(eventRepository).deleteEventsBefore(any(Instant.class), anyInt());
     }
 
     @Test
@@ -103,13 +128,103 @@ class RetentionServiceTest {
         // Given
         SettingsDto settings = new SettingsDto(60, 10000);
         when(settingsService.getSettings()).thenReturn(settings);
-        when(eventRepository.deleteEventsOlderThan(any(Instant.class))).thenReturn(42);
+        when(eventRepository.deleteEventsBefore(any(Instant.class), anyInt())).thenReturn(4);
 
         // When
         retentionService.applyRetention();
 
         // Then
-        verify(eventRepository).deleteEventsOlderThan(any(Instant.class));
+        verify(eventRepository).deleteEventsBefore(any(Instant.class), anyInt());
         // The method logs the count but doesn't return it, verify it was called
     }
+
+    @Test
+    void applyRetention_shouldDropPartitionsEntirelyBeforeCutoff() {
+        // Given
+        SettingsDto settings = new SettingsDto(30, 10000);
+        when(settingsService.getSettings()).thenReturn(settings);
+        Instant now = Instant.now();
+        EventPartition expired = new EventPartition("events_p_expired",
+            now.minus(90, ChronoUnit.DAYS), now.minus(60, ChronoUnit.DAYS), 4096);
+        EventPartition boundary = new EventPartition("events_p_boundary",
+            now.minus(45, ChronoUnit.DAYS), now.minus(15, ChronoUnit.DAYS), 8192);
+        EventPartition current = new EventPartition("events_p_current",
+            now.minus(15, ChronoUnit.DAYS), now.plus(15, ChronoUnit.DAYS), 8192);
+        EventPartition defaultPartition = new EventPartition("events_default", null, null, 1024);
+        when(partitionRepository.findPartitions()).thenReturn(List.of(defaultPartition, expired, boundary, current));
+        when(eventRepository.deleteEventsBefore(any(Instant.class), anyInt())).thenReturn(7);
+
+        // When
+        retentionService.applyRetention();
+
+        // Then
+        verify(partitionRepository).dropPartition("events_p_expired");
+        verify(partitionRepository, never()).dropPartition("events_p_boundary");
+        verify(partitionRepository, never()).dropPartition("events_p_current");
+        verify(partitionRepository, never()).dropPartition("events_default");
+        verify(eventRepository).deleteEventsBefore(any(Instant.class), anyInt());
+        assertEquals(1.0, meterRegistry.counter("event_logs_retention_partitions_dropped").count());
+        assertEquals(4096.0, meterRegistry.counter("event_logs_retention_bytes_reclaimed").count());
+        assertEquals(7.0, meterRegistry.counter("event_logs_retention_rows_deleted").count());
+    }
+
+    @Test
+    void applyRetention_shouldDeleteInChunksUntilExhausted() {
+        // Given
+        when(settingsService.getSettings()).thenReturn(new SettingsDto(30, 10000));
+        when(eventRepository.countByTimestampBefore(any(Instant.class))).thenReturn(25L);
+        when(eventRepository.deleteEventsBefore(any(Instant.class), eq(10))).thenReturn(10, 10, 5);
+
+        // When
+        retentionService.applyRetention();
+
+        // Then
+        verify(eventRepository, times(3)).deleteEventsBefore(any(Instant.class), eq(10));
+        assertEquals(25.0, meterRegistry.counter("event_logs_retention_rows_deleted").count());
+        assertEquals(0.0, meterRegistry.get("event_logs_retention_remaining_estimate").gauge().value());
+
+        ArgumentCaptor<RetentionProgressEntity> captor = ArgumentCaptor.forClass(RetentionProgressEntity.class);
+        verify(progressRepository, atLeastOnce()).save(captor.capture());
+        RetentionProgressEntity progress = captor.getValue();
+        assertEquals(25L, progress.getRowsDeleted());
+        assertNotNull(progress.getCompletedAt());
+    }
+
+    @Test
+    void resumeInterruptedRun_shouldScheduleRunWithOriginalCutoff() {
+        // Given
+        Instant originalCutoff = Instant.parse("2026-01-01T00:00:00Z");
+        RetentionProgressEntity interrupted = new RetentionProgressEntity(originalCutoff);
+        interrupted.setRowsDeleted(100);
+        when(progressRepository.findById("events")).thenReturn(Optional.of(interrupted));
+        when(eventRepository.deleteEventsBefore(eq(originalCutoff), anyInt())).thenReturn(3);
+
+        // When
+        retentionService.resumeInterruptedRun();
+
+        // Then
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+        verifyNoInteractions(eventRepository);
+
+        task.getValue().run();
+        verify(settingsService, never()).getSettings();
+        verify(eventRepository).deleteEventsBefore(originalCutoff, 10);
+        assertEquals(103L, interrupted.getRowsDeleted());
+        assertTrue(interrupted.isCompleted());
+    }
+
+    @Test
+    void resumeInterruptedRun_shouldDoNothingWhenLastRunCompleted() {
+        // Given
+        RetentionProgressEntity completed = new RetentionProgressEntity(Instant.now());
+        completed.setCompletedAt(Instant.now());
+        when(progressRepository.findById("events")).thenReturn(Optional.of(completed));
+
+        // When
+        retentionService.resumeInterruptedRun();
+
+        // Then
+        verifyNoInteractions(settingsService, eventRepository, taskScheduler);
+    }
 }
@@ -0,0 +1,288 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.PagedResult;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEventStorageTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private IEventStorage delegate;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingEventStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new CachingEventStorage(delegate, meterRegistry, 2, 3, Duration.ofMinutes(5),
+            Duration.ofSeconds(15), Duration.ofHours(1), clock);
+        lenient().when(delegate.search(any(QueryDto.class)))
+            .thenAnswer(invocation -> page(createEvent("tenant-a", NOW)));
+    }
+
+    @Test
+    void search_withEquivalentQueries_shouldHitCache() {
+        // Given
+        QueryDto first = tenantQuery("tenant-a");
+        QueryDto second = tenantQuery("tenant-a");
+        second.setSortOrder("DESC");
+        second.setUser("");
+
+        // When
+        PagedResult<EventEntity> computed = storage.search(first);
+        PagedResult<EventEntity> cached = storage.search(second);
+
+        // Then
+        verify(delegate, times(1)).search(any(QueryDto.class));
+        assertEquals(computed.getItems(), cached.getItems());
+        assertEquals(1.0, meterRegistry.get("event_logs_search_cache_requests").tag("result", "hit")
+            .counter().count());
+        assertEquals(0.5, meterRegistry.get("event_logs_search_cache_hit_ratio").gauge().value());
+    }
+
+    @Test
+    void search_openRange_shouldBeInvalidatedByWriteToSameTenantOnly() {
+        // Given
+        QueryDto tenantA = tenantQuery("tenant-a");
+        QueryDto tenantB = tenantQuery("tenant-b");
+        storage.search(tenantA);
+        storage.search(tenantB);
+
+        // When
+        storage.add(List.of(createEvent("tenant-a", NOW)));
+        storage.search(tenantA);
+        storage.search(tenantB);
+
+        // Then
+        verify(delegate, times(2)).search(tenantA);
+        verify(delegate, times(1)).search(tenantB);
+        assertEquals(1.0, meterRegistry.get("event_logs_search_cache_evictions").tag("cause", "stale")
+            .counter().count());
+    }
+
+    @Test
+    void search_withoutTenant_shouldBeInvalidatedByAnyWrite() {
+        // Given
+        QueryDto query = new QueryDto();
+        storage.search(query);
+
+        // When
+        storage.add(List.of(createEvent("tenant-b", NOW)));
+        storage.search(query);
+
+        // Then
+        verify(delegate, times(2)).search(query);
+    }
+
+    @Test
+    void search_closedRange_shouldOnlyBeInvalidatedByLateEvents() {
+        // Given
+        QueryDto query = tenantQuery("tenant-a");
+        query.setEndDate(NOW.minus(Duration.ofHours(1)));
+        storage.search(query);
+
+        // When - a current event, then one from inside the closed range
+        storage.add(List.of(createEvent("tenant-a", NOW)));
+        storage.search(query);
+        storage.add(List.of(createEvent("tenant-a", NOW.minus(Duration.ofHours(2)))));
+        storage.search(query);
+
+        // Then
+        verify(delegate, times(2)).search(query);
+    }
+
+    @Test
+    void search_shouldExpireEntriesAfterTtl() {
+        // Given
+        QueryDto open = tenantQuery("tenant-a");
+        QueryDto closed = tenantQuery("tenant-b");
+        closed.setEndDate(NOW.minus(Duration.ofHours(1)));
+        storage.search(open);
+        storage.search(closed);
+
+        // When
+        clock.advance(Duration.ofSeconds(20));
+        storage.search(open);
+        storage.search(closed);
+
+        // Then
+        verify(delegate, times(2)).search(open);
+        verify(delegate, times(1)).search(closed);
+    }
+
+    @Test
+    void search_shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        // Given
+        QueryDto first = tenantQuery("tenant-a");
+        QueryDto second = tenantQuery("tenant-b");
+        QueryDto third = tenantQuery("tenant-c");
+        storage.search(first);
+        storage.search(second);
+        storage.search(first);
+
+        // When
+        storage.search(third);
+        storage.search(first);
+        storage.search(second);
+
+        // Then
+        assertEquals(2, storage.size());
+        verify(delegate, times(1)).search(first);
+        verify(delegate, times(2)).search(second);
+        assertEquals(2.0, meterRegistry.get("event_logs_search_cache_evictions").tag("cause", "size")
+            .counter().count());
+    }
+
+    @Test
+    void search_shouldEvictLeastRecentlyUsedBeyondMaxRows() {
+        // Given
+        QueryDto small = tenantQuery("tenant-a");
+        QueryDto large = tenantQuery("tenant-b");
+        when(delegate.search(large)).thenReturn(page(createEvent("tenant-b", NOW), createEvent("tenant-b", NOW),
+            createEvent("tenant-b", NOW)));
+        storage.search(small);
+
+        // When
+        storage.search(large);
+        storage.search(large);
+        storage.search(small);
+
+        // Then
+        verify(delegate, times(2)).search(small);
+        verify(delegate, times(1)).search(large);
+        assertEquals(1, storage.size());
+        assertEquals(1L, storage.rows());
+    }
+
+    @Test
+    void search_shouldNotCachePagesLargerThanMaxRows() {
+        // Given
+        QueryDto query = tenantQuery("tenant-a");
+        EventEntity event = createEvent("tenant-a", NOW);
+        when(delegate.search(query)).thenReturn(page(event, event, event, event));
+
+        // When
+        storage.search(query);
+        storage.search(query);
+
+        // Then
+        verify(delegate, times(2)).search(query);
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    void search_withCursor_shouldIgnorePageNumber() {
+        // Given
+        QueryDto first = tenantQuery("tenant-a");
+        first.setCursor("cursor");
+        first.setPage(3);
+        QueryDto second = tenantQuery("tenant-a");
+        second.setCursor("cursor");
+
+        // When
+        storage.search(first);
+        storage.search(second);
+
+        // Then
+        verify(delegate, times(1)).search(any(QueryDto.class));
+    }
+
+    @Test
+    void search_shouldNotCacheFailures() {
+        // Given
+        QueryDto query = tenantQuery("tenant-a");
+        when(delegate.search(query)).thenThrow(new RuntimeException("Database error"))
+            .thenReturn(page(createEvent("tenant-a", NOW)));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> storage.search(query));
+        assertEquals(1, storage.search(query).getItems().size());
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    void count_andStream_shouldPassThrough() {
+        // Given
+        QueryDto query = tenantQuery("tenant-a");
+        when(delegate.count(query)).thenReturn(3L);
+
+        // When
+        storage.count(query);
+        storage.count(query);
+        storage.stream(query, 0, event -> { });
+
+        // Then
+        verify(delegate, times(2)).count(query);
+        verify(delegate).stream(eq(query), eq(0), any());
+    }
+
+    private static QueryDto tenantQuery(String tenant) {
+        QueryDto query = new QueryDto();
+        query.setTenant(tenant);
+        return query;
+    }
+
+    private static PagedResult<EventEntity> page(EventEntity... events) {
+        return new PagedResult<>(List.of(events), events.length, 0, 20);
+    }
+
+    private static EventEntity createEvent(String tenant, Instant timestamp) {
+        EventEntity event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTenant(tenant);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
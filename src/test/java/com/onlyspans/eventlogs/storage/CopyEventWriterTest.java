@@ -0,0 +1,97 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyEventWriterTest {
+
+    private CopyEventWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CopyEventWriter(null, null, new ObjectMapper());
+    }
+
+    @Test
+    void appendRow_shouldWriteTabSeparatedColumnsWithNullMarkers() throws IOException {
+        // Given
+        EventEntity event = createEventEntity();
+        StringWriter out = new StringWriter();
+
+        // When
+        writer.appendRow(out, event);
+
+        // Then
+        String[] columns = out.toString().split("\t", -1);
+        assertEquals(12, columns.length);
+        assertEquals(event.getId().toString(), columns[0]);
+        assertEquals("2026-01-15T10:30:00Z", columns[1]);
+        assertEquals("test-user", columns[2]);
+        assertEquals("\\N", columns[9]);
+        assertEquals("\\N\n", columns[11]);
+    }
+
+    @Test
+    void appendRow_shouldEscapeControlCharactersAndBackslashes() throws IOException {
+        // Given
+        EventEntity event = createEventEntity();
+        event.setAction("line1\nline2\tend\\");
+        StringWriter out = new StringWriter();
+
+        // When
+        writer.appendRow(out, event);
+
+        // Then
+        String[] columns = out.toString().split("\t", -1);
+        assertEquals("line1\\nline2\\tend\\\\", columns[4]);
+    }
+
+    @Test
+    void appendRow_shouldEncodeDetailsAsEscapedJson() throws IOException {
+        // Given
+        EventEntity event = createEventEntity();
+        EventEntity.EventDetails details = new EventEntity.EventDetails();
+        details.setAdditionalInfo("path C:\\temp");
+        EventEntity.Change change = new EventEntity.Change();
+        change.setField("title");
+        change.setNewValue("new");
+        details.setChanges(List.of(change));
+        event.setDetails(details);
+        StringWriter out = new StringWriter();
+
+        // When
+        writer.appendRow(out, event);
+
+        // Then
+        String[] columns = out.toString().split("\t", -1);
+        String json = columns[11];
+        assertTrue(json.endsWith("\n"));
+        assertTrue(json.contains("\"field\":\"title\""));
+        // JSON escapes the backslash once, COPY text format escapes each backslash again
+        assertTrue(json.contains("C:\\\\\\\\temp"));
+    }
+
+    private EventEntity createEventEntity() {
+        EventEntity entity = new EventEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTimestamp(Instant.parse("2026-01-15T10:30:00Z"));
+        entity.setUser("test-user");
+        entity.setCategory("test-category");
+        entity.setAction("test-action");
+        entity.setDocumentName("test-document");
+        entity.setProject("test-project");
+        entity.setEnvironment("test-env");
+        entity.setTenant("test-tenant");
+        return entity;
+    }
+}
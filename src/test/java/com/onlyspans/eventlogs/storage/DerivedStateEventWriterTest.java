@@ -0,0 +1,89 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.DocumentStateRepository;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DerivedStateEventWriterTest {
+
+    @Mock
+    private IEventWriter delegate;
+
+    @Mock
+    private EventRollupRepository rollupRepository;
+
+    @Mock
+    private DocumentStateRepository documentStateRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private DerivedStateEventWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+
+        writer = new DerivedStateEventWriter(delegate, rollupRepository, documentStateRepository,
+            transactionTemplate);
+    }
+
+    @Test
+    void write_shouldInsertEventsThenApplyInsertedOnesToRollupsAndDocumentsInOneTransaction() {
+        // Given
+        EventEntity fresh = createEventEntity();
+        List<EventEntity> events = List.of(fresh, createEventEntity());
+        when(delegate.write(events)).thenReturn(List.of(fresh));
+
+        // When
+        List<EventEntity> written = writer.write(events);
+
+        // Then
+        assertEquals(List.of(fresh), written);
+        InOrder order = inOrder(transactionTemplate, delegate, rollupRepository, documentStateRepository);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(delegate).write(events);
+        order.verify(rollupRepository).increment(List.of(fresh));
+        order.verify(documentStateRepository).apply(List.of(fresh));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void write_whenInsertFails_shouldNotTouchDerivedState() {
+        // Given
+        List<EventEntity> events = List.of(createEventEntity());
+        when(delegate.write(events)).thenThrow(new RuntimeException("Database error"));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> writer.write(events));
+        verifyNoInteractions(rollupRepository, documentStateRepository);
+    }
+
+    private EventEntity createEventEntity() {
+        EventEntity entity = new EventEntity();
+        entity.setTimestamp(Instant.now());
+        entity.setCategory("test-category");
+        entity.setAction("test-action");
+        entity.setTenant("test-tenant");
+        return entity;
+    }
+}
@@ -2,10 +2,15 @@ package com.onlyspans.eventlogs.storage;
 
 import com.onlyspans.eventlogs.dto.PagedResult;
 import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.TotalMode;
 import com.onlyspans.eventlogs.entity.EventEntity;
 import com.onlyspans.eventlogs.exception.EventSearchException;
 import com.onlyspans.eventlogs.exception.EventStorageException;
+import com.onlyspans.eventlogs.exception.InvalidCursorException;
+import com.onlyspans.eventlogs.repository.EventCursor;
 import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import com.onlyspans.eventlogs.repository.ParallelEventQueryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,14 +20,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,23 +45,61 @@ class EventStorageTest {
 
     @BeforeEach
     void setUp() {
-        eventStorage = new EventStorage(eventRepository);
+        eventStorage = new EventStorage(eventRepository, new JpaEventWriter(eventRepository), null, SearchEngine.JPA,
+            null, null);
     }
 
     @Test
-    void add_shouldSaveAllEvents() {
+    void add_shouldInsertAllEvents() {
         // Given
         EventEntity entity1 = createEventEntity();
         EventEntity entity2 = createEventEntity();
         List<EventEntity> events = List.of(entity1, entity2);
 
-        when(eventRepository.saveAll(anyList())).thenReturn(events);
+        when(eventRepository.insertIgnoringConflicts(anyList()))
+            .thenAnswer(invocation -> List.of(entity1.getId(), entity2.getId()));
 
         // When
-        eventStorage.add(events);
+        int inserted = eventStorage.add(events);
 
         // Then
-        verify(eventRepository).saveAll(events);
+        assertEquals(2, inserted);
+        verify(eventRepository).insertIgnoringConflicts(events);
+        assertNotNull(entity1.getId());
+        assertNotNull(entity2.getId());
+    }
+
+    @Test
+    void add_shouldInsertWithoutReadingStoredIds() {
+        // Given
+        EventEntity stored = createEventEntity();
+        EventEntity fresh = createEventEntity();
+        stored.setId(UUID.randomUUID());
+        fresh.setId(UUID.randomUUID());
+        when(eventRepository.insertIgnoringConflicts(anyList())).thenReturn(List.of(fresh.getId()));
+
+        // When
+        int inserted = eventStorage.add(List.of(stored, fresh));
+
+        // Then
+        assertEquals(1, inserted);
+        verify(eventRepository).insertIgnoringConflicts(List.of(stored, fresh));
+        verifyNoMoreInteractions(eventRepository);
+    }
+
+    @Test
+    void add_shouldDelegateToConfiguredWriter() {
+        // Given
+        IEventWriter eventWriter = mock(IEventWriter.class);
+        EventStorage storage = new EventStorage(eventRepository, eventWriter, null, SearchEngine.JPA, null, null);
+        List<EventEntity> events = List.of(createEventEntity());
+
+        // When
+        storage.add(events);
+
+        // Then
+        verify(eventWriter).write(events);
+        verify(eventRepository, never()).insertIgnoringConflicts(any());
     }
 
     @Test
@@ -60,7 +108,7 @@ class EventStorageTest {
         eventStorage.add(null);
 
         // Then
-        verify(eventRepository, never()).saveAll(any());
+        verify(eventRepository, never()).insertIgnoringConflicts(any());
     }
 
     @Test
@@ -69,14 +117,14 @@ class EventStorageTest {
         eventStorage.add(List.of());
 
         // Then
-        verify(eventRepository, never()).saveAll(any());
+        verify(eventRepository, never()).insertIgnoringConflicts(any());
     }
 
     @Test
     void add_shouldThrowEventStorageExceptionOnError() {
         // Given
         List<EventEntity> events = List.of(createEventEntity());
-        when(eventRepository.saveAll(anyList())).thenThrow(new RuntimeException("Database error"));
+        when(eventRepository.insertIgnoringConflicts(anyList())).thenThrow(new RuntimeException("Database error"));
 
         // When/Then
         assertThrows(EventStorageException.class, () -> eventStorage.add(events));
@@ -174,6 +222,243 @@ class EventStorageTest {
         assertThrows(EventSearchException.class, () -> eventStorage.search(query));
     }
 
+    @Test
+    void search_shouldAddIdTieBreakerToSort() {
+        // Given
+        QueryDto query = new QueryDto();
+        Page<EventEntity> page = new PageImpl<>(List.of());
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+
+        // When
+        eventStorage.search(query);
+
+        // Then
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(eventRepository).findAll(any(Specification.class), captor.capture());
+        assertTrue(captor.getValue().getSort().getOrderFor("id").isDescending());
+    }
+
+    @Test
+    void search_shouldReturnNextCursorWhenMorePagesExist() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setSize(1);
+        EventEntity entity = createEventEntity();
+        Page<EventEntity> page = new PageImpl<>(List.of(entity), Pageable.ofSize(1), 5);
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertNotNull(result.getNextCursor());
+        EventCursor cursor = EventCursor.decode(result.getNextCursor());
+        assertEquals(entity.getId(), cursor.id());
+        assertEquals(entity.getTimestamp().toString(), cursor.value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withCursor_shouldFetchOneExtraRowAndSkipCount() {
+        // Given
+        EventEntity last = createEventEntity();
+        QueryDto query = new QueryDto();
+        query.setSize(2);
+        query.setCursor(EventCursor.after(last, "timestamp", Sort.Direction.DESC).encode());
+
+        EventEntity first = createEventEntity();
+        EventEntity second = createEventEntity();
+        EventEntity extra = createEventEntity();
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+            .thenReturn(List.of(first, second, extra));
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(List.of(first, second), result.getItems());
+        assertEquals(-1L, result.getTotal());
+        assertTrue(result.isHasNext());
+        assertEquals(TotalMode.NONE, result.getTotalMode());
+        assertEquals(second.getId(), EventCursor.decode(result.getNextCursor()).id());
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(eventRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withCursorAndExactTotal_shouldCountWithoutCursor() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setSize(2);
+        query.setTotalMode(TotalMode.EXACT);
+        query.setCursor(EventCursor.after(createEventEntity(), "timestamp", Sort.Direction.DESC).encode());
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+            .thenReturn(List.of(createEventEntity()));
+        when(eventRepository.count(any(Specification.class))).thenReturn(9L);
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(9L, result.getTotal());
+        assertEquals(TotalMode.EXACT, result.getTotalMode());
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withCursorOnLastPage_shouldNotReturnNextCursor() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setSize(2);
+        query.setCursor(EventCursor.after(createEventEntity(), "timestamp", Sort.Direction.DESC).encode());
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(List.of(createEventEntity()));
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        assertFalse(result.isHasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withTotalModeNone_shouldSkipCountAndUseOffset() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setPage(3);
+        query.setSize(10);
+        query.setTotalMode(TotalMode.NONE);
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), eq(30L), eq(11)))
+            .thenReturn(List.of(createEventEntity()));
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(-1L, result.getTotal());
+        assertFalse(result.isHasNext());
+        assertEquals(TotalMode.NONE, result.getTotalMode());
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(eventRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withTotalModeEstimate_shouldUsePlannerEstimate() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setSize(2);
+        query.setTotalMode(TotalMode.ESTIMATE);
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+            .thenReturn(List.of(createEventEntity(), createEventEntity(), createEventEntity()));
+        when(eventRepository.estimateCount(query)).thenReturn(1200L);
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(1200L, result.getTotal());
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.isHasNext());
+        assertEquals(TotalMode.ESTIMATE, result.getTotalMode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_withTotalModeEstimate_shouldNotReportLessThanRowsSeen() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setPage(1);
+        query.setSize(2);
+        query.setTotalMode(TotalMode.ESTIMATE);
+        when(eventRepository.findRange(any(Specification.class), any(Sort.class), eq(2L), eq(3)))
+            .thenReturn(List.of(createEventEntity(), createEventEntity(), createEventEntity()));
+        when(eventRepository.estimateCount(query)).thenReturn(1L);
+
+        // When
+        PagedResult<EventEntity> result = eventStorage.search(query);
+
+        // Then
+        assertEquals(5L, result.getTotal());
+    }
+
+    @Test
+    void search_withCursorForDifferentSort_shouldThrowInvalidCursorException() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setSortOrder("asc");
+        query.setCursor(EventCursor.after(createEventEntity(), "timestamp", Sort.Direction.DESC).encode());
+
+        // When/Then
+        assertThrows(InvalidCursorException.class, () -> eventStorage.search(query));
+    }
+
+    @Test
+    void search_withNativeEngine_shouldQueryThroughNativeRepository() {
+        // Given
+        NativeEventQueryRepository nativeQueryRepository = mock(NativeEventQueryRepository.class);
+        EventStorage storage = new EventStorage(eventRepository, mock(IEventWriter.class), nativeQueryRepository,
+            SearchEngine.NATIVE, null, null);
+        QueryDto query = new QueryDto();
+        query.setSize(1);
+        when(nativeQueryRepository.find(query, "timestamp", Sort.Direction.DESC, null, 0L, 2))
+            .thenReturn(List.of(createEventEntity(), createEventEntity()));
+        when(nativeQueryRepository.count(query)).thenReturn(7L);
+
+        // When
+        PagedResult<EventEntity> result = storage.search(query);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertEquals(7L, result.getTotal());
+        assertTrue(result.isHasNext());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void stream_shouldDelegateWithRequestedSortAndCap() {
+        // Given
+        NativeEventQueryRepository nativeQueryRepository = mock(NativeEventQueryRepository.class);
+        EventStorage storage = new EventStorage(eventRepository, mock(IEventWriter.class), nativeQueryRepository,
+            SearchEngine.JPA, null, null);
+        QueryDto query = new QueryDto();
+        query.setSortBy("user");
+        query.setSortOrder("asc");
+        Consumer<EventEntity> consumer = event -> { };
+        when(nativeQueryRepository.stream(query, "user", Sort.Direction.ASC, 500, consumer)).thenReturn(42L);
+
+        // When
+        long streamed = storage.stream(query, 500, consumer);
+
+        // Then
+        assertEquals(42L, streamed);
+    }
+
+    @Test
+    void stream_withParallelRange_shouldDelegateToParallelRepository() {
+        // Given
+        NativeEventQueryRepository nativeQueryRepository = mock(NativeEventQueryRepository.class);
+        ParallelEventQueryRepository parallelQueryRepository = mock(ParallelEventQueryRepository.class);
+        EventStorage storage = new EventStorage(eventRepository, mock(IEventWriter.class), nativeQueryRepository,
+            SearchEngine.JPA, parallelQueryRepository, null);
+        QueryDto query = new QueryDto();
+        Consumer<EventEntity> consumer = event -> { };
+        when(parallelQueryRepository.supports(query)).thenReturn(true);
+        when(parallelQueryRepository.stream(query, "timestamp", Sort.Direction.DESC, 0, consumer)).thenReturn(9L);
+
+        // When
+        long streamed = storage.stream(query, 0, consumer);
+
+        // Then
+        assertEquals(9L, streamed);
+        verifyNoInteractions(nativeQueryRepository);
+    }
+
     @Test
     void count_shouldReturnTotalCount() {
         // Given
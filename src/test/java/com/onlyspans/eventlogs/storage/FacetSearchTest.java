@@ -0,0 +1,211 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.EventFacet;
+import com.onlyspans.eventlogs.dto.FacetResult;
+import com.onlyspans.eventlogs.dto.FacetValue;
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.dto.RollupDimension;
+import com.onlyspans.eventlogs.repository.EventRepository;
+import com.onlyspans.eventlogs.repository.EventRollupRepository;
+import com.onlyspans.eventlogs.repository.NativeEventQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FacetSearchTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:34:56Z");
+
+    @Mock
+    private NativeEventQueryRepository nativeQueryRepository;
+
+    @Mock
+    private EventRollupRepository rollupRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private FacetSearch facetSearch;
+
+    @BeforeEach
+    void setUp() {
+        facetSearch = new FacetSearch(nativeQueryRepository, rollupRepository, eventRepository, 1000,
+            Duration.ofDays(7), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void facets_withRollupFiltersAndRecentRange_shouldReadRollups() {
+        // Given
+        QueryDto query = recentQuery();
+        query.setTenant("tenant-a");
+        query.setFacets(List.of(EventFacet.CATEGORY, EventFacet.ACTION, EventFacet.CATEGORY));
+        query.setFacetSize(5);
+        when(rollupRepository.searchFacets(anyMap(), any(), any(), anyList(), anyInt())).thenReturn(Map.of(
+            RollupDimension.CATEGORY, List.of(new FacetValue("deployment", 4))));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertFalse(result.isApproximate());
+        assertEquals(List.of(new FacetValue("deployment", 4)), result.getFacets().get("category"));
+        verify(rollupRepository).searchFacets(anyMap(), eq(query.getStartDate()), eq(query.getEndDate()),
+            eq(List.of(RollupDimension.CATEGORY, RollupDimension.ACTION)), eq(5));
+        verifyNoInteractions(nativeQueryRepository);
+    }
+
+    @Test
+    void usesRollups_withNonRollupFilterOrFacetOrOldRange_shouldBeFalse() {
+        // Given
+        QueryDto byUser = recentQuery();
+        byUser.setUser("alice");
+        byUser.setFacets(List.of(EventFacet.CATEGORY));
+        QueryDto userFacet = recentQuery();
+        userFacet.setFacets(List.of(EventFacet.USER));
+        QueryDto old = recentQuery();
+        old.setStartDate(NOW.minus(Duration.ofDays(30)));
+        old.setFacets(List.of(EventFacet.CATEGORY));
+        QueryDto unbounded = new QueryDto();
+        unbounded.setFacets(List.of(EventFacet.CATEGORY));
+
+        // When / Then
+        for (QueryDto query : List.of(byUser, userFacet, old, unbounded)) {
+            assertFalse(facetSearch.usesRollups(query, query.getFacets()));
+        }
+    }
+
+    @Test
+    void facets_withinRowBudget_shouldReturnExactCounts() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setFacets(List.of(EventFacet.USER));
+        when(eventRepository.estimateCount(query)).thenReturn(5L);
+        when(nativeQueryRepository.facets(query, List.of(EventFacet.USER), 10, 1000)).thenReturn(
+            new NativeEventQueryRepository.FacetCounts(
+                Map.of(EventFacet.USER, List.of(new FacetValue("alice", 3))), 3));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertFalse(result.isApproximate());
+        assertEquals(List.of(new FacetValue("alice", 3)), result.getFacets().get("user"));
+        verify(nativeQueryRepository, never()).sampledFacets(any(), anyList(), anyInt(), anyDouble());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void facets_whenEstimateIsTooLow_shouldReportCountsOfRowsReadUnscaled() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setFacets(List.of(EventFacet.USER));
+        when(eventRepository.estimateCount(query)).thenReturn(800L);
+        when(nativeQueryRepository.facets(query, List.of(EventFacet.USER), 10, 1000)).thenReturn(
+            new NativeEventQueryRepository.FacetCounts(
+                Map.of(EventFacet.USER, List.of(new FacetValue("alice", 1000))), 1000));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertTrue(result.isApproximate());
+        assertEquals(List.of(new FacetValue("alice", 1000)), result.getFacets().get("user"));
+    }
+
+    @Test
+    void facets_beyondRowBudget_shouldScaleSampledCountsBySamplingRate() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setFacets(List.of(EventFacet.USER));
+        when(eventRepository.estimateCount(query)).thenReturn(5000L);
+        when(eventRepository.estimateTableRows()).thenReturn(5000L);
+        when(nativeQueryRepository.sampledFacets(query, List.of(EventFacet.USER), 10, 20.0)).thenReturn(
+            new NativeEventQueryRepository.FacetCounts(Map.of(EventFacet.USER, List.of(
+                new FacetValue("alice", 610), new FacetValue(null, 390))), 1000));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertTrue(result.isApproximate());
+        assertEquals(List.of(new FacetValue("alice", 3050), new FacetValue(null, 1950)),
+            result.getFacets().get("user"));
+        verify(nativeQueryRepository, never()).facets(any(), anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void facets_beyondRowBudget_shouldSizeSampleFromWholeTable() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setFacets(List.of(EventFacet.USER));
+        when(eventRepository.estimateCount(query)).thenReturn(5000L);
+        when(eventRepository.estimateTableRows()).thenReturn(40000L);
+        when(nativeQueryRepository.sampledFacets(query, List.of(EventFacet.USER), 10, 2.5)).thenReturn(
+            new NativeEventQueryRepository.FacetCounts(Map.of(EventFacet.USER, List.of(
+                new FacetValue("alice", 125))), 125));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertTrue(result.isApproximate());
+        assertEquals(List.of(new FacetValue("alice", 5000)), result.getFacets().get("user"));
+    }
+
+    @Test
+    void facets_withSelectiveFilterBeyondRowBudget_shouldGroupRowsReadInsteadOfSampling() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setTenant("tenant-a");
+        query.setFacets(List.of(EventFacet.USER));
+        when(eventRepository.estimateCount(query)).thenReturn(5000L);
+        when(eventRepository.estimateTableRows()).thenReturn(1_000_000L);
+        when(nativeQueryRepository.facets(query, List.of(EventFacet.USER), 10, 1000)).thenReturn(
+            new NativeEventQueryRepository.FacetCounts(
+                Map.of(EventFacet.USER, List.of(new FacetValue("alice", 1000))), 1000));
+
+        // When
+        FacetResult result = facetSearch.facets(query);
+
+        // Then
+        assertTrue(result.isApproximate());
+        assertEquals(List.of(new FacetValue("alice", 1000)), result.getFacets().get("user"));
+        verify(nativeQueryRepository, never()).sampledFacets(any(), anyList(), anyInt(), anyDouble());
+    }
+
+    @Test
+    void facets_withoutFacets_shouldNotQuery() {
+        // When
+        FacetResult result = facetSearch.facets(recentQuery());
+
+        // Then
+        assertTrue(result.getFacets().isEmpty());
+        verifyNoInteractions(nativeQueryRepository, rollupRepository, eventRepository);
+    }
+
+    private static QueryDto recentQuery() {
+        QueryDto query = new QueryDto();
+        query.setStartDate(NOW.minus(Duration.ofHours(2)).plusSeconds(17));
+        query.setEndDate(NOW);
+        return query;
+    }
+}
@@ -0,0 +1,59 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionWatermarkTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private final IngestionWatermark watermark = new IngestionWatermark();
+
+    @Test
+    void recentAndLate_forUnwrittenTenants_shouldNotTrackThem() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, watermark.recent("tenant-" + i));
+            assertEquals(0, watermark.late("tenant-" + i));
+        }
+
+        // Then
+        assertTrue(tenants().isEmpty());
+    }
+
+    @Test
+    void advance_shouldMoveMarksOfWrittenTenantsOnly() {
+        // Given
+        long before = watermark.recent("tenant-a");
+
+        // When
+        watermark.advance(List.of(createEvent("tenant-a", NOW.minus(Duration.ofHours(2)))), NOW);
+
+        // Then
+        assertNotEquals(before, watermark.recent("tenant-a"));
+        assertEquals(1, watermark.late("tenant-a"));
+        assertEquals(0, watermark.recent("tenant-b"));
+        assertEquals(1, watermark.recent(null));
+        assertEquals(Set.of("tenant-a"), tenants().keySet());
+    }
+
+    private Map<?, ?> tenants() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(watermark, "tenants");
+    }
+
+    private static EventEntity createEvent(String tenant, Instant timestamp) {
+        EventEntity event = new EventEntity();
+        event.setTenant(tenant);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+}
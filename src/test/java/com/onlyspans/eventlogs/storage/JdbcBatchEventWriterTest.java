@@ -0,0 +1,111 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcBatchEventWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcBatchEventWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        writer = new JdbcBatchEventWriter(jdbcTemplate, transactionTemplate, new ObjectMapper(), 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_shouldInsertOneStatementPerBatch() {
+        // Given
+        writer = new JdbcBatchEventWriter(jdbcTemplate, transactionTemplate, new ObjectMapper(), 2);
+        List<EventEntity> events = List.of(createEventEntity(), createEventEntity(), createEventEntity());
+
+        // When
+        writer.write(events);
+
+        // Then
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_shouldReturnOnlyEventsTheDatabaseInserted() {
+        // Given
+        EventEntity fresh = createEventEntity();
+        EventEntity redelivered = createEventEntity();
+        fresh.setId(UUID.randomUUID());
+        redelivered.setId(UUID.randomUUID());
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+            .thenReturn(List.of(fresh.getId()));
+
+        // When
+        List<EventEntity> written = writer.write(List.of(fresh, redelivered, fresh));
+
+        // Then
+        assertEquals(List.of(fresh), written);
+    }
+
+    @Test
+    void write_shouldAssignIdsToEventsWithoutOne() {
+        // Given
+        EventEntity event = createEventEntity();
+
+        // When
+        writer.write(List.of(event));
+
+        // Then
+        assertNotNull(event.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_shouldPropagateDatabaseErrors() {
+        // Given
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+            .thenThrow(new RuntimeException("Database error"));
+
+        // When/Then
+        assertThrows(RuntimeException.class, () -> writer.write(List.of(createEventEntity())));
+    }
+
+    private EventEntity createEventEntity() {
+        EventEntity entity = new EventEntity();
+        entity.setTimestamp(Instant.now());
+        entity.setUser("test-user");
+        entity.setCategory("test-category");
+        entity.setAction("test-action");
+        entity.setTenant("test-tenant");
+        return entity;
+    }
+}
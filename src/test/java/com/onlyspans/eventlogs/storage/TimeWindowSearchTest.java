@@ -0,0 +1,129 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.dto.QueryDto;
+import com.onlyspans.eventlogs.entity.EventEntity;
+import com.onlyspans.eventlogs.repository.EventCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeWindowSearchTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Test
+    void applies_shouldRequireTimeRangeOnly() {
+        // Given
+        QueryDto timeOnly = new QueryDto();
+        timeOnly.setEndDate(NOW);
+        QueryDto withTenant = new QueryDto();
+        withTenant.setEndDate(NOW);
+        withTenant.setTenant("tenant-a");
+
+        // Then
+        assertTrue(TimeWindowSearch.applies(timeOnly, "timestamp", Sort.Direction.DESC));
+        assertFalse(TimeWindowSearch.applies(withTenant, "timestamp", Sort.Direction.DESC));
+        assertFalse(TimeWindowSearch.applies(new QueryDto(), "timestamp", Sort.Direction.DESC));
+        assertFalse(TimeWindowSearch.applies(timeOnly, "user", Sort.Direction.DESC));
+        assertFalse(TimeWindowSearch.applies(timeOnly, "timestamp", Sort.Direction.ASC));
+    }
+
+    @Test
+    void fetch_descending_shouldWidenWindowUntilPageIsFull() {
+        // Given - one event per hour going back from now
+        QueryDto query = new QueryDto();
+        query.setStartDate(NOW.minus(Duration.ofDays(30)));
+        List<QueryDto> probes = new ArrayList<>();
+
+        // When
+        List<EventEntity> rows = TimeWindowSearch.fetch(query, Sort.Direction.DESC, null, NOW, 3,
+            window -> {
+                probes.add(window);
+                return hourlyEventsSince(window.getStartDate(), 3);
+            });
+
+        // Then - 15 min, 1 h, 4 h
+        assertEquals(3, rows.size());
+        assertEquals(3, probes.size());
+        assertEquals(NOW.minus(Duration.ofHours(4)), probes.get(2).getStartDate());
+    }
+
+    @Test
+    void fetch_descending_shouldStopOnceWindowCoversRange() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setStartDate(NOW.minus(Duration.ofMinutes(30)));
+        query.setEndDate(NOW);
+        List<QueryDto> probes = new ArrayList<>();
+
+        // When
+        List<EventEntity> rows = TimeWindowSearch.fetch(query, Sort.Direction.DESC, null, NOW, 10,
+            window -> {
+                probes.add(window);
+                return Collections.emptyList();
+            });
+
+        // Then
+        assertTrue(rows.isEmpty());
+        assertEquals(2, probes.size());
+        assertEquals(query.getStartDate(), probes.get(1).getStartDate());
+        assertEquals(NOW, probes.get(1).getEndDate());
+    }
+
+    @Test
+    void fetch_shouldFallBackToWholeRangeAfterMaxProbes() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setEndDate(NOW);
+        List<QueryDto> probes = new ArrayList<>();
+
+        // When
+        TimeWindowSearch.fetch(query, Sort.Direction.DESC, null, NOW, 10, window -> {
+            probes.add(window);
+            return Collections.emptyList();
+        });
+
+        // Then
+        assertEquals(TimeWindowSearch.MAX_PROBES + 1, probes.size());
+        assertSame(query, probes.get(probes.size() - 1));
+    }
+
+    @Test
+    void fetch_ascendingWithCursor_shouldAnchorWindowAtCursor() {
+        // Given
+        QueryDto query = new QueryDto();
+        query.setStartDate(Instant.parse("2026-01-01T00:00:00Z"));
+        Instant last = Instant.parse("2026-02-01T00:00:00Z");
+        EventCursor cursor = new EventCursor("timestamp", Sort.Direction.ASC, last.toString(), UUID.randomUUID());
+        List<QueryDto> probes = new ArrayList<>();
+
+        // When
+        TimeWindowSearch.fetch(query, Sort.Direction.ASC, cursor, NOW, 1, window -> {
+            probes.add(window);
+            return List.of(new EventEntity());
+        });
+
+        // Then
+        assertEquals(1, probes.size());
+        assertEquals(query.getStartDate(), probes.get(0).getStartDate());
+        assertEquals(last.plus(TimeWindowSearch.INITIAL_WINDOW), probes.get(0).getEndDate());
+    }
+
+    private static List<EventEntity> hourlyEventsSince(Instant from, int limit) {
+        List<EventEntity> events = new ArrayList<>();
+        for (Instant at = NOW; !at.isBefore(from) && events.size() < limit; at = at.minus(Duration.ofHours(1))) {
+            EventEntity event = new EventEntity();
+            event.setTimestamp(at);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,107 @@
+package com.onlyspans.eventlogs.storage;
+
+import com.onlyspans.eventlogs.entity.EventEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineCachingEventStorageTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private IEventStorage delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimelineCachingEventStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new TimelineCachingEventStorage(delegate, meterRegistry, 2, Duration.ofMinutes(10),
+            Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void timeline_quiet_shouldHitCache() {
+        // Given
+        List<EventEntity> events = List.of(createEvent("incident-1", NOW.minus(Duration.ofMinutes(30))));
+        when(delegate.timeline("incident-1", 100)).thenReturn(events);
+
+        // When
+        storage.timeline("incident-1", 100);
+        List<EventEntity> cached = storage.timeline("incident-1", 100);
+
+        // Then
+        verify(delegate, times(1)).timeline("incident-1", 100);
+        assertEquals(events, cached);
+        assertEquals(1.0, meterRegistry.get("event_logs_timeline_cache_requests").tag("result", "hit")
+            .counter().count());
+    }
+
+    @Test
+    void timeline_recentOrTruncatedOrEmpty_shouldNotBeCached() {
+        // Given
+        when(delegate.timeline("active", 100)).thenReturn(List.of(createEvent("active", NOW.minusSeconds(30))));
+        when(delegate.timeline("long", 1)).thenReturn(List.of(createEvent("long", NOW.minus(Duration.ofDays(1)))));
+        when(delegate.timeline("unknown", 100)).thenReturn(List.of());
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            storage.timeline("active", 100);
+            storage.timeline("long", 1);
+            storage.timeline("unknown", 100);
+        }
+
+        // Then
+        verify(delegate, times(2)).timeline("active", 100);
+        verify(delegate, times(2)).timeline("long", 1);
+        verify(delegate, times(2)).timeline("unknown", 100);
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    void add_withCachedId_shouldInvalidateTimeline() {
+        // Given
+        when(delegate.timeline("incident-1", 100))
+            .thenReturn(List.of(createEvent("incident-1", NOW.minus(Duration.ofHours(1)))));
+        when(delegate.timeline("incident-2", 100))
+            .thenReturn(List.of(createEvent("incident-2", NOW.minus(Duration.ofHours(1)))));
+        storage.timeline("incident-1", 100);
+        storage.timeline("incident-2", 100);
+
+        // When
+        EventEntity late = createEvent(null, NOW.minus(Duration.ofHours(2)));
+        late.setTraceId("incident-1");
+        storage.add(List.of(late));
+        storage.timeline("incident-1", 100);
+        storage.timeline("incident-2", 100);
+
+        // Then
+        verify(delegate).add(List.of(late));
+        verify(delegate, times(2)).timeline("incident-1", 100);
+        verify(delegate, times(1)).timeline("incident-2", 100);
+    }
+
+    private static EventEntity createEvent(String correlationId, Instant timestamp) {
+        EventEntity event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setCorrelationId(correlationId);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.onlyspans.eventlogs.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generate_shouldSetVersionAndVariant() {
+        // When
+        UUID uuid = UuidV7.generate();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void generate_shouldEmbedCurrentTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7.generate();
+
+        // Then
+        long embedded = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(embedded >= before);
+        assertTrue(embedded <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void generate_shouldBeStrictlyIncreasingInStringOrder() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 20000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0,
+                "ids must sort in generation order");
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+}